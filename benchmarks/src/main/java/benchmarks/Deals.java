@@ -0,0 +1,98 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+import components.Card;
+import driver.SkipBoGameModel;
+import users.PlayerColor;
+import users.PlayerType;
+
+/**
+ * Fixed, seeded AI v. AI games for the benchmarks to work on.
+ * The same seed always deals and plays out the same game, so numbers can be compared between builds.
+ * 
+ * @author Anna Heebsh
+ */
+final class Deals {
+	
+	/*Stock depth for every benchmark game*/
+	static final int GAME_LENGTH = 20;
+	
+	
+	/**
+	 * Private constructor. This class only holds fixtures.
+	 */
+	private Deals() {
+	}
+	
+	
+	/**
+	 * Deals a new AI v. AI game. Nobody has drawn yet.
+	 * @param seed the seed for the deal
+	 * @return the game
+	 */
+	static SkipBoGameModel newGame(long seed) {
+		return new SkipBoGameModel("AI 1", PlayerColor.RED, PlayerType.AI, 
+				"AI 2", PlayerColor.BLUE, PlayerType.AI, GAME_LENGTH, new SplittableRandom(seed));
+	}
+	
+	
+	/**
+	 * Deals a game and lets the AIs play some turns of it. The next Player has not drawn yet.
+	 * @param seed the seed for the deal
+	 * @param turns how many turns to play
+	 * @return the game
+	 * @throws Exception if the game ends or fails before then
+	 */
+	static SkipBoGameModel midGame(long seed, int turns) throws Exception {
+		SkipBoGameModel game = newGame(seed);
+		for(int t = 0; t < turns; t++) {
+			game = game.takeTurn();
+			if(game.hasWinner()) {
+				throw new RuntimeException("Seed " + seed + " is won within " + turns + " turns.");
+			}
+		}
+		return game;
+	}
+	
+	
+	/**
+	 * Deals a game, lets the AIs play some turns of it, and then draws for the next Player. 
+	 * If that Player can't play anything, it keeps going until a Player can.
+	 * @param seed the seed for the deal
+	 * @param turns how many turns to play, at least
+	 * @return the game, partway into a turn with at least one Card to play
+	 * @throws Exception if the game ends or fails before then
+	 */
+	static SkipBoGameModel playableGame(long seed, int turns) throws Exception {
+		SkipBoGameModel game = midGame(seed, turns);
+		while(true) {
+			SkipBoGameModel drawn = new SkipBoGameModel(game);
+			drawn.drawCards();
+			if(!drawn.legalMoves().isEmpty()) {
+				return drawn;
+			}
+			game = game.takeTurn();
+			if(game.hasWinner()) {
+				throw new RuntimeException("Seed " + seed + " is won before a playable turn.");
+			}
+		}
+	}
+	
+	
+	/**
+	 * Deals a new game, then moves Cards from the deck into the ClearedPile 
+	 * 	so that the first draw leaves the deck low enough to reshuffle.
+	 * @param seed the seed for the deal
+	 * @return the game
+	 */
+	static SkipBoGameModel lowDeckGame(long seed) {
+		SkipBoGameModel game = newGame(seed);
+		ArrayList<Card> cleared = game.getClearedPile().getAll();
+		while(game.getDrawPile().size() > 10) {
+			cleared.add(game.getDrawPile().draw());
+		}
+		return game;
+	}
+}
@@ -0,0 +1,130 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import components.Move;
+import driver.SkipBoGameModel;
+
+/**
+ * Benchmarks for the SkipBoGameModel operations the AI leans on: copying, playing, drawing, and comparing.
+ * The play and draw benchmarks work on a fresh copy each time, so their numbers include one copy().
+ * 
+ * @author Anna Heebsh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameModelBenchmark {
+	
+	@Param({"1", "2", "3"})
+	private long seed;
+	
+	/*A game partway into a turn, with something to play*/
+	private SkipBoGameModel game;
+	
+	/*A copy of game, and a copy one move further on*/
+	private SkipBoGameModel sameGame;
+	private SkipBoGameModel differentGame;
+	
+	/*A game that hasn't drawn yet*/
+	private SkipBoGameModel undrawnGame;
+	
+	/*A game whose first draw triggers a reshuffle*/
+	private SkipBoGameModel lowDeckGame;
+	
+	private Move validMove;
+	private Move invalidMove;
+	
+	
+	/**
+	 * Deals the games for this iteration
+	 * @throws Exception if a fixture game can't be set up
+	 */
+	@Setup(Level.Iteration)
+	public void setUp() throws Exception {
+		game = Deals.playableGame(seed, 6);
+		sameGame = new SkipBoGameModel(game);
+		undrawnGame = Deals.newGame(seed);
+		lowDeckGame = Deals.lowDeckGame(seed);
+		
+		validMove = game.legalMoves().get(0);
+		differentGame = new SkipBoGameModel(game);
+		differentGame.play(validMove);
+		
+		for(int code = 0; code < 128 && invalidMove == null; code++) {
+			try {
+				Move move = Move.fromCode(code);
+				if(!game.isLegal(move)) {
+					invalidMove = move;
+				}
+			} catch (RuntimeException e) {
+				// Not every code is a Move
+			}
+		}
+	}
+	
+	
+	@Benchmark
+	public SkipBoGameModel copy() {
+		return new SkipBoGameModel(game);
+	}
+	
+	
+	@Benchmark
+	public SkipBoGameModel playValid() {
+		SkipBoGameModel copy = new SkipBoGameModel(game);
+		copy.play(validMove);
+		return copy;
+	}
+	
+	
+	@Benchmark
+	public Object playInvalid() {
+		try {
+			game.play(invalidMove);
+			return null;
+		} catch (RuntimeException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public int drawCards() {
+		return new SkipBoGameModel(undrawnGame).drawCards();
+	}
+	
+	
+	@Benchmark
+	public int drawCardsWithReshuffle() {
+		return new SkipBoGameModel(lowDeckGame).drawCards();
+	}
+	
+	
+	@Benchmark
+	public boolean equalsSame() {
+		return game.equals(sameGame);
+	}
+	
+	
+	@Benchmark
+	public boolean equalsDifferent() {
+		return game.equals(differentGame);
+	}
+}
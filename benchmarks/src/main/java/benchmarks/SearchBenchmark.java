@@ -0,0 +1,66 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import driver.SkipBoGameModel;
+import users.PlayerAI;
+
+/**
+ * Benchmarks for each kind of PlayerAI breadth first search, on its own, on one thread and split across cores.
+ * 
+ * @author Anna Heebsh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+	
+	@Param({"1", "2", "3"})
+	private long seed;
+	
+	@Param({"stock", "hand0", "block", "extra"})
+	private String type;
+	
+	@Param({"false", "true"})
+	private boolean parallel;
+	
+	/*A game partway into a turn, with something to play*/
+	private SkipBoGameModel playableGame;
+	
+	private PlayerAI ai;
+	
+	
+	/**
+	 * Deals the games for this iteration. 
+	 * They are dealt again every iteration, so the AI's turn log doesn't build up forever.
+	 * @throws Exception if a fixture game can't be set up
+	 */
+	@Setup(Level.Iteration)
+	public void setUp() throws Exception {
+		playableGame = Deals.playableGame(seed, 6);
+		ai = (PlayerAI) playableGame.currentPlayer();
+		ai.setParallelSearch(parallel);
+	}
+	
+	
+	@Benchmark
+	public SkipBoGameModel breadthFirstSearch() {
+		return ai.breadthFirstSearch(playableGame, type);
+	}
+}
@@ -0,0 +1,55 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import driver.SkipBoGameModel;
+
+/**
+ * Benchmark for a whole PlayerAI turn: drawing, every search, and the discard.
+ * 
+ * @author Anna Heebsh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TurnBenchmark {
+	
+	@Param({"1", "2", "3"})
+	private long seed;
+	
+	/*A game at the start of a turn*/
+	private SkipBoGameModel turnStartGame;
+	
+	
+	/**
+	 * Deals the games for this iteration. 
+	 * They are dealt again every iteration, so every iteration starts from the same game.
+	 * @throws Exception if a fixture game can't be set up
+	 */
+	@Setup(Level.Iteration)
+	public void setUp() throws Exception {
+		turnStartGame = Deals.midGame(seed, 6);
+	}
+	
+	
+	@Benchmark
+	public SkipBoGameModel takeTurn() throws Exception {
+		return turnStartGame.takeTurn();
+	}
+}
@@ -0,0 +1,110 @@
+package driver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import components.Card;
+import components.Move;
+import components.MoveSource;
+import users.PlayerColor;
+import users.PlayerType;
+
+/**
+ * Checks the fine-grained events SkipBoGameModel fires, without any GUI.
+ * Scripted games make random legal moves, and every play or discard that changes a pile
+ * 	has to fire an event for it, even when the pile's new top is the same Card as before.
+ *
+ * @author Anna Heebsh
+ */
+class SkipBoGameModelEventsTest {
+
+	/*Enough games that Cards land on equal Cards many times*/
+	private static final int GAMES = 300;
+
+
+	@Test
+	void everyPileChangeFiresAnEvent() {
+		int[] fired = new int[2];
+		int stockPlays = 0;
+		int discardPileChanges = 0;
+		int ontoEqualCards = 0;
+
+		for(int g = 0; g < GAMES; g++) {
+			SkipBoGameModel game = new SkipBoGameModel("A", PlayerColor.RED, PlayerType.HUMAN,
+					"B", PlayerColor.BLUE, PlayerType.HUMAN, 10, new SplittableRandom(g));
+			game.addPropertyChangeListener(evt -> {
+				if(evt.getPropertyName().equals("stockTop")) {
+					fired[0]++;
+				} else if(evt.getPropertyName().equals("discardPile")) {
+					fired[1]++;
+				}
+			});
+			SplittableRandom script = new SplittableRandom(g);
+
+			for(int step = 0; step < 2000 && !game.hasWinner(); step++) {
+				if(!game.isInitialDrawDone() || game.currentPlayer().hand.isEmpty()) {
+					// Random discards can bury the whole deck, and then the game is stuck
+					if(game.getDrawPile().size() < 5) {
+						break;
+					}
+					game.drawCards();
+					continue;
+				}
+				List<Move> moves = game.legalMoves();
+				if(moves.isEmpty() || script.nextInt(3) == 0) {
+					moves = new ArrayList<Move>();
+					for(int h = 0; h < game.currentPlayer().hand.size(); h++) {
+						moves.add(Move.discard(h, script.nextInt(4)));
+					}
+				}
+				Move move = moves.get(script.nextInt(moves.size()));
+
+				if(move.isDiscard()) {
+					Card card = game.currentPlayer().hand.getAt(move.getIndex());
+					if(card == topOf(game, move.getDiscardPile())) {
+						ontoEqualCards++;
+					}
+					game.discard(move);
+					discardPileChanges++;
+				} else if(move.getSource() == MoveSource.STOCK) {
+					Card card = game.getStockTop(true);
+					game.play(move);
+					if(card == game.getStockTop(true)) {
+						ontoEqualCards++;
+					}
+					stockPlays++;
+				} else if(move.getSource() == MoveSource.DISCARD) {
+					Card card = topOf(game, move.getIndex());
+					game.play(move);
+					if(card == topOf(game, move.getIndex())) {
+						ontoEqualCards++;
+					}
+					discardPileChanges++;
+				} else {
+					game.play(move);
+				}
+			}
+		}
+
+		assertTrue(ontoEqualCards > 0, "The scripted games never put a Card on an equal one.");
+		assertEquals(stockPlays, fired[0], "stockTop events");
+		assertEquals(discardPileChanges, fired[1], "discardPile events");
+	}
+
+
+	/**
+	 * Gets the top Card of one of the current player's Discard Piles
+	 * @param game the game
+	 * @param pile which pile (0-3)
+	 * @return the Card, or null if the pile is empty
+	 */
+	private static Card topOf(SkipBoGameModel game, int pile) {
+		return game.currentPlayer().discardPiles[pile].isEmpty() ? null : game.currentPlayer().discardPiles[pile].peek();
+	}
+}
@@ -0,0 +1,142 @@
+package components;
+
+import java.util.EmptyStackException;
+
+/**
+ * A fixed capacity stack of Cards, stored as their ordinals in a byte array.
+ * Used by the piles in place of java.util.Stack, which locks on every call and is slow to copy.
+ * Like Stack, peek() and pop() throw an EmptyStackException when the stack is empty.
+ * 
+ * @author Anna Heebsh
+ */
+public final class CardStack {
+	
+	/*Lookup from ordinal to Card*/
+	private static final Card[] CARDS = Card.values();
+	
+	/*The Cards' ordinals, bottom first*/
+	private byte[] cards;
+	
+	/*Number of Cards on the stack*/
+	private int size;
+	
+	
+	/**
+	 * Constructor
+	 * @param capacity the most Cards this stack can hold
+	 */
+	public CardStack(int capacity) {
+		cards = new byte[capacity];
+	}
+	
+	
+	/**
+	 * Copy Constructor
+	 * @param oldStack the CardStack to copy
+	 */
+	public CardStack(CardStack oldStack) {
+		cards = oldStack.cards.clone();
+		size = oldStack.size;
+	}
+	
+	
+	/**
+	 * Pushes a Card onto the top of the stack
+	 * @param card the Card to add
+	 * @throws RuntimeException if the stack is full
+	 */
+	public void push(Card card) throws RuntimeException {
+		if(size == cards.length) {
+			throw new RuntimeException("Cannot add more than " + cards.length + " Cards to this pile.");
+		}
+		cards[size++] = (byte) card.ordinal();
+	}
+	
+	
+	/**
+	 * Removes the top Card of the stack
+	 * @return the top Card
+	 * @throws EmptyStackException if the stack is empty
+	 */
+	public Card pop() throws EmptyStackException {
+		if(size == 0) {
+			throw new EmptyStackException();
+		}
+		return CARDS[cards[--size]];
+	}
+	
+	
+	/**
+	 * Gets the top Card of the stack without removing it
+	 * @return the top Card
+	 * @throws EmptyStackException if the stack is empty
+	 */
+	public Card peek() throws EmptyStackException {
+		if(size == 0) {
+			throw new EmptyStackException();
+		}
+		return CARDS[cards[size - 1]];
+	}
+	
+	
+	/**
+	 * Gets a Card anywhere in the stack without removing it
+	 * @param index position from the bottom of the stack. size() - 1 is the top.
+	 * @return the Card at that position
+	 * @throws RuntimeException if the index is out of range
+	 */
+	public Card get(int index) throws RuntimeException {
+		if(index < 0 || index >= size) {
+			throw new RuntimeException("No Card at " + index + " in this pile.");
+		}
+		return CARDS[cards[index]];
+	}
+	
+	
+	/**
+	 * Removes every Card from the stack
+	 */
+	public void clear() {
+		size = 0;
+	}
+	
+	
+	/**
+	 * Checks if the stack is empty
+	 * @return true if empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	
+	/**
+	 * Gets the number of Cards on the stack
+	 * @return the size
+	 */
+	public int size() {
+		return size;
+	}
+	
+	
+	/**
+	 * Gets the most Cards this stack can hold
+	 * @return the capacity
+	 */
+	public int capacity() {
+		return cards.length;
+	}
+	
+	
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("[");
+		for(int i = 0; i < size; i++) {
+			if(i > 0) {
+				sb.append(", ");
+			}
+			sb.append(CARDS[cards[i]].name());
+		}
+		return sb.append("]").toString();
+	}
+}
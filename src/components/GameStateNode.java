@@ -2,28 +2,45 @@ package components;
 
 import java.util.ArrayList;
 
-import driver.SkipBoGameModel;
-
 /**
- * Stores a GameStateModel, how it was reached, and an associated value, for use in priority queues
+ * Stores a PackedGameState, how it was reached, and an associated value, for use in priority queues.
+ * Rather than a copy of every move that led here, a node keeps the one move that reached it and 
+ * a pointer to the node it came from. The full path is only rebuilt for the node a search picks.
+ * Nodes come from a GameStateNodePool, which reuses them from one search to the next.
  * @author Anna Heebsh
  */
 public class GameStateNode implements Comparable<GameStateNode> {
+	
+	/*Move code of the root node, which no move reached*/
+	public static final int NO_MOVE = -1;
 
 	private int value;
-	private SkipBoGameModel game;
-	private ArrayList<String> stepsTaken;
+	private PackedGameState state;
+	private GameStateNode parent;
+	private int moveCode;
+	
 	
 	/**
 	 * Constructor
+	 * Only the pool makes nodes.
+	 */
+	GameStateNode() {
+		moveCode = NO_MOVE;
+	}
+	
+	
+	/**
+	 * Fills in this node
 	 * @param value integer value for this node.
-	 * @param game associated with this node.
-	 * @param stepsTaken to reach this game state node.
+	 * @param state associated with this node.
+	 * @param parent the node this one was reached from, or null for the root.
+	 * @param moveCode the code of the Move that reached this node from its parent, or NO_MOVE for the root.
 	 */
-	public GameStateNode(int value, SkipBoGameModel game, ArrayList<String> stepsTaken) {
+	void set(int value, PackedGameState state, GameStateNode parent, int moveCode) {
 		this.value = value;
-		this.game = game;
-		this.stepsTaken = stepsTaken;
+		this.state = state;
+		this.parent = parent;
+		this.moveCode = moveCode;
 	}
 
 	
@@ -43,20 +60,51 @@ public class GameStateNode implements Comparable<GameStateNode> {
 
 	
 	/**
-	 * Get the game model associated with this node
-	 * @return the game
+	 * Get the game state associated with this node
+	 * @return the state
+	 */
+	public PackedGameState getState() {
+		return state;
+	}
+	
+	
+	/**
+	 * Get the node this one was reached from
+	 * @return the parent, or null for the root
+	 */
+	public GameStateNode getParent() {
+		return parent;
+	}
+	
+	
+	/**
+	 * Get the Move that reached this node from its parent
+	 * @return the Move, or null for the root
 	 */
-	public SkipBoGameModel getGame() {
-		return game;
+	public Move getMove() {
+		if(moveCode == NO_MOVE) {
+			return null;
+		}
+		return Move.fromCode(moveCode);
 	}
 	
 	
 	/**
-	 * Get the steps taken to reach this game state
-	 * @return the steps taken to get to this game state
+	 * Rebuilds the moves taken to reach this game state, by following the parents back to the root
+	 * @return the moves taken to get to this game state, in order
 	 */
-	public ArrayList<String> getStepsTaken() {
-		return stepsTaken;
+	public ArrayList<Move> getMovesTaken() {
+		ArrayList<Move> moves = new ArrayList<Move>();
+		for(GameStateNode node = this; node.moveCode != NO_MOVE; node = node.parent) {
+			moves.add(Move.fromCode(node.moveCode));
+		}
+		// They were collected from this node back, so flip them
+		for(int i = 0, j = moves.size() - 1; i < j; i++, j--) {
+			Move temp = moves.get(i);
+			moves.set(i, moves.get(j));
+			moves.set(j, temp);
+		}
+		return moves;
 	}
 
 }
@@ -0,0 +1,102 @@
+package components;
+
+import java.util.ArrayList;
+
+/**
+ * Hands out GameStateNodes and PackedGameStates for a search, and takes them all back when it's done.
+ * After the first few searches, a search can run without allocating any nodes or states of its own.
+ * A pool is not thread safe. Each thread searching needs its own.
+ * @author Anna Heebsh
+ */
+public class GameStateNodePool {
+	
+	/*Most objects of each kind kept between searches, so one huge search doesn't hold on to memory forever*/
+	private static final int MAX_RETAINED = 4096;
+	
+	private ArrayList<GameStateNode> nodes;
+	private ArrayList<PackedGameState> states;
+	
+	/*Number of nodes and states currently handed out. They are always the first ones in each list.*/
+	private int nodesUsed;
+	private int statesUsed;
+	
+	
+	/**
+	 * Constructor
+	 */
+	public GameStateNodePool() {
+		nodes = new ArrayList<GameStateNode>();
+		states = new ArrayList<PackedGameState>();
+	}
+	
+	
+	/**
+	 * Gets a node, filled in
+	 * @param value integer value for the node.
+	 * @param state associated with the node.
+	 * @param parent the node it was reached from, or null for the root.
+	 * @param moveCode the code of the Move that reached it, or GameStateNode.NO_MOVE for the root.
+	 * @return the node
+	 */
+	public GameStateNode obtain(int value, PackedGameState state, GameStateNode parent, int moveCode) {
+		GameStateNode node;
+		if(nodesUsed < nodes.size()) {
+			node = nodes.get(nodesUsed);
+		} else {
+			node = new GameStateNode();
+			nodes.add(node);
+		}
+		nodesUsed++;
+		node.set(value, state, parent, moveCode);
+		return node;
+	}
+	
+	
+	/**
+	 * Gets a copy of a game state
+	 * @param source the state to copy
+	 * @return the copy
+	 */
+	public PackedGameState copyOf(PackedGameState source) {
+		PackedGameState state;
+		if(statesUsed < states.size()) {
+			state = states.get(statesUsed);
+			state.copyFrom(source);
+		} else {
+			state = new PackedGameState(source);
+			states.add(state);
+		}
+		statesUsed++;
+		return state;
+	}
+	
+	
+	/**
+	 * Takes back the last state handed out, such as a copy that turned out to be a repeat.
+	 * Nothing else may still be using it.
+	 */
+	public void releaseLastState() {
+		if(statesUsed > 0) {
+			statesUsed--;
+		}
+	}
+	
+	
+	/**
+	 * Takes back every node and state handed out. Nothing may still be using any of them.
+	 */
+	public void releaseAll() {
+		for(int i = 0; i < nodesUsed; i++) {
+			nodes.get(i).set(0, null, null, GameStateNode.NO_MOVE);
+		}
+		nodesUsed = 0;
+		statesUsed = 0;
+		
+		if(nodes.size() > MAX_RETAINED) {
+			nodes.subList(MAX_RETAINED, nodes.size()).clear();
+		}
+		if(states.size() > MAX_RETAINED) {
+			states.subList(MAX_RETAINED, states.size()).clear();
+		}
+	}
+}
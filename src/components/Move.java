@@ -0,0 +1,270 @@
+package components;
+
+/**
+ * A single move: either playing a Card onto a Foundation, or discarding a Card from the Hand.
+ * Indices are 0-based: Hand 0-4, Discard Pile 0-3 and Foundation 0-3.
+ *
+ * Every possible Move is created once up front, so Moves are compared with == and can be
+ * passed around as their int codes without allocating anything.
+ * Code layout: bit 7 is set for discards, bits 5-6 are the MoveSource, bits 2-4 the index
+ * within the source, and bits 0-1 the target Foundation or Discard Pile.
+ *
+ * @author Anna Heebsh
+ */
+public final class Move {
+
+	/*Every possible Move, by code*/
+	private static final Move[] MOVES = new Move[256];
+	private static final int DISCARD_BIT = 1 << 7;
+
+	static {
+		for(int target = 0; target < 4; target++) {
+			for(int h = 0; h < 5; h++) {
+				register(new Move(MoveSource.HAND, h, target, false));
+				register(new Move(MoveSource.HAND, h, target, true));
+			}
+			for(int d = 0; d < 4; d++) {
+				register(new Move(MoveSource.DISCARD, d, target, false));
+			}
+			register(new Move(MoveSource.STOCK, 0, target, false));
+		}
+	}
+
+	private final MoveSource source;
+	private final int index;
+	private final int target;
+	private final boolean discard;
+	private final int code;
+
+
+	/**
+	 * Constructor
+	 * @param source where the Card comes from
+	 * @param index index within the Hand (0-4) or of the DiscardPile (0-3). Always 0 for the Stock.
+	 * @param target index of the FoundationPile or DiscardPile the Card goes to (0-3)
+	 * @param discard true if the Card goes to a DiscardPile, false if it goes to a Foundation
+	 */
+	private Move(MoveSource source, int index, int target, boolean discard) {
+		this.source = source;
+		this.index = index;
+		this.target = target;
+		this.discard = discard;
+		this.code = (discard ? DISCARD_BIT : 0) | (source.ordinal() << 5) | (index << 2) | target;
+	}
+
+
+	/**
+	 * Adds a Move to the table of every Move
+	 * @param move the Move
+	 */
+	private static void register(Move move) {
+		MOVES[move.code] = move;
+	}
+
+
+	/**
+	 * Gets the Move that plays a Card onto a Foundation
+	 * @param source where the Card is played from
+	 * @param index index within the Hand (0-4) or of the DiscardPile (0-3). Ignored for the Stock.
+	 * @param foundation index of the FoundationPile to play on (0-3)
+	 * @return the Move
+	 * @throws RuntimeException if the indices are out of range
+	 */
+	public static Move play(MoveSource source, int index, int foundation) throws RuntimeException {
+		if(source == MoveSource.STOCK) {
+			index = 0;
+		}
+		// Out of range indices would run into the next field of the code and give a different Move
+		int maxIndex = source == MoveSource.HAND ? 4 : 3;
+		if(index < 0 || index > maxIndex || foundation < 0 || foundation > 3) {
+			throw new RuntimeException("No play from " + source + " " + index + " to Foundation " + foundation + ".");
+		}
+		return fromCode((source.ordinal() << 5) | (index << 2) | foundation);
+	}
+
+
+	/**
+	 * Gets the Move that discards a Card from the Hand, ending the turn
+	 * @param handIndex index within the Hand (0-4)
+	 * @param pile index of the DiscardPile to discard on (0-3)
+	 * @return the Move
+	 * @throws RuntimeException if the indices are out of range
+	 */
+	public static Move discard(int handIndex, int pile) throws RuntimeException {
+		if(handIndex < 0 || handIndex > 4 || pile < 0 || pile > 3) {
+			throw new RuntimeException("No discard from HAND " + handIndex + " to Discard Pile " + pile + ".");
+		}
+		return fromCode(DISCARD_BIT | (MoveSource.HAND.ordinal() << 5) | (handIndex << 2) | pile);
+	}
+
+
+	/**
+	 * Gets the Move with a particular int code
+	 * @param code the code, as returned by getCode()
+	 * @return the Move
+	 * @throws RuntimeException if no Move has that code
+	 */
+	public static Move fromCode(int code) throws RuntimeException {
+		if(code < 0 || code >= MOVES.length || MOVES[code] == null) {
+			throw new RuntimeException("Not a valid move code: " + code);
+		}
+		return MOVES[code];
+	}
+
+
+	/**
+	 * Parses a play written the way the game's commands write it, such as "h0" and "f1".
+	 * @param from "ss", "h0"-"h4", or "d1"-"d4"
+	 * @param to "f1"-"f4"
+	 * @return the Move
+	 * @throws RuntimeException if either location is invalid
+	 */
+	public static Move parsePlay(String from, String to) throws RuntimeException {
+		int foundation = parseIndex(to, 'f', 1, 4);
+		if(foundation < 0) {
+			throw new RuntimeException("Must play to a foundation, f1-4.");
+		}
+
+		if(from.equals("ss")) {
+			return play(MoveSource.STOCK, 0, foundation);
+		}
+		int handIndex = parseIndex(from, 'h', 0, 4);
+		if(handIndex >= 0) {
+			return play(MoveSource.HAND, handIndex, foundation);
+		}
+		int discardIndex = parseIndex(from, 'd', 1, 4);
+		if(discardIndex >= 0) {
+			return play(MoveSource.DISCARD, discardIndex, foundation);
+		}
+		throw new RuntimeException(
+				"Must play from your hand, stock, or discard piles; h0-4, ss, or d1-4.");
+	}
+
+
+	/**
+	 * Parses a discard written the way the game's commands write it, such as "h0" and "d1".
+	 * @param hand "h0"-"h4"
+	 * @param pile "d1"-"d4"
+	 * @return the Move
+	 * @throws RuntimeException if either location is invalid
+	 */
+	public static Move parseDiscard(String hand, String pile) throws RuntimeException {
+		int handIndex = parseIndex(hand, 'h', 0, 4);
+		int discardIndex = parseIndex(pile, 'd', 1, 4);
+		if(handIndex < 0 || discardIndex < 0) {
+			throw new RuntimeException("Must discard from your hand to a discard pile; h0-4 and d1-4.");
+		}
+		return discard(handIndex, discardIndex);
+	}
+
+
+	/**
+	 * Utility function that parses a two character location such as "d3" into a 0-based index
+	 * @param location the location string
+	 * @param kind the letter the location must start with
+	 * @param first the lowest number allowed in the location
+	 * @param last the highest number allowed in the location
+	 * @return the 0-based index, or -1 if the location doesn't match
+	 */
+	private static int parseIndex(String location, char kind, int first, int last) {
+		if(location == null || location.length() != 2 || location.charAt(0) != kind) {
+			return -1;
+		}
+		int number = location.charAt(1) - '0';
+		if(number < first || number > last) {
+			return -1;
+		}
+		return number - first;
+	}
+
+
+	/**
+	 * Gets where the Card comes from
+	 * @return the source
+	 */
+	public MoveSource getSource() {
+		return source;
+	}
+
+
+	/**
+	 * Gets the index within the source
+	 * @return the index
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+
+	/**
+	 * Gets the index of the Foundation played on
+	 * @return the foundation index
+	 */
+	public int getFoundation() {
+		return target;
+	}
+
+
+	/**
+	 * Gets the index of the Discard Pile discarded on
+	 * @return the discard pile index
+	 */
+	public int getDiscardPile() {
+		return target;
+	}
+
+
+	/**
+	 * Checks if this is a discard, rather than a play onto a Foundation
+	 * @return true for discards
+	 */
+	public boolean isDiscard() {
+		return discard;
+	}
+
+
+	/**
+	 * Gets the int code of this Move
+	 * @return the code
+	 */
+	public int getCode() {
+		return code;
+	}
+
+
+	/**
+	 * Gets the location string of the source, in the same form the game's commands use
+	 * @return "ss", "h0"-"h4", or "d1"-"d4"
+	 */
+	public String getFromString() {
+		switch(source) {
+			case HAND:
+				return "h" + index;
+			case DISCARD:
+				return "d" + (index + 1);
+			default:
+				return "ss";
+		}
+	}
+
+
+	/**
+	 * Gets the location string of the target, in the same form the game's commands use
+	 * @return "f1"-"f4" or "d1"-"d4"
+	 */
+	public String getToString() {
+		return (discard ? "d" : "f") + (target + 1);
+	}
+
+
+	@Override
+	public int hashCode() {
+		return code;
+	}
+
+
+	@Override
+	public String toString() {
+		return getFromString() + getToString();
+	}
+}
@@ -0,0 +1,12 @@
+package components;
+
+/**
+ * The places a Card can be played onto a Foundation from.
+ * 
+ * @author Anna Heebsh
+ */
+public enum MoveSource {
+	HAND,
+	DISCARD,
+	STOCK
+}
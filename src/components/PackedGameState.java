@@ -0,0 +1,1035 @@
+package components;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import components.gameCollections.DrawPile;
+import components.playerCollections.DiscardPile;
+import driver.SkipBoGameModel;
+import users.Player;
+
+/**
+ * Compact copy of a whole Skip-Bo table, stored in primitive arrays and words instead of Card collections.
+ * This is the engine the AI searches with. SkipBoGameModel stays the rules-validating facade that
+ * the views and players actually work with.
+ *
+ * Cards are stored as 4-bit codes: 0 is "no card", 1-12 are the normal values and 13 is an unplayed Skip-Bo.
+ * Played Skip-Bos only ever live on the Foundations, so each Foundation is just a height plus a mask
+ * of which of its cards are played Skip-Bos.
+ *
+ * The deck, the Stocks and the Discard Piles are byte arrays, each just big enough for the Cards in it.
+ * Once built, they are never written, so copies of a state share them. Playing and drawing only change
+ * the counts of Cards in each pile. A reshuffle or a discard, which change which Cards a pile holds,
+ * build new arrays for the state making them. Copying a state only copies what a move can change.
+ *
+ * Each state keeps a Zobrist hash up to date as Cards move, so states can go in hash-based collections
+ * without rehashing the table every time.
+ *
+ * @author Anna Heebsh
+ */
+public class PackedGameState {
+
+	/*Card codes*/
+	public static final int NO_CARD = 0;
+	public static final int SKIPBO = 13;
+
+	/*Sources that a Card can be played from, matching the ordinals of MoveSource*/
+	public static final int FROM_HAND = 0;
+	public static final int FROM_DISCARD = 1;
+	public static final int FROM_STOCK = 2;
+
+	/*Layout of the counts array: pile sizes, then the ClearedPile as a count per card code.
+	  The sizes of the piles array's ten piles come in the same order as the piles: both Stocks, then the Discard Piles.*/
+	private static final int DECK_SIZE = 0;
+	private static final int STOCK_SIZE = 1;
+	private static final int DISCARD_SIZE = 3;
+	private static final int CLEARED_COUNT = 11;
+	private static final int CLEARED_SIZE = CLEARED_COUNT + 14;
+	private static final int COUNTS_LENGTH = CLEARED_SIZE + 1;
+
+	/*Each Foundation is 16 bits of the foundations word: 4 bits of height, then a 12 bit Skip-Bo mask*/
+	private static final int FOUNDATION_BITS = 16;
+	private static final long HEIGHT_MASK = 0xF;
+
+	/*Each Hand is 32 bits of the hands word: five 4-bit card codes, then a 3 bit size*/
+	private static final int HAND_BITS = 32;
+	private static final int HAND_SIZE_SHIFT = 20;
+	private static final long HAND_WORD_MASK = 0xFFFFFFFFL;
+
+	/*For every set of Foundation tops (as a mask of heights) and Card value (1-12), 
+	  how many Cards the nearest and farthest Foundations are from taking that value*/
+	private static final byte[] NEAREST_DISTANCE = new byte[1 << 16];
+	private static final byte[] FARTHEST_DISTANCE = new byte[1 << 16];
+
+	static {
+		for(int mask = 1; mask < (1 << 12); mask++) {
+			for(int value = 1; value <= 12; value++) {
+				int nearest = 12;
+				int farthest = 0;
+				for(int top = 0; top < 12; top++) {
+					if((mask & (1 << top)) != 0) {
+						int distance = (value - top + 11) % 12;
+						nearest = Math.min(nearest, distance);
+						farthest = Math.max(farthest, distance);
+					}
+				}
+				NEAREST_DISTANCE[(mask << 4) | value] = (byte) nearest;
+				FARTHEST_DISTANCE[(mask << 4) | value] = (byte) farthest;
+			}
+		}
+	}
+
+	/*Lookup from card code to normal Card*/
+	private static final Card[] CARDS = {null, Card.ONE, Card.TWO, Card.THREE, Card.FOUR, Card.FIVE,
+			Card.SIX, Card.SEVEN, Card.EIGHT, Card.NINE, Card.TEN, Card.ELEVEN, Card.TWELVE, Card.SKIPBO_UNPLAYED};
+
+	/*The deck, with the top of the deck last. Shared with copies, and never written.*/
+	private byte[] deck;
+
+	/*Both Stocks, then all eight Discard Piles, back to back. The top of each pile is its last card.
+	  Shared with copies, and never written.*/
+	private byte[] piles;
+
+	/*Where each of the ten piles starts in the piles array, and where the last one ends. Shared along with it.*/
+	private int[] pileStarts;
+
+	/*Sizes of the deck and of every pile, plus the ClearedPile counts*/
+	private int[] counts;
+
+	/*All four Foundations*/
+	private long foundations;
+
+	/*Both Players' Hands*/
+	private long hands;
+
+	/*To track whose turn it is*/
+	private int turn;
+
+	/*To track if it's currently in a state where cards can be drawn */
+	private boolean initialDrawDone;
+
+	/*To track if there is a winner, if there is one*/
+	private boolean hasWinner;
+
+	/*Zobrist hash of everything but the Foundations, kept up to date by XORing keys in and out*/
+	private long zobrist;
+
+	/*Sum of the Zobrist keys of the Foundation tops, so that the order of the Foundations does not matter*/
+	private long foundationKey;
+
+	/*How many Foundations have each height (0-11), four bits per height. Kept up to date with the Foundations.*/
+	private long topCounts;
+
+	/*Which heights (0-11) at least one Foundation has*/
+	private int topMask;
+
+	/*Source of randomness for reshuffles. Not part of the state's identity.
+	  Shared with every state copied from this one, so copying never has to split it.*/
+	private SplittableRandom random;
+
+
+	/**
+	 * Constructor
+	 * Packs the table of a SkipBoGameModel
+	 * @param game the SkipBoGameModel to pack
+	 */
+	public PackedGameState(SkipBoGameModel game) {
+		counts = new int[COUNTS_LENGTH];
+		turn = game.getTurn();
+		initialDrawDone = game.isInitialDrawDone();
+		hasWinner = game.isHasWinner();
+		random = game.getRandom().split();
+
+		// Draw Pile. Both keep the top of the deck last.
+		DrawPile drawPile = game.getDrawPile();
+		int deckSize = drawPile.size();
+		deck = new byte[deckSize];
+		for(int i = 0; i < deckSize; i++) {
+			deck[i] = (byte) toCode(drawPile.getCardAt(i));
+		}
+		counts[DECK_SIZE] = deckSize;
+
+		// Cleared Pile
+		for(Card card : game.getClearedPile().getAll()) {
+			counts[CLEARED_COUNT + toCode(card)]++;
+		}
+		counts[CLEARED_SIZE] = game.getClearedPile().size();
+
+		// Foundation Piles
+		for(int f = 0; f < 4; f++) {
+			CardStack pile = game.getFoundationPiles()[f].getFoundationPile();
+			long foundation = pile.size();
+			for(int i = 0; i < pile.size(); i++) {
+				if(pile.get(i).getIsPlayedSkipBo()) {
+					foundation |= 1L << (4 + i);
+				}
+			}
+			foundations |= foundation << (f * FOUNDATION_BITS);
+		}
+
+		// Stocks and Discard Piles
+		CardStack[] stacks = new CardStack[10];
+		for(int p = 0; p < 2; p++) {
+			stacks[p] = game.getPlayer(p).stockPile.getStockPile();
+			for(int d = 0; d < 4; d++) {
+				DiscardPile discardPile = game.getPlayer(p).discardPiles[d];
+				stacks[discardPile(p, d)] = discardPile.getDiscardPile();
+			}
+		}
+		pileStarts = new int[11];
+		for(int i = 0; i < 10; i++) {
+			counts[STOCK_SIZE + i] = stacks[i].size();
+			pileStarts[i + 1] = pileStarts[i] + stacks[i].size();
+		}
+		piles = new byte[pileStarts[10]];
+		for(int i = 0; i < 10; i++) {
+			for(int c = 0; c < stacks[i].size(); c++) {
+				piles[pileStarts[i] + c] = (byte) toCode(stacks[i].get(c));
+			}
+		}
+
+		// Hands
+		for(int p = 0; p < 2; p++) {
+			Player player = game.getPlayer(p);
+			long hand = 0;
+			for(int h = 0; h < player.hand.size(); h++) {
+				hand |= (long) toCode(player.hand.getAt(h)) << (4 * h);
+			}
+			hand |= (long) player.hand.size() << HAND_SIZE_SHIFT;
+			hands |= hand << (p * HAND_BITS);
+		}
+
+		rehash();
+	}
+
+
+	/**
+	 * Copy Constructor
+	 * Copying is just the pile counts and a handful of words. The Cards themselves are shared.
+	 * @param oldState the PackedGameState to copy
+	 */
+	public PackedGameState(PackedGameState oldState) {
+		deck = oldState.deck;
+		piles = oldState.piles;
+		pileStarts = oldState.pileStarts;
+		counts = oldState.counts.clone();
+		foundations = oldState.foundations;
+		hands = oldState.hands;
+		turn = oldState.turn;
+		initialDrawDone = oldState.initialDrawDone;
+		hasWinner = oldState.hasWinner;
+		zobrist = oldState.zobrist;
+		foundationKey = oldState.foundationKey;
+		topCounts = oldState.topCounts;
+		topMask = oldState.topMask;
+		random = oldState.random;
+	}
+
+
+	/**
+	 * Overwrites this state with a copy of another one, reusing this state's arrays.
+	 * This must not be called on a state that is in a hash set.
+	 * @param oldState the PackedGameState to copy
+	 */
+	public void copyFrom(PackedGameState oldState) {
+		deck = oldState.deck;
+		piles = oldState.piles;
+		pileStarts = oldState.pileStarts;
+		System.arraycopy(oldState.counts, 0, counts, 0, COUNTS_LENGTH);
+		foundations = oldState.foundations;
+		hands = oldState.hands;
+		turn = oldState.turn;
+		initialDrawDone = oldState.initialDrawDone;
+		hasWinner = oldState.hasWinner;
+		zobrist = oldState.zobrist;
+		foundationKey = oldState.foundationKey;
+		topCounts = oldState.topCounts;
+		topMask = oldState.topMask;
+		random = oldState.random;
+	}
+
+
+	/**
+	 * Gives this state, and every state copied from it from now on, its own source of randomness.
+	 * A state's copies share its Random, so this keeps states that are searched on different threads apart.
+	 * @param random the source of randomness for reshuffles
+	 */
+	public void setRandom(SplittableRandom random) {
+		this.random = random;
+	}
+
+
+	/**
+	 * Checks if the current player could play a Card, without changing anything.
+	 * @param source FROM_HAND, FROM_DISCARD, or FROM_STOCK
+	 * @param index index within the Hand (0-4) or of the DiscardPile (0-3). Ignored for the Stock.
+	 * @param foundation index of the FoundationPile to play on (0-3)
+	 * @return true if the move is valid
+	 */
+	public boolean isLegal(int source, int index, int foundation) {
+		if(hasWinner || foundation < 0 || foundation > 3) {
+			return false;
+		}
+		int code = sourceCard(turn & 1, source, index);
+		return code == SKIPBO || (code != NO_CARD && code == getFoundationTop(foundation) + 1);
+	}
+
+
+	/**
+	 * Checks if the current player could make a Move, without changing anything.
+	 * A discard is legal once the player has drawn, if their Hand has a Card at its index.
+	 * @param move the Move to check
+	 * @return true if the move is valid
+	 */
+	public boolean isLegal(Move move) {
+		if(move.isDiscard()) {
+			return !hasWinner && initialDrawDone && move.getIndex() < getHandSize();
+		}
+		return isLegal(move.getSource().ordinal(), move.getIndex(), move.getFoundation());
+	}
+
+
+	/**
+	 * Lists every valid play for the current player: Hand, then Discard Piles, then the Stock.
+	 * @return the valid Moves
+	 */
+	public ArrayList<Move> legalMoves() {
+		ArrayList<Move> moves = new ArrayList<Move>();
+		if(hasWinner) {
+			return moves;
+		}
+		int handSize = initialDrawDone ? getHandSize() : 0;
+		for(int h = 0; h < handSize; h++) {
+			addLegalMoves(moves, MoveSource.HAND, h);
+		}
+		for(int d = 0; d < 4; d++) {
+			addLegalMoves(moves, MoveSource.DISCARD, d);
+		}
+		addLegalMoves(moves, MoveSource.STOCK, 0);
+		return moves;
+	}
+
+
+	/**
+	 * Adds every Foundation that a particular Card can be played on to a list of Moves
+	 * @param moves the list to add to
+	 * @param source where the Card is
+	 * @param index index within the source
+	 */
+	private void addLegalMoves(ArrayList<Move> moves, MoveSource source, int index) {
+		int code = sourceCard(turn & 1, source.ordinal(), index);
+		if(code == NO_CARD) {
+			return;
+		}
+		for(int f = 0; f < 4; f++) {
+			if(code == SKIPBO || code == getFoundationTop(f) + 1) {
+				moves.add(Move.play(source, index, f));
+			}
+		}
+	}
+
+
+	/**
+	 * Finds the Card a player would be playing from a source
+	 * @param p the player
+	 * @param source FROM_HAND, FROM_DISCARD, or FROM_STOCK
+	 * @param index index within the Hand (0-4) or of the DiscardPile (0-3). Ignored for the Stock.
+	 * @return the card code, NO_CARD if there is no Card there that can be played
+	 */
+	private int sourceCard(int p, int source, int index) {
+		switch(source) {
+			case FROM_HAND:
+				if(!initialDrawDone || index < 0 || index >= handSize(p)) {
+					return NO_CARD;
+				}
+				return handAt(p, index);
+			case FROM_DISCARD:
+				if(index < 0 || index > 3) {
+					return NO_CARD;
+				}
+				return discardTop(p, index);
+			case FROM_STOCK:
+				return stockTop(p);
+			default:
+				return NO_CARD;
+		}
+	}
+
+
+	/**
+	 * Plays a Card for the current player, if the move is valid.
+	 * @param source FROM_HAND, FROM_DISCARD, or FROM_STOCK
+	 * @param index index within the Hand (0-4) or of the DiscardPile (0-3). Ignored for the Stock.
+	 * @param foundation index of the FoundationPile to play on (0-3)
+	 * @return true if the Card was played, false if the move was invalid and nothing changed
+	 */
+	public boolean play(int source, int index, int foundation) {
+		if(!isLegal(source, index, foundation)) {
+			return false;
+		}
+		int p = turn & 1;
+		boolean skipBo = sourceCard(p, source, index) == SKIPBO;
+
+		// Take the Card out of its source
+		switch(source) {
+			case FROM_HAND:
+				removeFromHand(p, index);
+				break;
+			case FROM_DISCARD:
+				zobrist ^= discardKey(p, index);
+				counts[DISCARD_SIZE + p * 4 + index]--;
+				zobrist ^= discardKey(p, index);
+				break;
+			default:
+				zobrist ^= stockKey(p);
+				counts[STOCK_SIZE + p]--;
+				zobrist ^= stockKey(p);
+		}
+		pushFoundation(foundation, skipBo);
+
+		// If the Stock is empty, the game has been won!
+		if(source == FROM_STOCK && counts[STOCK_SIZE + p] == 0) {
+			hasWinner = true;
+			zobrist ^= Zobrist.HAS_WINNER;
+		}
+		return true;
+	}
+
+
+	/**
+	 * Plays a Card for the current player, if the move is valid.
+	 * @param move the Move to make
+	 * @return true if the Card was played, false if the move was invalid and nothing changed
+	 */
+	public boolean play(Move move) {
+		return !move.isDiscard() && play(move.getSource().ordinal(), move.getIndex(), move.getFoundation());
+	}
+
+
+	/**
+	 * Moves a Card from the current player's Hand to one of their Discard piles, ending the turn.
+	 * @param handIndex index within the Hand (0-4)
+	 * @param pile index of the DiscardPile (0-3)
+	 * @return true if the Card was discarded, false if the move was invalid and nothing changed
+	 */
+	public boolean discard(int handIndex, int pile) {
+		int p = turn & 1;
+		if(hasWinner || !initialDrawDone || handIndex < 0 || handIndex >= handSize(p) || pile < 0 || pile > 3) {
+			return false;
+		}
+		int code = handAt(p, handIndex);
+		removeFromHand(p, handIndex);
+		zobrist ^= discardKey(p, pile);
+		pushDiscard(discardPile(p, pile), code);
+		zobrist ^= discardKey(p, pile);
+
+		turn++;
+		initialDrawDone = false;
+		zobrist ^= Zobrist.TURN ^ Zobrist.INITIAL_DRAW_DONE;
+		return true;
+	}
+
+
+	/**
+	 * Puts a Card on top of a Discard Pile.
+	 * The piles array is shared, so this builds a new one, with room for the Card and no room to spare anywhere else.
+	 * @param pile the Discard Pile's index among the ten piles
+	 * @param code the card code
+	 */
+	private void pushDiscard(int pile, int code) {
+		int[] newStarts = new int[11];
+		for(int i = 0; i < 10; i++) {
+			newStarts[i + 1] = newStarts[i] + counts[STOCK_SIZE + i] + (i == pile ? 1 : 0);
+		}
+		byte[] newPiles = new byte[newStarts[10]];
+		for(int i = 0; i < 10; i++) {
+			System.arraycopy(piles, pileStarts[i], newPiles, newStarts[i], counts[STOCK_SIZE + i]);
+		}
+		newPiles[newStarts[pile] + counts[STOCK_SIZE + pile]] = (byte) code;
+		counts[STOCK_SIZE + pile]++;
+		piles = newPiles;
+		pileStarts = newStarts;
+	}
+
+
+	/**
+	 * Moves a Card from the current player's Hand to one of their Discard piles, ending the turn.
+	 * @param move the Move to make. Must be a discard.
+	 * @return true if the Card was discarded, false if the move was invalid and nothing changed
+	 */
+	public boolean discard(Move move) {
+		return move.isDiscard() && discard(move.getIndex(), move.getDiscardPile());
+	}
+
+
+	/**
+	 * Draws up to a full Hand of Cards for the current player, reshuffling the ClearedPile
+	 * into the deck when it runs low.
+	 * @return the number of Cards drawn, or -1 if this is not a valid time to draw
+	 */
+	public int drawCards() {
+		int p = turn & 1;
+		if(hasWinner || (initialDrawDone && handSize(p) != 0)) {
+			return -1;
+		}
+
+		int cardsDrawn = 0;
+		zobrist ^= Zobrist.DECK_SIZE[counts[DECK_SIZE]];
+		while(handSize(p) < 5 && counts[DECK_SIZE] > 0) {
+			int code = deck[--counts[DECK_SIZE]];
+			addToHand(p, code);
+			cardsDrawn++;
+		}
+		zobrist ^= Zobrist.DECK_SIZE[counts[DECK_SIZE]];
+		if(!initialDrawDone) {
+			initialDrawDone = true;
+			zobrist ^= Zobrist.INITIAL_DRAW_DONE;
+		}
+		if(counts[DECK_SIZE] <= 5) {
+			shuffleInCleared();
+		}
+		return cardsDrawn;
+	}
+
+
+	/**
+	 * Moves every cleared Card underneath the deck, then shuffles the whole deck.
+	 */
+	private void shuffleInCleared() {
+		int size = counts[DECK_SIZE];
+		zobrist ^= Zobrist.DECK_SIZE[size] ^ Zobrist.CLEARED_SIZE[counts[CLEARED_SIZE]] ^ Zobrist.CLEARED_SIZE[0];
+		int[] all = new int[size + counts[CLEARED_SIZE]];
+		for(int i = 0; i < size; i++) {
+			all[i] = deck[size - 1 - i];
+		}
+		for(int code = 1; code <= SKIPBO; code++) {
+			for(int c = counts[CLEARED_COUNT + code]; c > 0; c--) {
+				all[size++] = code;
+			}
+			counts[CLEARED_COUNT + code] = 0;
+		}
+		counts[CLEARED_SIZE] = 0;
+
+		for(int i = size - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int temp = all[i];
+			all[i] = all[j];
+			all[j] = temp;
+		}
+		// The deck is shared, so the shuffled deck goes in a new one
+		deck = new byte[size];
+		for(int i = 0; i < size; i++) {
+			deck[i] = (byte) all[i];
+		}
+		counts[DECK_SIZE] = size;
+		zobrist ^= Zobrist.DECK_SIZE[size];
+	}
+
+
+	/**
+	 * Puts a Card on top of a Foundation, clearing the Foundation once it reaches 12.
+	 * @param foundation index of the Foundation (0-3)
+	 * @param skipBo true if the Card is a Skip-Bo taking on the next value
+	 */
+	private void pushFoundation(int foundation, boolean skipBo) {
+		int shift = foundation * FOUNDATION_BITS;
+		long word = (foundations >>> shift) & 0xFFFF;
+		int height = (int) (word & HEIGHT_MASK);
+		foundationKey -= Zobrist.FOUNDATION_TOP[height];
+		removeTop(height);
+		if(skipBo) {
+			word |= 1L << (4 + height);
+		}
+		height++;
+
+		if(height == 12) {
+			// Clear it out. Played Skip-Bos go back to being unplayed Skip-Bos.
+			for(int v = 1; v <= 12; v++) {
+				if((word & (1L << (3 + v))) != 0) {
+					counts[CLEARED_COUNT + SKIPBO]++;
+				} else {
+					counts[CLEARED_COUNT + v]++;
+				}
+			}
+			zobrist ^= Zobrist.CLEARED_SIZE[counts[CLEARED_SIZE]];
+			counts[CLEARED_SIZE] += 12;
+			zobrist ^= Zobrist.CLEARED_SIZE[counts[CLEARED_SIZE]];
+			height = 0;
+			word = 0;
+		} else {
+			word = (word & ~HEIGHT_MASK) | height;
+		}
+		foundationKey += Zobrist.FOUNDATION_TOP[height];
+		addTop(height);
+		foundations = (foundations & ~(0xFFFFL << shift)) | (word << shift);
+	}
+
+
+	/**
+	 * Counts one more Foundation with a particular height
+	 * @param height the height (0-11)
+	 */
+	private void addTop(int height) {
+		topCounts += 1L << (4 * height);
+		topMask |= 1 << height;
+	}
+
+
+	/**
+	 * Counts one less Foundation with a particular height
+	 * @param height the height (0-11)
+	 */
+	private void removeTop(int height) {
+		topCounts -= 1L << (4 * height);
+		if(((topCounts >>> (4 * height)) & 0xF) == 0) {
+			topMask &= ~(1 << height);
+		}
+	}
+
+
+	/**
+	 * Removes a Card from a Hand, shifting the Cards after it down by one.
+	 * @param p the player
+	 * @param index the index within the Hand
+	 */
+	private void removeFromHand(int p, int index) {
+		zobrist ^= handKey(p);
+		long hand = handWord(p);
+		int size = handSize(p);
+		long lower = hand & ((1L << (4 * index)) - 1);
+		long upper = (hand & ((1L << HAND_SIZE_SHIFT) - 1)) >>> (4 * (index + 1));
+		setHandWord(p, lower | (upper << (4 * index)) | ((long) (size - 1) << HAND_SIZE_SHIFT));
+		zobrist ^= handKey(p);
+	}
+
+
+	/**
+	 * Adds a Card to the end of a Hand.
+	 * @param p the player
+	 * @param code the card code to add
+	 */
+	private void addToHand(int p, int code) {
+		zobrist ^= handKey(p);
+		long hand = handWord(p);
+		int size = handSize(p);
+		hand &= (1L << HAND_SIZE_SHIFT) - 1;
+		hand |= (long) code << (4 * size);
+		setHandWord(p, hand | ((long) (size + 1) << HAND_SIZE_SHIFT));
+		zobrist ^= handKey(p);
+	}
+
+
+	/**
+	 * Recomputes both parts of the Zobrist hash from scratch.
+	 */
+	private void rehash() {
+		zobrist = Zobrist.DECK_SIZE[counts[DECK_SIZE]] ^ Zobrist.CLEARED_SIZE[counts[CLEARED_SIZE]];
+		if((turn & 1) == 1) {
+			zobrist ^= Zobrist.TURN;
+		}
+		if(initialDrawDone) {
+			zobrist ^= Zobrist.INITIAL_DRAW_DONE;
+		}
+		if(hasWinner) {
+			zobrist ^= Zobrist.HAS_WINNER;
+		}
+		for(int p = 0; p < 2; p++) {
+			zobrist ^= handKey(p) ^ stockKey(p);
+			for(int d = 0; d < 4; d++) {
+				zobrist ^= discardKey(p, d);
+			}
+		}
+
+		foundationKey = 0;
+		topCounts = 0;
+		topMask = 0;
+		for(int f = 0; f < 4; f++) {
+			foundationKey += Zobrist.FOUNDATION_TOP[getFoundationTop(f)];
+			addTop(getFoundationTop(f));
+		}
+	}
+
+
+	private long handKey(int p) {
+		int size = handSize(p);
+		long key = Zobrist.HAND_SIZE[p][size];
+		for(int h = 0; h < size; h++) {
+			key ^= Zobrist.HAND_CARD[p * 5 + h][handAt(p, h)];
+		}
+		return key;
+	}
+
+
+	private long stockKey(int p) {
+		return Zobrist.STOCK_SIZE[p][counts[STOCK_SIZE + p]] ^ Zobrist.STOCK_TOP[p][stockTop(p)];
+	}
+
+
+	private long discardKey(int p, int pile) {
+		int i = p * 4 + pile;
+		return Zobrist.DISCARD_SIZE[i][counts[DISCARD_SIZE + i]] ^ Zobrist.DISCARD_TOP[i][discardTop(p, pile)];
+	}
+
+
+	private long handWord(int p) {
+		return (hands >>> (p * HAND_BITS)) & HAND_WORD_MASK;
+	}
+
+
+	private void setHandWord(int p, long word) {
+		int shift = p * HAND_BITS;
+		hands = (hands & ~(HAND_WORD_MASK << shift)) | (word << shift);
+	}
+
+
+	private int handSize(int p) {
+		return (int) (handWord(p) >>> HAND_SIZE_SHIFT) & 0x7;
+	}
+
+
+	private int handAt(int p, int index) {
+		return (int) (handWord(p) >>> (4 * index)) & 0xF;
+	}
+
+
+	private int stockTop(int p) {
+		int size = counts[STOCK_SIZE + p];
+		return size == 0 ? NO_CARD : piles[pileStarts[p] + size - 1];
+	}
+
+
+	private int discardTop(int p, int pile) {
+		int size = counts[DISCARD_SIZE + p * 4 + pile];
+		return size == 0 ? NO_CARD : piles[pileStarts[discardPile(p, pile)] + size - 1];
+	}
+
+
+	/**
+	 * Finds a Discard Pile among the ten piles
+	 * @param p the player
+	 * @param pile which of their Discard Piles (0-3)
+	 * @return the index, which is also its size's index in the counts array, less STOCK_SIZE
+	 */
+	private static int discardPile(int p, int pile) {
+		return 2 + p * 4 + pile;
+	}
+
+
+	/**
+	 * Gets the player index for the current player or the opponent
+	 * @param forCurrent true if for the current Player, false if for the opponent Player
+	 * @return 0 or 1
+	 */
+	private int player(boolean forCurrent) {
+		return forCurrent ? (turn & 1) : ((turn + 1) & 1);
+	}
+
+
+	/**
+	 * Gets the value of the top Card of a Foundation
+	 * @param foundation index of the Foundation (0-3)
+	 * @return the top value, 0 if the Foundation is empty
+	 */
+	public int getFoundationTop(int foundation) {
+		return (int) ((foundations >>> (foundation * FOUNDATION_BITS)) & HEIGHT_MASK);
+	}
+
+
+	/**
+	 * Gets which heights the Foundations have
+	 * @return a mask with bit h set if any Foundation is h Cards high (0-11)
+	 */
+	public int getFoundationTopMask() {
+		return topMask;
+	}
+
+
+	/**
+	 * Gets how many Foundations have a particular height
+	 * @param height the height (0-11)
+	 * @return the number of Foundations with that height
+	 */
+	public int getFoundationTopCount(int height) {
+		return (int) ((topCounts >>> (4 * height)) & 0xF);
+	}
+
+
+	/**
+	 * Gets how many Cards have to be played on the nearest Foundation before a value can be played there.
+	 * @param value the value (1-12)
+	 * @return 0 if the value can be played right now, up to 11
+	 */
+	public int getNearestFoundationDistance(int value) {
+		return NEAREST_DISTANCE[(topMask << 4) | value];
+	}
+
+
+	/**
+	 * Gets how many Cards have to be played on the farthest Foundation before a value can be played there.
+	 * @param value the value (1-12)
+	 * @return 0 if the value can be played on every Foundation right now, up to 11
+	 */
+	public int getFarthestFoundationDistance(int value) {
+		return FARTHEST_DISTANCE[(topMask << 4) | value];
+	}
+
+
+	/**
+	 * Gets the top Card of a Foundation
+	 * @param foundation index of the Foundation (0-3)
+	 * @return the top Card, or null if the Foundation is empty
+	 */
+	public Card getFoundationTopCard(int foundation) {
+		int height = getFoundationTop(foundation);
+		if(height == 0) {
+			return null;
+		}
+		if(((foundations >>> (foundation * FOUNDATION_BITS + 3 + height)) & 1) != 0) {
+			return Card.getSkipBoized(height);
+		}
+		return CARDS[height];
+	}
+
+
+	/**
+	 * Gets the top of a particular Player's Stock
+	 * @param forCurrent true if for the current Player, false if for the opponent Player
+	 * @return card code of the top of the Stock, NO_CARD if it is empty
+	 */
+	public int getStockTop(boolean forCurrent) {
+		return stockTop(player(forCurrent));
+	}
+
+
+	/**
+	 * Gets the number of Cards in a particular Player's Stock
+	 * @param forCurrent true if for the current Player, false if for the opponent Player
+	 * @return the size of the Stock
+	 */
+	public int getStockSize(boolean forCurrent) {
+		return counts[STOCK_SIZE + player(forCurrent)];
+	}
+
+
+	/**
+	 * Gets the top of one of a particular Player's DiscardPiles
+	 * @param forCurrent true if for the current Player, false if for the opponent Player
+	 * @param pile index of the DiscardPile (0-3)
+	 * @return card code of the top of the DiscardPile, NO_CARD if it is empty
+	 */
+	public int getDiscardTop(boolean forCurrent, int pile) {
+		return discardTop(player(forCurrent), pile);
+	}
+
+
+	/**
+	 * Gets the number of Cards in the current Player's Hand
+	 * @return the size of the Hand
+	 */
+	public int getHandSize() {
+		return handSize(turn & 1);
+	}
+
+
+	/**
+	 * Gets a Card in the current Player's Hand
+	 * @param index within the Hand (0-4)
+	 * @return card code at that index, NO_CARD if there is none
+	 */
+	public int getHandAt(int index) {
+		int p = turn & 1;
+		return index < handSize(p) ? handAt(p, index) : NO_CARD;
+	}
+
+
+	/**
+	 * Get the number of Cards left in the deck
+	 * @return the deck size
+	 */
+	public int getDeckSize() {
+		return counts[DECK_SIZE];
+	}
+
+
+	/**
+	 * Get the turn as an integer
+	 * @return the turn
+	 */
+	public int getTurn() {
+		return turn;
+	}
+
+
+	/**
+	 * Check if there is a winner/if the game is over
+	 * @return True if the game is over, otherwise false.
+	 */
+	public boolean hasWinner() {
+		return hasWinner;
+	}
+
+
+	/**
+	 * Converts a card code back into a Card
+	 * @param code the card code
+	 * @return the matching unplayed Card, or null for NO_CARD
+	 */
+	public static Card toCard(int code) {
+		return CARDS[code];
+	}
+
+
+	/**
+	 * Converts an unplayed Card into its card code
+	 * @param card the Card
+	 * @return the card code
+	 */
+	public static int toCode(Card card) {
+		if(card == null) {
+			return NO_CARD;
+		} else if(card == Card.SKIPBO_UNPLAYED || card.getIsPlayedSkipBo()) {
+			return SKIPBO;
+		}
+		return card.getValue();
+	}
+
+
+	/**
+	 * Checks if two PackedGameStates represent equivalent game states.
+	 * Like SkipBoGameModel, the order of the Foundations does not matter, only their tops.
+	 * @param obj The other PackedGameState to compare with this one.
+	 * @return if the states are equivalent
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj) {
+			return true;
+		}
+		if(!(obj instanceof PackedGameState)) {
+			return false;
+		}
+		PackedGameState other = (PackedGameState) obj;
+		if(zobrist != other.zobrist || foundationKey != other.foundationKey) {
+			return false;
+		}
+		if(turn != other.turn || initialDrawDone != other.initialDrawDone || hasWinner != other.hasWinner) {
+			return false;
+		}
+		if(counts[DECK_SIZE] != other.counts[DECK_SIZE] || counts[CLEARED_SIZE] != other.counts[CLEARED_SIZE]) {
+			return false;
+		}
+		if(hands != other.hands) {
+			return false;
+		}
+
+		int[] thisTops = new int[4];
+		int[] otherTops = new int[4];
+		for(int f = 0; f < 4; f++) {
+			thisTops[f] = getFoundationTop(f);
+			otherTops[f] = other.getFoundationTop(f);
+		}
+		Arrays.sort(thisTops);
+		Arrays.sort(otherTops);
+		if(!Arrays.equals(thisTops, otherTops)) {
+			return false;
+		}
+
+		for(int p = 0; p < 2; p++) {
+			if(counts[STOCK_SIZE + p] != other.counts[STOCK_SIZE + p] || stockTop(p) != other.stockTop(p)) {
+				return false;
+			}
+			for(int d = 0; d < 4; d++) {
+				if(counts[DISCARD_SIZE + p * 4 + d] != other.counts[DISCARD_SIZE + p * 4 + d] ||
+						discardTop(p, d) != other.discardTop(p, d)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+
+	@Override
+	public int hashCode() {
+		long hash = zobrist ^ (foundationKey * 0x9E3779B97F4A7C15L);
+		return (int) (hash ^ (hash >>> 32));
+	}
+
+
+	/**
+	 * Hashes a SkipBoGameModel the same way a PackedGameState of it would be hashed.
+	 * Nothing is packed, and the game's Random isn't touched, so hashing a game never changes how it plays out.
+	 * @param game the SkipBoGameModel to hash
+	 * @return the same value as new PackedGameState(game).hashCode()
+	 */
+	public static int hashOf(SkipBoGameModel game) {
+		long zobrist = Zobrist.DECK_SIZE[game.getDrawPile().size()] ^ Zobrist.CLEARED_SIZE[game.getClearedPile().size()];
+		if((game.getTurn() & 1) == 1) {
+			zobrist ^= Zobrist.TURN;
+		}
+		if(game.isInitialDrawDone()) {
+			zobrist ^= Zobrist.INITIAL_DRAW_DONE;
+		}
+		if(game.isHasWinner()) {
+			zobrist ^= Zobrist.HAS_WINNER;
+		}
+		for(int p = 0; p < 2; p++) {
+			Player player = game.getPlayer(p);
+
+			int handSize = player.hand.size();
+			zobrist ^= Zobrist.HAND_SIZE[p][handSize];
+			for(int h = 0; h < handSize; h++) {
+				zobrist ^= Zobrist.HAND_CARD[p * 5 + h][toCode(player.hand.getAt(h))];
+			}
+
+			CardStack stock = player.stockPile.getStockPile();
+			int stockSize = stock.size();
+			zobrist ^= Zobrist.STOCK_SIZE[p][stockSize] ^ Zobrist.STOCK_TOP[p][stockSize == 0 ? NO_CARD : toCode(stock.get(stockSize - 1))];
+
+			for(int d = 0; d < 4; d++) {
+				CardStack discard = player.discardPiles[d].getDiscardPile();
+				int discardSize = discard.size();
+				int i = p * 4 + d;
+				zobrist ^= Zobrist.DISCARD_SIZE[i][discardSize] ^ Zobrist.DISCARD_TOP[i][discardSize == 0 ? NO_CARD : toCode(discard.get(discardSize - 1))];
+			}
+		}
+
+		long foundationKey = 0;
+		for(int f = 0; f < 4; f++) {
+			foundationKey += Zobrist.FOUNDATION_TOP[game.getFoundationPiles()[f].getFoundationPile().size()];
+		}
+
+		long hash = zobrist ^ (foundationKey * 0x9E3779B97F4A7C15L);
+		return (int) (hash ^ (hash >>> 32));
+	}
+
+
+	/**
+	 * Gets the full 64-bit Zobrist hash of this state
+	 * @return the hash
+	 */
+	public long getZobristHash() {
+		return zobrist ^ (foundationKey * 0x9E3779B97F4A7C15L);
+	}
+
+
+	@Override
+	public String toString() {
+		String retString = "Deck Size: " + counts[DECK_SIZE] + "\nFoundations:";
+		for(int f = 0; f < 4; f++) {
+			retString += " " + getFoundationTop(f);
+		}
+		for(int p = 0; p < 2; p++) {
+			retString += "\nPlayer " + p + ": Stock Top=" + stockTop(p) + " Size=" + counts[STOCK_SIZE + p] + " Hand:";
+			for(int h = 0; h < handSize(p); h++) {
+				retString += " " + handAt(p, h);
+			}
+			retString += " Discards:";
+			for(int d = 0; d < 4; d++) {
+				retString += " " + discardTop(p, d);
+			}
+		}
+		return retString;
+	}
+}
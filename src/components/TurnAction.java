@@ -0,0 +1,110 @@
+package components;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One thing a player did on their turn: drawing, playing a Card onto a Foundation, or discarding.
+ * The game keeps these in order, so a turn can be shown again one step at a time.
+ *
+ * @author Anna Heebsh
+ */
+public final class TurnAction {
+
+	/**
+	 * The kinds of action
+	 */
+	public enum Type {
+		DRAW, PLAY, DISCARD
+	}
+
+	private final Type type;
+	/*The play or discard. Null for draws.*/
+	private final Move move;
+	/*The Cards drawn, in the order they went into the Hand. Empty for plays and discards.*/
+	private final List<Card> drawn;
+
+
+	/**
+	 * Constructor
+	 * @param type the kind of action
+	 * @param move the play or discard, or null for draws
+	 * @param drawn the Cards drawn
+	 */
+	private TurnAction(Type type, Move move, List<Card> drawn) {
+		this.type = type;
+		this.move = move;
+		this.drawn = drawn;
+	}
+
+
+	/**
+	 * Makes a draw
+	 * @param drawn the Cards drawn, in the order they went into the Hand
+	 * @return the action
+	 */
+	public static TurnAction draw(List<Card> drawn) {
+		return new TurnAction(Type.DRAW, null, Collections.unmodifiableList(new ArrayList<Card>(drawn)));
+	}
+
+
+	/**
+	 * Makes a play onto a Foundation
+	 * @param move the play
+	 * @return the action
+	 */
+	public static TurnAction play(Move move) {
+		return new TurnAction(Type.PLAY, move, Collections.emptyList());
+	}
+
+
+	/**
+	 * Makes a discard
+	 * @param move the discard
+	 * @return the action
+	 */
+	public static TurnAction discard(Move move) {
+		return new TurnAction(Type.DISCARD, move, Collections.emptyList());
+	}
+
+
+	/**
+	 * Gets the kind of action
+	 * @return the type
+	 */
+	public Type getType() {
+		return type;
+	}
+
+
+	/**
+	 * Gets the play or discard
+	 * @return the Move, or null for draws
+	 */
+	public Move getMove() {
+		return move;
+	}
+
+
+	/**
+	 * Gets the Cards drawn
+	 * @return the Cards, in the order they went into the Hand. Empty for plays and discards.
+	 */
+	public List<Card> getDrawn() {
+		return drawn;
+	}
+
+
+	@Override
+	public String toString() {
+		switch(type) {
+			case DRAW:
+				return "draw " + drawn;
+			case PLAY:
+				return "play " + move;
+			default:
+				return "discard " + move;
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package components;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random keys for Zobrist hashing PackedGameStates.
+ * Every part of a state that takes part in equality gets its own key, so a state's hash can be kept
+ * up to date by XORing keys in and out as the state changes, instead of rehashing the whole table.
+ * The seed is fixed so that hashes are the same from run to run.
+ *
+ * @author Anna Heebsh
+ */
+final class Zobrist {
+
+	private static final SplittableRandom RANDOM = new SplittableRandom(0x5B1B0L);
+
+	/*Foundation tops (0-11). These are added rather than XORed, so that the order of the Foundations does not matter.*/
+	static final long[] FOUNDATION_TOP = fill(12);
+
+	/*Deck and ClearedPile sizes*/
+	static final long[] DECK_SIZE = fill(163);
+	static final long[] CLEARED_SIZE = fill(163);
+
+	/*Stock sizes and tops, per player*/
+	static final long[][] STOCK_SIZE = {fill(51), fill(51)};
+	static final long[][] STOCK_TOP = {fill(14), fill(14)};
+
+	/*Discard pile sizes and tops, per player and pile (player * 4 + pile)*/
+	static final long[][] DISCARD_SIZE = new long[8][];
+	static final long[][] DISCARD_TOP = new long[8][];
+
+	/*Hand contents, per player and slot (player * 5 + slot), and Hand sizes per player*/
+	static final long[][] HAND_CARD = new long[10][];
+	static final long[][] HAND_SIZE = {fill(6), fill(6)};
+
+	/*Turn parity and flags*/
+	static final long TURN = RANDOM.nextLong();
+	static final long INITIAL_DRAW_DONE = RANDOM.nextLong();
+	static final long HAS_WINNER = RANDOM.nextLong();
+
+	static {
+		for(int i = 0; i < 8; i++) {
+			DISCARD_SIZE[i] = fill(163);
+			DISCARD_TOP[i] = fill(14);
+		}
+		for(int i = 0; i < 10; i++) {
+			HAND_CARD[i] = fill(14);
+		}
+	}
+
+
+	/**
+	 * Private constructor. This class only holds keys.
+	 */
+	private Zobrist() {
+	}
+
+
+	/**
+	 * Makes an array of random keys
+	 * @param length the number of keys
+	 * @return the keys
+	 */
+	private static long[] fill(int length) {
+		long[] keys = new long[length];
+		for(int i = 0; i < length; i++) {
+			keys[i] = RANDOM.nextLong();
+		}
+		return keys;
+	}
+}
@@ -1,6 +1,7 @@
 package components.gameCollections;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import components.Card;
 
@@ -27,7 +28,16 @@ public class ClearedPile {
 	 * @param oldClearedPile the ClearedPile to copy
 	 */
 	public ClearedPile(ClearedPile oldClearedPile) {
-		clearedPile = oldClearedPile.getAll();
+		clearedPile = new ArrayList<Card>(oldClearedPile.getAll());
+	}
+
+	
+	/**
+	 * Constructor for a ClearedPile that already has cards in it, such as one being restored from a snapshot
+	 * @param cards the cards, in the order they were cleared
+	 */
+	public ClearedPile(List<Card> cards) {
+		clearedPile = new ArrayList<Card>(cards);
 	}
 
 
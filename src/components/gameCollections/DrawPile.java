@@ -1,24 +1,34 @@
 package components.gameCollections;
 
-import java.util.ArrayList;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
 
 import components.Card;
 
 /**
  * DrawPile object, holding the main "deck" that cards are drawn from. 
+ * The deck is an array with its top at the end, so drawing a card never shifts the rest.
  * @author Anna Heebsh
  */
 public class DrawPile {
 
-	private ArrayList<Card> drawPile;
+	/*Every card in a full deck: 12 of each "standard card" plus 18 Skip-Bo cards*/
+	public static final int DECK_SIZE = 12 * 12 + 18;
+	
+	/*The cards, bottom first. Only the first size of them are in the deck.*/
+	private Card[] drawPile;
+	
+	/*Number of cards in the deck*/
+	private int size;
 
 
 	/**
 	 * Constructor
+	 * @param random the source of randomness for shuffling
 	 */
-	public DrawPile() {
-		reset();
+	public DrawPile(SplittableRandom random) {
+		reset(random);
 	}
 
 	
@@ -27,66 +37,111 @@ public class DrawPile {
 	 * @param oldDrawPile the DrawPile to copy
 	 */
 	public DrawPile(DrawPile oldDrawPile) {
-		drawPile = new ArrayList<Card>(oldDrawPile.getDrawPile());
+		drawPile = oldDrawPile.drawPile.clone();
+		size = oldDrawPile.size;
+	}
+
+
+	/**
+	 * Constructor for a deck that's already in a particular order, such as one being restored from a snapshot
+	 * @param cards the cards, bottom first
+	 * @throws RuntimeException if there are more cards than fit in a deck
+	 */
+	public DrawPile(List<Card> cards) throws RuntimeException {
+		if (cards.size() > DECK_SIZE) {
+			throw new RuntimeException("A DrawPile can't hold more than " + DECK_SIZE + " cards.");
+		}
+		drawPile = new Card[DECK_SIZE];
+		size = 0;
+		for (Card card : cards) {
+			drawPile[size++] = card;
+		}
 	}
 
 
 	/**
 	 * Resets the draw pile by clearing it and re-adding the right number of cards.
 	 * It also handles shuffling. 
+	 * @param random the source of randomness for shuffling
 	 */
-	public void reset() {
-		drawPile = new ArrayList<Card>();
+	public void reset(SplittableRandom random) {
+		drawPile = new Card[DECK_SIZE];
+		size = 0;
 
 		// Set up the deck. 12 of each "standard card" plus 18 Skip-Bo cards
-		ArrayList<Card> toAdd = new ArrayList<Card>();
 		for (Card card : Card.values()) {
 			if (!card.getIsPlayedSkipBo()) {
-				if (card.equals(Card.SKIPBO_UNPLAYED)) {
-					for (int i = 0; i < 18; i++) {
-						toAdd.add(card);
-					}
-				} else {
-					for (int i = 0; i < 12; i++) {
-						toAdd.add(card);
-					}
+				int count = card.equals(Card.SKIPBO_UNPLAYED) ? 18 : 12;
+				for (int i = 0; i < count; i++) {
+					drawPile[size++] = card;
 				}
 			}
 		}
 
 		// Shuffle the new deck.
-		shuffleIn(toAdd);
+		shuffle(random);
 	}
 
 	
 	/**
 	 * Removes the top card from the DrawPile.
 	 * @return Card drawn
+	 * @throws RuntimeException if the DrawPile is empty
 	 */
-	public Card draw() {
-		return drawPile.remove(0);
+	public Card draw() throws RuntimeException {
+		if (size == 0) {
+			throw new RuntimeException("The DrawPile is empty.");
+		}
+		Card card = drawPile[--size];
+		drawPile[size] = null;
+		return card;
 	}
 
 	
 	/**
 	 * Shuffles cards into the DrawPile.
-	 * @param toAdd an ArrayList of Cards to shuffle into the deck. 
+	 * @param toAdd the Cards to shuffle into the deck. 
+	 * @param random the source of randomness for shuffling
 	 */
-	public void shuffleIn(ArrayList<Card> toAdd) {
-		drawPile.addAll(toAdd);
-		int length = drawPile.size();
-		for (int i = 0; i < length - 2; i++) {
-			int j = ThreadLocalRandom.current().nextInt(i, length);
-			Card temp = drawPile.get(i);
-			drawPile.set(i, drawPile.get(j));
-			drawPile.set(j, temp);
+	public void shuffleIn(List<Card> toAdd, SplittableRandom random) {
+		if (size + toAdd.size() > drawPile.length) {
+			drawPile = Arrays.copyOf(drawPile, size + toAdd.size());
+		}
+		for (Card card : toAdd) {
+			drawPile[size++] = card;
+		}
+		shuffle(random);
+	}
+	
+	
+	/**
+	 * Shuffles every card in the ClearedPile into the DrawPile, and empties the ClearedPile.
+	 * @param clearedPile the ClearedPile to take cards from
+	 * @param random the source of randomness for shuffling
+	 */
+	public void refill(ClearedPile clearedPile, SplittableRandom random) {
+		shuffleIn(clearedPile.getAll(), random);
+		clearedPile.reset();
+	}
+	
+	
+	/**
+	 * Shuffles the whole DrawPile in place (Fisher-Yates).
+	 * @param random the source of randomness for shuffling
+	 */
+	private void shuffle(SplittableRandom random) {
+		for (int i = size - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			Card temp = drawPile[i];
+			drawPile[i] = drawPile[j];
+			drawPile[j] = temp;
 		}
 	}
 	
 	
 	@Override
 	public String toString() {
-		return "\nDeck Size: " + drawPile.size();
+		return "\nDeck Size: " + size;
 	}
 
 	
@@ -95,16 +150,21 @@ public class DrawPile {
 	 * @return True when running out of cards.
 	 */
 	public boolean gettingLow() {
-		return drawPile.size() <= 5;
+		return size <= 5;
 	}
 	
 	
 	/**
-	 * Gets this draw pile. 
-	 * @return the drawPile
+	 * Gets a card in this DrawPile without drawing it. 
+	 * @param index position from the bottom of the deck. size() - 1 is the top.
+	 * @return the Card at that position
+	 * @throws RuntimeException if the index is out of range
 	 */
-	public ArrayList<Card> getDrawPile() {
-		return drawPile;
+	public Card getCardAt(int index) throws RuntimeException {
+		if (index < 0 || index >= size) {
+			throw new RuntimeException("No card at " + index + " in the DrawPile.");
+		}
+		return drawPile[index];
 	}
 
 	
@@ -113,7 +173,7 @@ public class DrawPile {
 	 * @return the size of this DrawPile in cards
 	 */
 	public int size() {
-		return drawPile.size();
+		return size;
 	}
 
 }
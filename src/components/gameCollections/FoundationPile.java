@@ -1,8 +1,7 @@
 package components.gameCollections;
 
-import java.util.Stack;
-
 import components.Card;
+import components.CardStack;
 
 /**
  * Stores a FoundationPile object that Cards can be played on.
@@ -10,7 +9,10 @@ import components.Card;
  */
 public class FoundationPile {
 	
-	private Stack<Card> foundationPile;
+	/*A Foundation is cleared once it reaches twelve*/
+	public static final int CAPACITY = 12;
+	
+	private CardStack foundationPile;
 	private String id;
 
 	
@@ -20,7 +22,7 @@ public class FoundationPile {
 	 */
 	public FoundationPile(String id) {
 		this.id = id;
-		foundationPile = new Stack<Card>();
+		foundationPile = new CardStack(CAPACITY);
 	}
 
 	
@@ -28,10 +30,9 @@ public class FoundationPile {
 	 * Copy Constructor
 	 * @param oldFoundationPile the FoundationPile to copy.
 	 */
-	@SuppressWarnings("unchecked") // Stacks don't have copy constructors RIP
 	public FoundationPile(FoundationPile oldFoundationPile) {
 		id = oldFoundationPile.getId();
-		foundationPile = (Stack<Card>) oldFoundationPile.getFoundationPile().clone();
+		foundationPile = new CardStack(oldFoundationPile.getFoundationPile());
 	}
 
 
@@ -92,7 +93,7 @@ public class FoundationPile {
 	/**
 	 * @return the foundationPile
 	 */
-	public Stack<Card> getFoundationPile() {
+	public CardStack getFoundationPile() {
 		return foundationPile;
 	}
 
@@ -1,15 +1,18 @@
 package components.playerCollections;
 
-import java.util.Stack;
-
 import components.Card;
+import components.CardStack;
+import components.gameCollections.DrawPile;
 
 /**
  * DiscardPile object to store a Stack of playable Cards.
  * @author Anna Heebsh 
  */
 public class DiscardPile {
-	private Stack<Card> discardPile;
+	/*In theory, every Card in the deck could end up on one DiscardPile*/
+	public static final int CAPACITY = DrawPile.DECK_SIZE;
+	
+	private CardStack discardPile;
 	private String id;
 
 	
@@ -19,7 +22,7 @@ public class DiscardPile {
 	 */
 	public DiscardPile(String id) {
 		this.id = id;
-		discardPile = new Stack<Card>();
+		discardPile = new CardStack(CAPACITY);
 	}
 	
 	
@@ -27,10 +30,9 @@ public class DiscardPile {
 	 * Copy constructor
 	 * @param oldDiscardPile the DiscardPile to copy
 	 */
-	@SuppressWarnings("unchecked")
 	public DiscardPile(DiscardPile oldDiscardPile) {
 		id = oldDiscardPile.getId();
-		discardPile = (Stack<Card>) oldDiscardPile.getDiscardPile().clone();
+		discardPile = new CardStack(oldDiscardPile.getDiscardPile());
 	}
 
 
@@ -113,7 +115,7 @@ public class DiscardPile {
 	 * Gets the whole discard pile.
 	 * @return the discardPile
 	 */
-	public Stack<Card> getDiscardPile() {
+	public CardStack getDiscardPile() {
 		return discardPile;
 	}
 
@@ -1,8 +1,7 @@
 package components.playerCollections;
 
-import java.util.Stack;
-
 import components.Card;
+import components.CardStack;
 
 /**
  * StockPile object to store Cards
@@ -10,14 +9,17 @@ import components.Card;
  */
 public class StockPile {
 
-	private Stack<Card> stockPile;
+	/*The game allows Stocks of up to 49 Cards*/
+	public static final int CAPACITY = 50;
+	
+	private CardStack stockPile;
 	
 	
 	/*
 	 * Constructor
 	 */
 	public StockPile() {
-		stockPile = new Stack<Card>();
+		stockPile = new CardStack(CAPACITY);
 	}
 	
 	
@@ -25,9 +27,8 @@ public class StockPile {
 	 * Copy Constructor
 	 * @param oldStockPile the StockPile to clone
 	 */
-	@SuppressWarnings("unchecked") // Tragically stacks do not have a copy constructor
 	public StockPile(StockPile oldStockPile) {
-		stockPile = (Stack<Card>)oldStockPile.getStockPile().clone();
+		stockPile = new CardStack(oldStockPile.getStockPile());
 	}
 
 
@@ -57,7 +58,7 @@ public class StockPile {
 	 * @param Card to add
 	 */
 	public void push(Card card) {
-		stockPile.add(card);
+		stockPile.push(card);
 	}
 	
 	
@@ -98,7 +99,7 @@ public class StockPile {
 	 * Gets the StockPile
 	 * @return the stockPile
 	 */
-	public Stack<Card> getStockPile() {
+	public CardStack getStockPile() {
 		return stockPile;
 	}
 	
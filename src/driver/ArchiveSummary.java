@@ -0,0 +1,64 @@
+package driver;
+
+import java.nio.file.Path;
+
+/**
+ * Command-line tool that streams a game archive, such as one written by the SimulationRunner,
+ * 	and prints per-turn and per-seat totals for tuning the AI.
+ *
+ * Usage: ArchiveSummary archive
+ *
+ * @author Anna Heebsh
+ */
+public class ArchiveSummary {
+
+
+	/**
+	 * Main method
+	 * @param args archive
+	 */
+	public static void main(String[] args) throws Exception {
+		if(args.length < 1) {
+			System.out.println("Usage: ArchiveSummary archive");
+			return;
+		}
+
+		long turns = 0;
+		long games = 0;
+		long drawn = 0;
+		long[] plays = new long[3];
+		long[] wins = new long[2];
+		long discards = 0;
+		long start = System.nanoTime();
+		try (GameArchiveReader reader = new GameArchiveReader(Path.of(args[0]))) {
+			while(reader.next()) {
+				turns++;
+				drawn += reader.getCardsDrawn();
+				plays[0] += reader.getStockPlays();
+				plays[1] += reader.getHandPlays();
+				plays[2] += reader.getDiscardPilePlays();
+				if(reader.getDiscard() != null) {
+					discards++;
+				}
+				if(reader.isWin()) {
+					games++;
+					wins[reader.getPlayer()]++;
+				}
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+
+		System.out.println("Turns: " + turns + " (read in " + (elapsed / 1_000_000) + " ms)");
+		System.out.println("Finished games: " + games);
+		if(turns == 0) {
+			return;
+		}
+		System.out.printf("Per turn: %.2f drawn, %.2f from Stock, %.2f from Hand, %.2f from Discard Piles, "
+				+ "%.1f%% ended with a discard%n", (double) drawn / turns, (double) plays[0] / turns,
+				(double) plays[1] / turns, (double) plays[2] / turns, 100.0 * discards / turns);
+		if(games > 0) {
+			System.out.printf("Wins: first player %.1f%%, second player %.1f%%%n", 100.0 * wins[0] / games,
+					100.0 * wins[1] / games);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package driver;
+
+import java.net.URL;
+import java.util.EnumMap;
+
+import components.Card;
+import javafx.scene.image.Image;
+
+/**
+ * Every Card picture the GUI shows, loaded once and shared.
+ * Images are decoded in the background, so creating this doesn't hold up the FX thread.
+ * Any ImageView showing one of them fills in once it has finished loading.
+ *
+ * @author Anna Heebsh
+ */
+public class CardImages {
+
+	private final EnumMap<Card, Image> faces = new EnumMap<Card, Image>(Card.class);
+	private final Image back;
+	private final Image empty;
+
+
+	/**
+	 * Constructor. Starts loading every image.
+	 * @param imagePath the folder the images are in, on the classpath
+	 * @param width the width to scale the images to, in pixels
+	 * @param height the height to scale the images to, in pixels
+	 */
+	public CardImages(String imagePath, double width, double height) {
+		for(Card card : Card.values()) {
+			faces.put(card, load(imagePath + card.getImagePath(), width, height));
+		}
+		back = load(imagePath + "CardBack.jpg", width, height);
+		empty = load(imagePath + "Empty.jpg", width, height);
+	}
+
+
+	/**
+	 * Starts loading one image in the background
+	 * @param path the image's path on the classpath
+	 * @param width the width to scale the image to, in pixels
+	 * @param height the height to scale the image to, in pixels
+	 * @return the image
+	 * @throws RuntimeException if there is no image at that path
+	 */
+	private static Image load(String path, double width, double height) throws RuntimeException {
+		URL url = CardImages.class.getResource(path);
+		if(url == null) {
+			throw new RuntimeException("Missing card image: " + path);
+		}
+		return new Image(url.toExternalForm(), width, height, true, true, true);
+	}
+
+
+	/**
+	 * Gets the face of a Card
+	 * @param card the Card
+	 * @return its picture
+	 */
+	public Image getFace(Card card) {
+		return faces.get(card);
+	}
+
+
+	/**
+	 * Gets the back of a Card, for the draw pile and hidden hands
+	 * @return the picture
+	 */
+	public Image getBack() {
+		return back;
+	}
+
+
+	/**
+	 * Gets the picture of an empty space
+	 * @return the picture
+	 */
+	public Image getEmpty() {
+		return empty;
+	}
+}
@@ -1,5 +1,6 @@
 package driver;
 
+import java.nio.file.Path;
 import java.util.Scanner;
 
 /**
@@ -46,6 +47,11 @@ public class ConsoleApp {
 						game.play(latestInput.substring(5, 7), latestInput.substring(11, 13));
 					} else if (latestInput.matches("discard h(0|1|2|3|4) on d(1|2|3|4)")) {
 						game.discard(latestInput.substring(8, 10), latestInput.substring(14, 16));
+					} else if (latestInput.matches("save .+")) {
+						GameSnapshot.save(game, Path.of(latestInput.substring(5).strip()));
+						System.out.println("Saved.");
+					} else if (latestInput.matches("load .+")) {
+						game = GameSnapshot.load(Path.of(latestInput.substring(5).strip()));
 					} else {
 						System.out.println("That input is not recognized. Type \"comms\" to see a " + 
 								"list of valid commands.");
@@ -78,6 +84,8 @@ public class ConsoleApp {
 		System.out.println("play h# on f#	    Play a card from your hand onto a foundation.");
 		System.out.println("play d# on f#	    Play a card from your discard piles onto a foundation.");
 		System.out.println("play ss on f#       Play your stock card onto a foundation.");
+		System.out.println("save <file>         Save the game to a file.");
+		System.out.println("load <file>         Pick up a saved game from a file.");
 		System.out.println("comms				See the list of commands (You just did this.)");
 	}
 
@@ -0,0 +1,265 @@
+package driver;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import components.Move;
+
+/**
+ * Reads a game archive written by GameArchiveWriter, one turn record at a time.
+ * The reader is itself a cursor: next() moves it to the next record, and the getters read that record
+ * 	straight out of the memory-mapped file. Nothing is allocated per record,
+ * 	so reading millions of turns costs about as much as reading the file.
+ * <pre>
+ * try (GameArchiveReader reader = new GameArchiveReader(path)) {
+ *     while(reader.next()) {
+ *         stockPlays += reader.getStockPlays();
+ *     }
+ * }
+ * </pre>
+ *
+ * @author Anna Heebsh
+ */
+public class GameArchiveReader implements Closeable {
+
+	private static final int RECORD_SIZE = GameArchiveWriter.RECORD_SIZE;
+	private static final int WINDOW_SIZE = GameArchiveWriter.WINDOW_SIZE;
+
+	private final FileChannel channel;
+	private final long recordCount;
+	private MappedByteBuffer window;
+	/*The index of the first record in the window, and of the current record*/
+	private long windowFirst;
+	private long index = -1;
+	/*Where the current record starts in the window*/
+	private int offset;
+
+
+	/**
+	 * Constructor. Opens the archive, positioned before the first record.
+	 * @param path the archive file
+	 * @throws IOException if the file can't be read
+	 * @throws RuntimeException if the file isn't an archive this version can read
+	 */
+	public GameArchiveReader(Path path) throws IOException, RuntimeException {
+		channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			if(channel.size() < RECORD_SIZE) {
+				throw new RuntimeException("Not a Skip-Bo archive.");
+			}
+			ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, RECORD_SIZE);
+			if(header.getInt() != GameArchiveWriter.MAGIC) {
+				throw new RuntimeException("Not a Skip-Bo archive.");
+			}
+			short version = header.getShort();
+			if(version != GameArchiveWriter.VERSION || header.getShort() != RECORD_SIZE) {
+				throw new RuntimeException("Can't read version " + version + " archives.");
+			}
+			recordCount = header.getLong();
+			if(recordCount < 0 || RECORD_SIZE + recordCount * RECORD_SIZE > channel.size()) {
+				throw new RuntimeException("Corrupt archive: it ends too soon.");
+			}
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+
+	/**
+	 * Gets the number of turn records in the archive
+	 * @return the count
+	 */
+	public long getRecordCount() {
+		return recordCount;
+	}
+
+
+	/**
+	 * Moves on to the next record
+	 * @return true if there was one, false at the end of the archive
+	 * @throws IOException if the file can't be read
+	 */
+	public boolean next() throws IOException {
+		if(index + 1 >= recordCount) {
+			index = recordCount;
+			return false;
+		}
+		seek(index + 1);
+		return true;
+	}
+
+
+	/**
+	 * Moves to a particular record
+	 * @param record the record's index, from 0
+	 * @throws IOException if the file can't be read
+	 * @throws RuntimeException if there is no such record
+	 */
+	public void seek(long record) throws IOException, RuntimeException {
+		if(record < 0 || record >= recordCount) {
+			throw new RuntimeException("No record " + record + " in an archive of " + recordCount + ".");
+		}
+		if(window == null || record < windowFirst || (record - windowFirst) * RECORD_SIZE >= window.capacity()) {
+			long records = Math.min(WINDOW_SIZE / RECORD_SIZE, recordCount - record);
+			window = channel.map(FileChannel.MapMode.READ_ONLY, RECORD_SIZE + record * RECORD_SIZE,
+					records * RECORD_SIZE);
+			windowFirst = record;
+		}
+		index = record;
+		offset = (int) (record - windowFirst) * RECORD_SIZE;
+	}
+
+
+	/**
+	 * Gets the game number of the current record
+	 * @return the game number it was filed under
+	 */
+	public int getGame() {
+		return window.getInt(offset);
+	}
+
+
+	/**
+	 * Gets the turn of the current record
+	 * @return the game's turn counter when the turn started
+	 */
+	public int getTurn() {
+		return window.getShort(offset + 4);
+	}
+
+
+	/**
+	 * Gets who took the turn
+	 * @return the player's index, 0 or 1
+	 */
+	public int getPlayer() {
+		return window.get(offset + 6);
+	}
+
+
+	/**
+	 * Checks if this turn won the game
+	 * @return true if it did
+	 */
+	public boolean isWin() {
+		return (window.get(offset + 7) & 1) != 0;
+	}
+
+
+	/**
+	 * Gets the number of Cards drawn this turn
+	 * @return the count
+	 */
+	public int getCardsDrawn() {
+		return window.get(offset + 8);
+	}
+
+
+	/**
+	 * Gets the number of Cards played from the Stock this turn
+	 * @return the count
+	 */
+	public int getStockPlays() {
+		return window.get(offset + 9);
+	}
+
+
+	/**
+	 * Gets the number of Cards played from the Hand this turn
+	 * @return the count
+	 */
+	public int getHandPlays() {
+		return window.get(offset + 10);
+	}
+
+
+	/**
+	 * Gets the number of Cards played from the Discard Piles this turn
+	 * @return the count
+	 */
+	public int getDiscardPilePlays() {
+		return window.get(offset + 11);
+	}
+
+
+	/**
+	 * Gets the number of Cards played onto the Foundations this turn, from anywhere
+	 * @return the count
+	 */
+	public int getCardsPlayed() {
+		return getStockPlays() + getHandPlays() + getDiscardPilePlays();
+	}
+
+
+	/**
+	 * Gets the size of the player's Stock after the turn
+	 * @return the number of Cards
+	 */
+	public int getStockRemaining() {
+		return window.get(offset + 12);
+	}
+
+
+	/**
+	 * Gets the size of the player's Hand after the turn
+	 * @return the number of Cards
+	 */
+	public int getHandRemaining() {
+		return window.get(offset + 13);
+	}
+
+
+	/**
+	 * Gets the discard the turn ended with
+	 * @return the Move, or null if the turn ended without one
+	 */
+	public Move getDiscard() {
+		int code = window.get(offset + 14) & 0xFF;
+		return code == 0xFF ? null : Move.fromCode(code);
+	}
+
+
+	/**
+	 * Gets the number of plays this turn whose Moves were kept. 
+	 * That is every play, unless the turn made more than GameArchiveWriter.MAX_PLAYS of them.
+	 * @return the count
+	 */
+	public int getPlaysKept() {
+		return Math.min(getCardsPlayed(), GameArchiveWriter.MAX_PLAYS);
+	}
+
+
+	/**
+	 * Gets one of the plays made this turn
+	 * @param play which play, from 0, in the order they were made
+	 * @return the Move
+	 * @throws RuntimeException if the turn made fewer plays than that, or that play wasn't kept
+	 */
+	public Move getPlay(int play) throws RuntimeException {
+		if(play < 0 || play >= getPlaysKept()) {
+			throw new RuntimeException("No play " + play + " kept for a turn with " + getCardsPlayed() + " plays.");
+		}
+		return Move.fromCode(window.get(offset + GameArchiveWriter.PLAYS_OFFSET + play) & 0xFF);
+	}
+
+
+	/**
+	 * Gets the size of the deck after the turn
+	 * @return the number of Cards
+	 */
+	public int getDeckRemaining() {
+		return window.get(offset + 15) & 0xFF;
+	}
+
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,234 @@
+package driver;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import components.TurnAction;
+import users.Player;
+
+/**
+ * Writes a game archive: one fixed-size record per turn, for analysing large batches of games
+ * 	without rebuilding any of them. Each record has every Move the turn made, as well as totals. The file is written through a memory-mapped window that moves along it,
+ * 	so records go straight into the page cache. GameArchiveReader reads it back.
+ * <pre>
+ * header, RECORD_SIZE bytes:
+ *   int    magic number, "SKBA"
+ *   short  format version
+ *   short  record size
+ *   long   record count
+ * then one record per turn:
+ *   0   int    game number
+ *   4   short  turn
+ *   6   byte   player who took the turn (0 or 1)
+ *   7   byte   flags: 1 = this turn won the game
+ *   8   byte   Cards drawn
+ *   9   byte   Cards played from the Stock
+ *   10  byte   Cards played from the Hand
+ *   11  byte   Cards played from the Discard Piles
+ *   12  byte   Stock left
+ *   13  byte   Hand left
+ *   14  byte   the discard's Move code, or -1 if the turn didn't end with one
+ *   15  byte   deck left, unsigned
+ *   16  byte[MAX_PLAYS]  the Move code of each play, in the order they were made, then -1 for the rest
+ * </pre>
+ * A turn with more than MAX_PLAYS plays only keeps the codes of the first MAX_PLAYS, though the counts above
+ * 	still include every play. Turns that long are very rare.
+ * Games played on several threads should each encode their turns into their own buffer with encodeTurn(),
+ * 	then append() the whole game at once, so that each game's records stay together.
+ *
+ * @author Anna Heebsh
+ */
+public class GameArchiveWriter implements Closeable {
+
+	/*"SKBA"*/
+	public static final int MAGIC = 0x534B4241;
+
+	/*Bump this whenever the layout changes*/
+	public static final short VERSION = 2;
+
+	/*The size of the header and of every record, in bytes*/
+	public static final int RECORD_SIZE = 64;
+
+	/*Where each record's play codes start, and how many fit*/
+	static final int PLAYS_OFFSET = 16;
+	public static final int MAX_PLAYS = RECORD_SIZE - PLAYS_OFFSET;
+
+	/*How much of the file is mapped at once. A whole number of records.*/
+	static final int WINDOW_SIZE = RECORD_SIZE * 65536;
+
+	private final FileChannel channel;
+	private MappedByteBuffer window;
+	private long windowStart;
+	private long recordCount;
+
+
+	/**
+	 * Constructor. Creates the file, replacing anything already there.
+	 * @param path the file
+	 * @throws IOException if the file can't be created
+	 */
+	public GameArchiveWriter(Path path) throws IOException {
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		windowStart = RECORD_SIZE;
+		window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart, WINDOW_SIZE);
+	}
+
+
+	/**
+	 * Encodes the turn that was just played as one record
+	 * @param game the game number to file it under
+	 * @param afterTurn the game, just after the turn. Not changed.
+	 * @param out where to put the record. Needs RECORD_SIZE bytes remaining.
+	 */
+	public static void encodeTurn(int game, SkipBoGameModel afterTurn, ByteBuffer out) {
+		boolean won = afterTurn.hasWinner();
+		List<TurnAction> actions = won ? afterTurn.getTurnActions() : afterTurn.getLastTurnActions();
+		// The turn doesn't move on once the game is won
+		int turn = won ? afterTurn.getTurn() : afterTurn.getTurn() - 1;
+		Player player = afterTurn.getPlayer(turn % 2);
+		// The plays are put straight into their slots, and the totals in front of them once they are counted
+		int start = out.position();
+
+		int drawn = 0;
+		int fromStock = 0;
+		int fromHand = 0;
+		int fromDiscard = 0;
+		int discard = -1;
+		for(TurnAction action : actions) {
+			switch(action.getType()) {
+				case DRAW:
+					drawn += action.getDrawn().size();
+					break;
+				case DISCARD:
+					discard = action.getMove().getCode();
+					break;
+				default:
+					int played = fromStock + fromHand + fromDiscard;
+					if(played < MAX_PLAYS) {
+						out.put(start + PLAYS_OFFSET + played, (byte) action.getMove().getCode());
+					}
+					switch(action.getMove().getSource()) {
+						case STOCK:
+							fromStock++;
+							break;
+						case HAND:
+							fromHand++;
+							break;
+						default:
+							fromDiscard++;
+					}
+			}
+		}
+
+		out.putInt(game);
+		out.putShort((short) turn);
+		out.put((byte) (turn % 2));
+		out.put(won ? (byte) 1 : (byte) 0);
+		out.put((byte) drawn);
+		out.put((byte) fromStock);
+		out.put((byte) fromHand);
+		out.put((byte) fromDiscard);
+		out.put((byte) player.stockPile.size());
+		out.put((byte) player.hand.size());
+		out.put((byte) discard);
+		out.put((byte) afterTurn.getDrawPile().size());
+		out.position(start + PLAYS_OFFSET + Math.min(fromStock + fromHand + fromDiscard, MAX_PLAYS));
+		while(out.position() < start + RECORD_SIZE) {
+			out.put((byte) -1);
+		}
+	}
+
+
+	/**
+	 * Records the turn that was just played
+	 * @param game the game number to file it under
+	 * @param afterTurn the game, just after the turn. Not changed.
+	 * @throws IOException if the file can't be grown
+	 */
+	public synchronized void recordTurn(int game, SkipBoGameModel afterTurn) throws IOException {
+		if(!window.hasRemaining()) {
+			moveWindow();
+		}
+		encodeTurn(game, afterTurn, window);
+		recordCount++;
+	}
+
+
+	/**
+	 * Adds records that were encoded somewhere else, such as a whole game's turns
+	 * @param records whole records, from the buffer's position to its limit
+	 * @throws IOException if the file can't be grown
+	 * @throws RuntimeException if the buffer doesn't hold a whole number of records
+	 */
+	public synchronized void append(ByteBuffer records) throws IOException, RuntimeException {
+		if(records.remaining() % RECORD_SIZE != 0) {
+			throw new RuntimeException("Archive records must be " + RECORD_SIZE + " bytes each.");
+		}
+		recordCount += records.remaining() / RECORD_SIZE;
+		while(records.hasRemaining()) {
+			if(!window.hasRemaining()) {
+				moveWindow();
+			}
+			// The window always ends on a record boundary, so a record never straddles two windows
+			int bytes = Math.min(records.remaining(), window.remaining());
+			ByteBuffer chunk = records.duplicate();
+			chunk.limit(chunk.position() + bytes);
+			window.put(chunk);
+			records.position(records.position() + bytes);
+		}
+	}
+
+
+	/**
+	 * Maps the next part of the file once the current window is full
+	 * @throws IOException if the file can't be grown
+	 */
+	private void moveWindow() throws IOException {
+		windowStart += window.position();
+		window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart, WINDOW_SIZE);
+	}
+
+
+	/**
+	 * Gets the number of records written so far
+	 * @return the count
+	 */
+	public synchronized long getRecordCount() {
+		return recordCount;
+	}
+
+
+	/**
+	 * Writes the header, and cuts the file down to just the records written
+	 * @throws IOException if the file can't be written
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		try {
+			ByteBuffer header = ByteBuffer.allocate(RECORD_SIZE);
+			header.putInt(MAGIC);
+			header.putShort(VERSION);
+			header.putShort((short) RECORD_SIZE);
+			header.putLong(recordCount);
+			header.flip();
+			while(header.hasRemaining()) {
+				channel.write(header, header.position());
+			}
+			window.force();
+			try {
+				channel.truncate(RECORD_SIZE + recordCount * RECORD_SIZE);
+			} catch (IOException e) {
+				// Some systems won't shrink a file that's still mapped. The header says where the records end anyway.
+			}
+		} finally {
+			channel.close();
+		}
+	}
+}
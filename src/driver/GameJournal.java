@@ -0,0 +1,346 @@
+package driver;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import components.Card;
+import components.Move;
+import components.TurnAction;
+
+/**
+ * An append-only record of one game, turn by turn, that can rebuild the game as it was at the start of any turn.
+ * Each turn is written as the draws, plays, and discard the player made, a few bytes each.
+ * A GameSnapshot is written at the start of the game and every few turns after, so a replay only has to
+ * 	play forward from the nearest one.
+ * The only randomness in a turn is when the deck is reshuffled, and that can't be played back,
+ * 	so the journal also writes a snapshot after any turn where that happened.
+ * <pre>
+ * int    magic number, "SKBJ"
+ * short  format version
+ * then records, each starting with a byte tag:
+ *   SNAPSHOT  int length, then a GameSnapshot
+ *   DRAW      byte count, then the Cards drawn
+ *   PLAY      byte Move code
+ *   DISCARD   byte Move code
+ *   END_TURN  int the game's turn once the turn is over
+ * </pre>
+ * Records are gathered in a buffer and written to the file when it fills, or on flush() or close().
+ *
+ * @author Anna Heebsh
+ */
+public class GameJournal implements Closeable {
+
+	/*"SKBJ"*/
+	public static final int MAGIC = 0x534B424A;
+
+	/*Bump this whenever the layout changes*/
+	public static final short VERSION = 1;
+
+	/*Often enough that a replay never plays more than a few turns, rarely enough that snapshots stay a small part of the file*/
+	public static final int DEFAULT_SNAPSHOT_INTERVAL = 20;
+
+	// Record tags
+	private static final byte SNAPSHOT = 1;
+	private static final byte DRAW = 2;
+	private static final byte PLAY = 3;
+	private static final byte DISCARD = 4;
+	private static final byte END_TURN = 5;
+
+	/*Where the turn number and flags sit in a GameSnapshot: after the magic number, version, and id*/
+	private static final int SNAPSHOT_TURN_OFFSET = 4 + 2 + 4;
+	private static final int SNAPSHOT_FLAGS_OFFSET = SNAPSHOT_TURN_OFFSET + 4;
+
+	private static final Card[] CARDS = Card.values();
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(8192);
+	private final int snapshotInterval;
+
+	/*The deck size as of the last record, to tell when the deck has been reshuffled*/
+	private int deckSize;
+
+
+	/**
+	 * Constructor. Creates the file, replacing anything already there,
+	 * 	and snapshots every DEFAULT_SNAPSHOT_INTERVAL turns.
+	 * @param path the file
+	 * @throws IOException if the file can't be created
+	 */
+	public GameJournal(Path path) throws IOException {
+		this(path, DEFAULT_SNAPSHOT_INTERVAL);
+	}
+
+
+	/**
+	 * Constructor. Creates the file, replacing anything already there.
+	 * @param path the file
+	 * @param snapshotInterval how many turns apart the regular snapshots are
+	 * @throws IOException if the file can't be created
+	 * @throws RuntimeException if the interval isn't positive
+	 */
+	public GameJournal(Path path, int snapshotInterval) throws IOException, RuntimeException {
+		if(snapshotInterval < 1) {
+			throw new RuntimeException("Snapshots must be at least 1 turn apart.");
+		}
+		this.snapshotInterval = snapshotInterval;
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE);
+		buffer.putInt(MAGIC);
+		buffer.putShort(VERSION);
+	}
+
+
+	/**
+	 * Records the game as it is at the start, or wherever the journal is picking it up
+	 * @param game the game. Not changed.
+	 * @throws IOException if the file can't be written
+	 */
+	public void start(SkipBoGameModel game) throws IOException {
+		writeSnapshot(game);
+	}
+
+
+	/**
+	 * Records the turn that was just played. Call this once after every turn, including the one that wins the game.
+	 * @param game the game, just after the turn. Not changed.
+	 * @throws IOException if the file can't be written
+	 */
+	public void endTurn(SkipBoGameModel game) throws IOException {
+		List<TurnAction> actions = game.hasWinner() ? game.getTurnActions() : game.getLastTurnActions();
+		int drawn = 0;
+		for(TurnAction action : actions) {
+			switch(action.getType()) {
+				case DRAW:
+					reserve(2 + action.getDrawn().size());
+					buffer.put(DRAW);
+					buffer.put((byte) action.getDrawn().size());
+					for(Card card : action.getDrawn()) {
+						buffer.put((byte) card.ordinal());
+					}
+					drawn += action.getDrawn().size();
+					break;
+				case PLAY:
+					reserve(2);
+					buffer.put(PLAY);
+					buffer.put((byte) action.getMove().getCode());
+					break;
+				default:
+					reserve(2);
+					buffer.put(DISCARD);
+					buffer.put((byte) action.getMove().getCode());
+			}
+		}
+		reserve(5);
+		buffer.put(END_TURN);
+		buffer.putInt(game.getTurn());
+
+		// If the deck was reshuffled, playing this turn back would draw different Cards from here on
+		boolean reshuffled = deckSize - drawn != game.getDrawPile().size();
+		if(reshuffled || !game.hasWinner() && game.getTurn() % snapshotInterval == 0) {
+			writeSnapshot(game);
+		} else {
+			deckSize = game.getDrawPile().size();
+		}
+	}
+
+
+	/**
+	 * Writes a snapshot record
+	 * @param game the game to snapshot
+	 * @throws IOException if the file can't be written
+	 */
+	private void writeSnapshot(SkipBoGameModel game) throws IOException {
+		int size = GameSnapshot.sizeOf(game);
+		reserve(5 + size);
+		buffer.put(SNAPSHOT);
+		buffer.putInt(size);
+		GameSnapshot.write(game, buffer);
+		deckSize = game.getDrawPile().size();
+	}
+
+
+	/**
+	 * Makes room in the buffer, writing it out if it's too full
+	 * @param bytes how many bytes are about to be added
+	 * @throws IOException if the file can't be written
+	 */
+	private void reserve(int bytes) throws IOException {
+		if(buffer.remaining() < bytes) {
+			flush();
+		}
+		if(buffer.remaining() < bytes) {
+			throw new RuntimeException("Journal record too big: " + bytes + " bytes.");
+		}
+	}
+
+
+	/**
+	 * Writes everything recorded so far out to the file
+	 * @throws IOException if the file can't be written
+	 */
+	public void flush() throws IOException {
+		buffer.flip();
+		while(buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			channel.close();
+		}
+	}
+
+
+	/**
+	 * Rebuilds a game from its journal file
+	 * @param path the journal file
+	 * @param turn the turn to rebuild the game to the start of
+	 * @return the game at the start of that turn, or as far as the journal goes if it ends sooner
+	 * @throws IOException if the file can't be read
+	 * @throws RuntimeException if the file isn't a journal, or doesn't match the game it rebuilds
+	 */
+	public static SkipBoGameModel replay(Path path, int turn) throws IOException, RuntimeException {
+		try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+			if(in.size() > Integer.MAX_VALUE) {
+				throw new RuntimeException("Not a Skip-Bo journal.");
+			}
+			ByteBuffer journal = ByteBuffer.allocate((int) in.size());
+			while(journal.hasRemaining()) {
+				if(in.read(journal) < 0) {
+					break;
+				}
+			}
+			journal.flip();
+			return replay(journal, turn);
+		}
+	}
+
+
+	/**
+	 * Rebuilds a game from a journal, starting from the last snapshot before the turn and playing forward.
+	 * The rebuilt game gets a fresh source of randomness, like any restored snapshot.
+	 * If the journal was cut off partway through a record, such as by a crash, it is read up to that record.
+	 * @param journal the journal, from its position to its limit. Its position isn't moved.
+	 * @param turn the turn to rebuild the game to the start of
+	 * @return the game at the start of that turn, or as far as the journal goes if it ends sooner
+	 * @throws RuntimeException if the journal is corrupt, or doesn't match the game it rebuilds
+	 */
+	public static SkipBoGameModel replay(ByteBuffer journal, int turn) throws RuntimeException {
+		ByteBuffer in = journal.duplicate();
+		if(in.remaining() < 6 || in.getInt() != MAGIC) {
+			throw new RuntimeException("Not a Skip-Bo journal.");
+		}
+		short version = in.getShort();
+		if(version != VERSION) {
+			throw new RuntimeException("Can't read version " + version + " journals.");
+		}
+
+		// Find the last snapshot from before the turn, and where the last whole record ends
+		int start = -1;
+		int end = in.position();
+		try {
+			while(in.hasRemaining()) {
+				int position = in.position();
+				byte tag = in.get();
+				skipRecord(tag, in);
+				if(tag == SNAPSHOT) {
+					// The turn doesn't move on once the game is won, but the game is past the start of it
+					int snapshotTurn = in.getInt(position + 5 + SNAPSHOT_TURN_OFFSET);
+					if((in.get(position + 5 + SNAPSHOT_FLAGS_OFFSET) & 2) != 0) {
+						snapshotTurn++;
+					}
+					if(snapshotTurn <= turn) {
+						start = position;
+					}
+				}
+				end = in.position();
+			}
+		} catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+			// Cut off partway through the last record
+		}
+		if(start < 0) {
+			throw new RuntimeException("The journal has no snapshot from before turn " + turn + ".");
+		}
+
+		// Then play forward from it
+		in.limit(end);
+		in.position(start + 1 + 4);
+		SkipBoGameModel game = GameSnapshot.read(in, new SplittableRandom());
+		while(in.hasRemaining() && game.getTurn() < turn && !game.hasWinner()) {
+			byte tag = in.get();
+			switch(tag) {
+				case DRAW:
+					game.drawCards();
+					List<TurnAction> actions = game.getTurnActions();
+					List<Card> drawn = actions.get(actions.size() - 1).getDrawn();
+					int count = in.get();
+					boolean matches = drawn.size() == count;
+					for(int i = 0; i < count; i++) {
+						int ordinal = in.get();
+						matches &= ordinal >= 0 && ordinal < CARDS.length && i < drawn.size() &&
+								drawn.get(i) == CARDS[ordinal];
+					}
+					if(!matches) {
+						throw new RuntimeException("The journal doesn't match the game on turn " + game.getTurn() + ".");
+					}
+					break;
+				case PLAY:
+					game.play(Move.fromCode(in.get() & 0xFF));
+					break;
+				case DISCARD:
+					game.discard(Move.fromCode(in.get() & 0xFF));
+					break;
+				case END_TURN:
+					if(in.getInt() != game.getTurn()) {
+						throw new RuntimeException("The journal doesn't match the game on turn " + game.getTurn() + ".");
+					}
+					break;
+				default:
+					skipRecord(tag, in);
+			}
+		}
+		return game;
+	}
+
+
+	/**
+	 * Moves past one record without acting on it
+	 * @param tag the record's tag, already read
+	 * @param in the journal, just past the tag
+	 * @throws RuntimeException if the tag isn't a record tag
+	 */
+	private static void skipRecord(byte tag, ByteBuffer in) throws RuntimeException {
+		switch(tag) {
+			case SNAPSHOT:
+				int size = in.getInt();
+				in.position(in.position() + size);
+				break;
+			case DRAW:
+				int count = in.get();
+				in.position(in.position() + count);
+				break;
+			case PLAY:
+			case DISCARD:
+				in.get();
+				break;
+			case END_TURN:
+				in.getInt();
+				break;
+			default:
+				throw new RuntimeException("Corrupt journal: " + tag + " is not a record.");
+		}
+	}
+}
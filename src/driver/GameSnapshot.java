@@ -0,0 +1,350 @@
+package driver;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+import components.Card;
+import components.CardStack;
+import components.gameCollections.ClearedPile;
+import components.gameCollections.DrawPile;
+import components.gameCollections.FoundationPile;
+import components.playerCollections.DiscardPile;
+import components.playerCollections.StockPile;
+import users.Player;
+import users.PlayerAI;
+import users.PlayerColor;
+import users.PlayerType;
+
+/**
+ * Reads and writes whole games in a compact binary format, so a game can be saved and picked up later.
+ * Every Card is one byte, its ordinal in Card, and every pile is written bottom first.
+ * <pre>
+ * int    magic number, "SKBO"
+ * short  format version
+ * int    game id
+ * int    turn
+ * byte   flags: 1 = the initial draw is done, 2 = there is a winner
+ * short  deck size, then its Cards
+ * short  cleared pile size, then its Cards
+ * 4 x    byte Foundation size, then its Cards
+ * 2 x    player:
+ *          byte   PlayerType ordinal
+ *          byte   PlayerColor ordinal, or -1 for none
+ *          short  name length in bytes, then the name in UTF-8
+ *          byte   Stock size, then its Cards
+ *          byte   Hand size, then its Cards
+ *          4 x    short Discard Pile size, then its Cards
+ * </pre>
+ * The game's random stream, its listeners, its turn history, and any AI settings aren't part of a snapshot.
+ * A restored game gets a fresh random source unless one is passed in, and its AI players start with their defaults.
+ *
+ * @author Anna Heebsh
+ */
+public final class GameSnapshot {
+
+	/*"SKBO", so other files are turned away before anything is read from them*/
+	public static final int MAGIC = 0x534B424F;
+
+	/*Bump this whenever the layout changes*/
+	public static final short VERSION = 1;
+
+	/*Every Card, by ordinal*/
+	private static final Card[] CARDS = Card.values();
+
+	/*Most Cards a Hand can hold*/
+	private static final int HAND_CAP = 5;
+
+
+	/**
+	 * No instances. Everything here is static.
+	 */
+	private GameSnapshot() {
+	}
+
+
+	/**
+	 * Works out how many bytes a game's snapshot takes up
+	 * @param game the game
+	 * @return the size, in bytes
+	 */
+	public static int sizeOf(SkipBoGameModel game) {
+		int size = 4 + 2 + 4 + 4 + 1;
+		size += 2 + game.getDrawPile().size();
+		size += 2 + game.getClearedPile().size();
+		for(FoundationPile foundation : game.getFoundationPiles()) {
+			size += 1 + foundation.getFoundationPile().size();
+		}
+		for(int p = 0; p < 2; p++) {
+			Player player = game.getPlayer(p);
+			size += 1 + 1;
+			size += 2 + player.getName().getBytes(StandardCharsets.UTF_8).length;
+			size += 1 + player.stockPile.size();
+			size += 1 + player.hand.size();
+			for(DiscardPile discard : player.discardPiles) {
+				size += 2 + discard.size();
+			}
+		}
+		return size;
+	}
+
+
+	/**
+	 * Writes a game into a buffer, starting at the buffer's position and moving it past the snapshot.
+	 * The buffer can be heap, direct, or mapped; nothing is copied on the way in.
+	 * @param game the game to write. Not changed.
+	 * @param buffer where to write it. Needs at least sizeOf(game) bytes remaining.
+	 * @throws java.nio.BufferOverflowException if the buffer is too small
+	 */
+	public static void write(SkipBoGameModel game, ByteBuffer buffer) {
+		buffer.putInt(MAGIC);
+		buffer.putShort(VERSION);
+		buffer.putInt(game.getId());
+		buffer.putInt(game.getTurn());
+		byte flags = 0;
+		if(game.isInitialDrawDone()) {
+			flags |= 1;
+		}
+		if(game.isHasWinner()) {
+			flags |= 2;
+		}
+		buffer.put(flags);
+
+		DrawPile drawPile = game.getDrawPile();
+		buffer.putShort((short) drawPile.size());
+		for(int i = 0; i < drawPile.size(); i++) {
+			buffer.put((byte) drawPile.getCardAt(i).ordinal());
+		}
+
+		ArrayList<Card> cleared = game.getClearedPile().getAll();
+		buffer.putShort((short) cleared.size());
+		for(Card card : cleared) {
+			buffer.put((byte) card.ordinal());
+		}
+
+		for(FoundationPile foundation : game.getFoundationPiles()) {
+			writeStack(foundation.getFoundationPile(), buffer, false);
+		}
+
+		for(int p = 0; p < 2; p++) {
+			Player player = game.getPlayer(p);
+			buffer.put((byte) player.getPlayerType().ordinal());
+			buffer.put(player.getColor() == null ? (byte) -1 : (byte) player.getColor().ordinal());
+			byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+			buffer.putShort((short) name.length);
+			buffer.put(name);
+
+			writeStack(player.stockPile.getStockPile(), buffer, false);
+
+			ArrayList<Card> hand = player.hand.getHand();
+			buffer.put((byte) hand.size());
+			for(Card card : hand) {
+				buffer.put((byte) card.ordinal());
+			}
+
+			for(DiscardPile discard : player.discardPiles) {
+				writeStack(discard.getDiscardPile(), buffer, true);
+			}
+		}
+	}
+
+
+	/**
+	 * Writes one pile, bottom first
+	 * @param stack the pile
+	 * @param buffer where to write it
+	 * @param wide true to write the size as a short rather than a byte
+	 */
+	private static void writeStack(CardStack stack, ByteBuffer buffer, boolean wide) {
+		if(wide) {
+			buffer.putShort((short) stack.size());
+		} else {
+			buffer.put((byte) stack.size());
+		}
+		for(int i = 0; i < stack.size(); i++) {
+			buffer.put((byte) stack.get(i).ordinal());
+		}
+	}
+
+
+	/**
+	 * Reads a game from a buffer, starting at the buffer's position and moving it past the snapshot.
+	 * The restored game gets a fresh source of randomness.
+	 * @param buffer where to read it from
+	 * @return the game
+	 * @throws RuntimeException if the buffer doesn't hold a snapshot this version can read
+	 */
+	public static SkipBoGameModel read(ByteBuffer buffer) throws RuntimeException {
+		return read(buffer, new SplittableRandom());
+	}
+
+
+	/**
+	 * Reads a game from a buffer, starting at the buffer's position and moving it past the snapshot.
+	 * @param buffer where to read it from
+	 * @param random the source of randomness for the rest of the restored game
+	 * @return the game
+	 * @throws RuntimeException if the buffer doesn't hold a snapshot this version can read
+	 */
+	public static SkipBoGameModel read(ByteBuffer buffer, SplittableRandom random) throws RuntimeException {
+		try {
+			if(buffer.getInt() != MAGIC) {
+				throw new RuntimeException("Not a Skip-Bo save.");
+			}
+			short version = buffer.getShort();
+			if(version != VERSION) {
+				throw new RuntimeException("Can't read version " + version + " saves.");
+			}
+			int id = buffer.getInt();
+			int turn = buffer.getInt();
+			byte flags = buffer.get();
+
+			int deckSize = readSize(buffer, true, DrawPile.DECK_SIZE, "Draw Pile");
+			ArrayList<Card> deck = new ArrayList<Card>(deckSize);
+			for(int i = 0; i < deckSize; i++) {
+				deck.add(readCard(buffer));
+			}
+			DrawPile drawPile = new DrawPile(deck);
+
+			int clearedSize = readSize(buffer, true, DrawPile.DECK_SIZE, "Cleared Pile");
+			ArrayList<Card> cleared = new ArrayList<Card>(clearedSize);
+			for(int i = 0; i < clearedSize; i++) {
+				cleared.add(readCard(buffer));
+			}
+			ClearedPile clearedPile = new ClearedPile(cleared);
+
+			FoundationPile[] foundationPiles = new FoundationPile[4];
+			for(int f = 0; f < 4; f++) {
+				foundationPiles[f] = new FoundationPile((f+1) + "");
+				int size = readSize(buffer, false, FoundationPile.CAPACITY, "Foundation Pile");
+				for(int i = 0; i < size; i++) {
+					foundationPiles[f].push(readCard(buffer));
+				}
+			}
+
+			Player[] players = new Player[2];
+			for(int p = 0; p < 2; p++) {
+				int type = buffer.get();
+				int color = buffer.get();
+				if(type < 0 || type >= PlayerType.values().length || color < -1 ||
+						color >= PlayerColor.values().length) {
+					throw new RuntimeException("Corrupt snapshot: bad player.");
+				}
+				byte[] nameBytes = new byte[buffer.getShort() & 0xFFFF];
+				buffer.get(nameBytes);
+				String name = new String(nameBytes, StandardCharsets.UTF_8);
+				PlayerColor playerColor = color < 0 ? null : PlayerColor.values()[color];
+				if(PlayerType.values()[type].equals(PlayerType.HUMAN)) {
+					players[p] = new Player(name, playerColor);
+				} else {
+					players[p] = new PlayerAI(name, playerColor);
+				}
+
+				int stockSize = readSize(buffer, false, StockPile.CAPACITY, "Stock Pile");
+				for(int i = 0; i < stockSize; i++) {
+					players[p].addToStock(readCard(buffer));
+				}
+				int handSize = readSize(buffer, false, HAND_CAP, "Hand");
+				for(int i = 0; i < handSize; i++) {
+					players[p].addToHand(readCard(buffer));
+				}
+				for(DiscardPile discard : players[p].discardPiles) {
+					int size = readSize(buffer, true, DiscardPile.CAPACITY, "Discard Pile");
+					for(int i = 0; i < size; i++) {
+						discard.push(readCard(buffer));
+					}
+				}
+			}
+
+			return new SkipBoGameModel(id, turn, (flags & 1) != 0, (flags & 2) != 0, drawPile, clearedPile,
+					foundationPiles, players, random);
+		} catch (BufferUnderflowException e) {
+			throw new RuntimeException("Corrupt snapshot: it ends too soon.", e);
+		} catch (IllegalArgumentException e) {
+			throw new RuntimeException("Corrupt snapshot: bad pile size.", e);
+		}
+	}
+
+
+	/**
+	 * Reads a pile's size, written as an unsigned byte or short
+	 * @param buffer where to read it from
+	 * @param wide true if the size is a short rather than a byte
+	 * @param capacity the most Cards the pile can hold
+	 * @param pile the pile's name, for the error message
+	 * @return the size
+	 * @throws RuntimeException if the size is more than the pile can hold
+	 */
+	private static int readSize(ByteBuffer buffer, boolean wide, int capacity, String pile) throws RuntimeException {
+		int size = wide ? buffer.getShort() & 0xFFFF : buffer.get() & 0xFF;
+		if(size > capacity) {
+			throw new RuntimeException("Corrupt snapshot: a " + pile + " can't hold " + size + " Cards.");
+		}
+		return size;
+	}
+
+
+	/**
+	 * Reads one Card
+	 * @param buffer where to read it from
+	 * @return the Card
+	 * @throws RuntimeException if the byte isn't a Card
+	 */
+	private static Card readCard(ByteBuffer buffer) throws RuntimeException {
+		int ordinal = buffer.get();
+		if(ordinal < 0 || ordinal >= CARDS.length) {
+			throw new RuntimeException("Corrupt snapshot: " + ordinal + " is not a card.");
+		}
+		return CARDS[ordinal];
+	}
+
+
+	/**
+	 * Saves a game to a file, replacing anything already there
+	 * @param game the game to save. Not changed.
+	 * @param path the file
+	 * @throws IOException if the file can't be written
+	 */
+	public static void save(SkipBoGameModel game, Path path) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(sizeOf(game));
+		write(game, buffer);
+		buffer.flip();
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			while(buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+	}
+
+
+	/**
+	 * Loads a game from a file
+	 * @param path the file
+	 * @return the game, with a fresh source of randomness
+	 * @throws IOException if the file can't be read
+	 * @throws RuntimeException if the file isn't a save this version can read
+	 */
+	public static SkipBoGameModel load(Path path) throws IOException, RuntimeException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if(size > Integer.MAX_VALUE) {
+				throw new RuntimeException("Not a Skip-Bo save.");
+			}
+			ByteBuffer buffer = ByteBuffer.allocate((int) size);
+			while(buffer.hasRemaining()) {
+				if(channel.read(buffer) < 0) {
+					break;
+				}
+			}
+			buffer.flip();
+			return read(buffer);
+		}
+	}
+}
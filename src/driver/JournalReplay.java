@@ -0,0 +1,51 @@
+package driver;
+
+import java.nio.file.Path;
+
+/**
+ * Command-line tool that rebuilds a game from its GameJournal, such as one written by the SimulationRunner.
+ * It prints the game as it was at the start of a turn. Asked to play, it also has the current player take
+ * 	that turn again and times it, which is how a slow AI turn can be looked at on its own.
+ * The rebuilt game doesn't have the original random stream, so an AI whose search had to guess at draws
+ * 	may not make the same choices it did the first time. The tool says whether it did.
+ *
+ * Usage: JournalReplay journal [turn] [play]
+ *
+ * @author Anna Heebsh
+ */
+public class JournalReplay {
+
+
+	/**
+	 * Main method
+	 * @param args journal [turn] [play]
+	 */
+	public static void main(String[] args) throws Exception {
+		if(args.length < 1) {
+			System.out.println("Usage: JournalReplay journal [turn] [play]");
+			return;
+		}
+		Path path = Path.of(args[0]);
+		int turn = args.length > 1 ? Integer.parseInt(args[1]) : Integer.MAX_VALUE;
+		boolean play = args.length > 2 && args[2].equals("play");
+
+		SkipBoGameModel game = GameJournal.replay(path, turn);
+		System.out.println("Turn " + game.getTurn() + ":");
+		System.out.println(game);
+		if(!play || game.hasWinner()) {
+			return;
+		}
+
+		long start = System.nanoTime();
+		SkipBoGameModel after = game.takeTurn();
+		long elapsed = System.nanoTime() - start;
+		System.out.println(game.currentPlayer().getName() + " took " + (elapsed / 1_000_000) + " ms: " +
+				(after.hasWinner() ? after.getTurnActions() : after.getLastTurnActions()));
+
+		if(after.equals(GameJournal.replay(path, game.getTurn() + 1))) {
+			System.out.println("Same as the journal.");
+		} else {
+			System.out.println("Played differently than the journal.");
+		}
+	}
+}
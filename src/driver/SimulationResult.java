@@ -0,0 +1,193 @@
+package driver;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+/**
+ * Totals from a batch of headless AI v. AI games, as played by the SimulationRunner.
+ * 
+ * @author Anna Heebsh
+ */
+public class SimulationResult {
+	
+	private int games;
+	private int finishedGames;
+	private int unfinishedGames;
+	private int failedGames;
+	private int[] wins = new int[2];
+	private long totalTurns;
+	private long elapsedNanos;
+	/*The first game that failed, in batch order, so it can be played again from its seed*/
+	private int firstFailedGame = -1;
+	private long firstFailedSeed;
+	private Throwable firstFailure;
+	
+	
+	/**
+	 * Records a game that ended with a winner.
+	 * @param winner which AI won (0 or 1)
+	 * @param turns how many turns the game took
+	 */
+	public void addFinishedGame(int winner, int turns) {
+		games++;
+		finishedGames++;
+		wins[winner]++;
+		totalTurns += turns;
+	}
+	
+	
+	/**
+	 * Records a game that hit the turn limit without a winner.
+	 * @param turns how many turns were played
+	 */
+	public void addUnfinishedGame(int turns) {
+		games++;
+		unfinishedGames++;
+	}
+	
+	
+	/**
+	 * Records a game that stopped because of an error. The first one recorded is kept, with its cause.
+	 * @param game the game's number in the batch
+	 * @param seed the game's seed, which plays it again
+	 * @param cause what stopped it
+	 */
+	public void addFailedGame(int game, long seed, Throwable cause) {
+		games++;
+		failedGames++;
+		if(firstFailure == null) {
+			firstFailedGame = game;
+			firstFailedSeed = seed;
+			firstFailure = cause;
+		}
+	}
+	
+	
+	/**
+	 * Sets how long the whole batch took.
+	 * @param elapsedNanos the wall-clock time, in nanoseconds
+	 */
+	public void setElapsedNanos(long elapsedNanos) {
+		this.elapsedNanos = elapsedNanos;
+	}
+	
+	
+	/**
+	 * Gets the number of games played, finished or not
+	 * @return the number of games
+	 */
+	public int getGames() {
+		return games;
+	}
+	
+	
+	/**
+	 * Gets the number of games that ended with a winner
+	 * @return the number of finished games
+	 */
+	public int getFinishedGames() {
+		return finishedGames;
+	}
+	
+	
+	/**
+	 * Gets the number of games that hit the turn limit
+	 * @return the number of unfinished games
+	 */
+	public int getUnfinishedGames() {
+		return unfinishedGames;
+	}
+	
+	
+	/**
+	 * Gets the number of games that stopped because of an error
+	 * @return the number of failed games
+	 */
+	public int getFailedGames() {
+		return failedGames;
+	}
+	
+	
+	/**
+	 * Gets the number of the first game that failed
+	 * @return the game's number in the batch, or -1 if none failed
+	 */
+	public int getFirstFailedGame() {
+		return firstFailedGame;
+	}
+
+
+	/**
+	 * Gets the seed of the first game that failed, which SimulationRunner.playGame can play again
+	 * @return the seed. Meaningless if no game failed.
+	 */
+	public long getFirstFailedSeed() {
+		return firstFailedSeed;
+	}
+
+
+	/**
+	 * Gets what stopped the first game that failed
+	 * @return the cause, or null if none failed
+	 */
+	public Throwable getFirstFailure() {
+		return firstFailure;
+	}
+	
+	
+	/**
+	 * Gets the number of games per second of wall-clock time
+	 * @return games per second
+	 */
+	public double getGamesPerSecond() {
+		if(elapsedNanos == 0) {
+			return 0;
+		}
+		return games / (elapsedNanos / 1e9);
+	}
+	
+	
+	/**
+	 * Gets the average number of turns in a finished game
+	 * @return the average turns
+	 */
+	public double getAverageTurns() {
+		if(finishedGames == 0) {
+			return 0;
+		}
+		return (double) totalTurns / finishedGames;
+	}
+	
+	
+	/**
+	 * Gets the fraction of finished games a particular AI won
+	 * @param ai which AI (0 or 1)
+	 * @return the win rate, from 0 to 1
+	 */
+	public double getWinRate(int ai) {
+		if(finishedGames == 0) {
+			return 0;
+		}
+		return (double) wins[ai] / finishedGames;
+	}
+	
+	
+	@Override
+	public String toString() {
+		String totals = String.format("Games: %d (%d finished, %d hit the turn limit, %d failed)%n" + 
+				"Time: %.2f s, %.1f games/sec%n" + 
+				"Average turns: %.1f%n" + 
+				"Win rates: AI 1 %.1f%%, AI 2 %.1f%%", 
+				games, finishedGames, unfinishedGames, failedGames, 
+				elapsedNanos / 1e9, getGamesPerSecond(), 
+				getAverageTurns(), 
+				getWinRate(0) * 100, getWinRate(1) * 100);
+		if(firstFailure == null) {
+			return totals;
+		}
+		StringWriter trace = new StringWriter();
+		firstFailure.printStackTrace(new PrintWriter(trace));
+		return totals + String.format("%nFirst failure: game %d, seed %d%n%s", firstFailedGame, firstFailedSeed, trace)
+				.stripTrailing();
+	}
+}
@@ -0,0 +1,233 @@
+package driver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import users.AIService;
+import users.PlayerColor;
+import users.PlayerType;
+
+/**
+ * Headless driver that plays complete AI v. AI games, without the console or the JavaFX app.
+ * Games run on a thread pool, and each one gets its own seed from the batch seed, 
+ * so running a batch again with the same seed deals and plays exactly the same games.
+ * 
+ * If given a journal folder, every game is also written there as a GameJournal, named for its seed, 
+ * 	so any turn of it can be replayed later with the JournalReplay tool.
+ * If given an archive file, every turn of every game is also summed up there for the GameArchiveReader.
+ * 
+ * Usage: SimulationRunner [games] [threads] [seed] [stock length] [journal folder or -] [archive file]
+ * 
+ * @author Anna Heebsh
+ */
+public class SimulationRunner {
+	
+	/*Games that go on longer than this are given up on*/
+	public static final int MAX_TURNS = 2000;
+	
+	private static final String[] AI_NAMES = {"AI 1", "AI 2"};
+	
+	private final int games;
+	private final int threads;
+	private final long seed;
+	private final int gameLength;
+	private Path journalDir;
+	private Path archivePath;
+	/*Open while a batch with an archive is being played*/
+	private GameArchiveWriter archive;
+	/*If set, the AI turns are played here instead of on the games' own threads*/
+	private AIService aiService;
+	
+	
+	/**
+	 * Constructor
+	 * @param games how many games to play
+	 * @param threads how many games to play at once
+	 * @param seed the seed that every game's seed is taken from
+	 * @param gameLength the depth of the Stock, in Cards, at the start of each game
+	 */
+	public SimulationRunner(int games, int threads, long seed, int gameLength) {
+		this.games = games;
+		this.threads = threads;
+		this.seed = seed;
+		this.gameLength = gameLength;
+	}
+	
+	
+	/**
+	 * Main method
+	 * Runs a batch of games and prints the results.
+	 * @param args [games] [threads] [seed] [stock length] [journal folder or -] [archive file]
+	 */
+	public static void main(String[] args) throws InterruptedException, IOException {
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+		int gameLength = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+		
+		System.out.println("Playing " + games + " games on " + threads + " threads. Seed: " + seed);
+		SimulationRunner runner = new SimulationRunner(games, threads, seed, gameLength);
+		if(args.length > 4 && !args[4].equals("-")) {
+			runner.setJournalDir(Path.of(args[4]));
+		}
+		if(args.length > 5) {
+			runner.setArchivePath(Path.of(args[5]));
+		}
+		SimulationResult result = runner.run();
+		System.out.println(result);
+	}
+	
+	
+	/**
+	 * Sets where to write each game's journal
+	 * @param journalDir an existing folder, or null to not keep journals
+	 */
+	public void setJournalDir(Path journalDir) {
+		this.journalDir = journalDir;
+	}
+	
+	
+	/**
+	 * Sets where to write the archive of every turn
+	 * @param archivePath the archive file, or null to not keep an archive
+	 */
+	public void setArchivePath(Path archivePath) {
+		this.archivePath = archivePath;
+	}
+	
+	
+	/**
+	 * Sets where the AI turns are played. 
+	 * Handing a batch to an AIService that also serves people at tables keeps it from slowing their games down,
+	 * 	since its turns are queued behind theirs. Games still play out the same for the same seed.
+	 * @param aiService the service, or null to play turns on the games' own threads
+	 */
+	public void setAIService(AIService aiService) {
+		this.aiService = aiService;
+	}
+	
+	
+	/**
+	 * Plays the whole batch of games.
+	 * @return the totals for the batch
+	 * @throws InterruptedException if interrupted while waiting for games to finish
+	 * @throws IOException if the archive can't be written
+	 */
+	public SimulationResult run() throws InterruptedException, IOException {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		SplittableRandom seeds = new SplittableRandom(seed);
+		SimulationResult result = new SimulationResult();
+		long start = System.nanoTime();
+		
+		if(archivePath != null) {
+			archive = new GameArchiveWriter(archivePath);
+		}
+		try {
+			// Hand out every game's seed up front, so they don't depend on scheduling
+			ArrayList<Future<int[]>> outcomes = new ArrayList<Future<int[]>>();
+			long[] gameSeeds = new long[games];
+			for(int g = 0; g < games; g++) {
+				int gameNumber = g;
+				long gameSeed = seeds.nextLong();
+				gameSeeds[g] = gameSeed;
+				outcomes.add(pool.submit(() -> playGame(gameNumber, gameSeed)));
+			}
+			
+			for(int g = 0; g < games; g++) {
+				try {
+					int[] game = outcomes.get(g).get();
+					if(game[0] < 0) {
+						result.addUnfinishedGame(game[1]);
+					} else {
+						result.addFinishedGame(game[0], game[1]);
+					}
+				} catch (ExecutionException e) {
+					result.addFailedGame(g, gameSeeds[g], e.getCause());
+				}
+			}
+		} finally {
+			pool.shutdownNow();
+			if(archive != null) {
+				archive.close();
+				archive = null;
+			}
+		}
+		
+		result.setElapsedNanos(System.nanoTime() - start);
+		return result;
+	}
+	
+	
+	/**
+	 * Plays one complete game.
+	 * @param gameSeed the seed for this game. It decides which AI goes first, the deal, and every shuffle after it.
+	 * @return {the AI that won (0 or 1), or -1 if nobody won before MAX_TURNS; the number of turns}
+	 * @throws Exception if the game stopped because of an error
+	 */
+	public int[] playGame(long gameSeed) throws Exception {
+		return playGame(0, gameSeed);
+	}
+	
+	
+	/**
+	 * Plays one complete game.
+	 * @param gameNumber the game's number in the batch, which it is filed under in the archive
+	 * @param gameSeed the seed for this game. It decides which AI goes first, the deal, and every shuffle after it.
+	 * @return {the AI that won (0 or 1), or -1 if nobody won before MAX_TURNS; the number of turns}
+	 * @throws Exception if the game stopped because of an error
+	 */
+	public int[] playGame(int gameNumber, long gameSeed) throws Exception {
+		SplittableRandom random = new SplittableRandom(gameSeed);
+		int first = random.nextInt(2);
+		
+		SkipBoGameModel game = new SkipBoGameModel(AI_NAMES[first], PlayerColor.RED, PlayerType.AI, 
+				AI_NAMES[1 - first], PlayerColor.BLUE, PlayerType.AI, gameLength, random.split());
+		
+		GameJournal journal = null;
+		// This game's turns are kept together, and archived once the game is over
+		ByteBuffer turnRecords = archive == null ? null : ByteBuffer.allocate(MAX_TURNS * GameArchiveWriter.RECORD_SIZE);
+		int turns = 0;
+		try {
+			if(journalDir != null) {
+				journal = new GameJournal(journalDir.resolve("game-" + Long.toUnsignedString(gameSeed, 16) + ".journal"));
+				journal.start(game);
+			}
+			while(!game.hasWinner() && turns < MAX_TURNS) {
+				if(aiService == null) {
+					game = game.takeTurn();
+				} else {
+					game = aiService.takeTurn(game, AIService.Priority.BACKGROUND);
+				}
+				turns++;
+				if(journal != null) {
+					journal.endTurn(game);
+				}
+				if(turnRecords != null) {
+					GameArchiveWriter.encodeTurn(gameNumber, game, turnRecords);
+				}
+			}
+			if(turnRecords != null) {
+				turnRecords.flip();
+				archive.append(turnRecords);
+			}
+		} finally {
+			if(journal != null) {
+				journal.close();
+			}
+		}
+		
+		if(!game.hasWinner()) {
+			return new int[] {-1, turns};
+		}
+		// The turn doesn't move on once a game has been won, so the winner is the current player
+		int winner = game.getPlayerName(true).equals(AI_NAMES[0]) ? 0 : 1;
+		return new int[] {winner, turns};
+	}
+}
@@ -1,18 +1,33 @@
 package driver;
 
 import styles.Styles;
+import users.DefaultStrategy;
+import users.PlayerAI;
 import users.PlayerColor;
 import users.PlayerType;
+import users.SearchBudget;
 
 import resources.Instructions;
 
+import java.beans.IndexedPropertyChangeEvent;
+import java.io.File;
+import java.io.IOException;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import components.Card;
+import components.Move;
+import components.MoveSource;
+import components.TurnAction;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Application;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.geometry.Insets;
@@ -21,6 +36,7 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.Slider;
 import javafx.scene.control.Tab;
@@ -33,7 +49,9 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 
 /**
@@ -52,6 +70,9 @@ public class SkipBoFXApp extends Application implements PropertyChangeListener,
 	private final double yTotal = 28; // Total Y-dimension in ds
 	private final String imagePath = "/"; // In case Java lets me move the assets into a different folder.
 	
+	// AI CONSTANTS
+	private static final long AI_SEARCH_MILLIS = 500; // Longest any one AI search may keep the player waiting
+	
 	// DISPLAY ELEMENTS
 	// The root element, a tab pane
 	private TabPane root = new TabPane(); 
@@ -66,20 +87,45 @@ public class SkipBoFXApp extends Application implements PropertyChangeListener,
 	// The elements that live inside of the settings tab
 	private TextField stfP1Name, stfP2Name;
 	private Button submit;
+	private Button saveButton, loadButton;
 	private ComboBox<PlayerColor> scbP1Color, scbP2Color;
 	private ComboBox<PlayerType> scbP2Type;
 	public Slider slider;
-	// Stores the contents of the game tab
-	private HashMap<String, Button> gameButtons;
-	private HashMap<String, Label> gameLabels;
+	private Slider aiSpeedSlider;
+	// Stores the contents of the game tab, by the slot each one shows
+	private SlotRegistry<Button> cardButtons;
+	// The count under each pile. The Hand's is filed under its first slot.
+	private SlotRegistry<Label> countLabels;
+	// Each player's name, and the colored panels behind each side of the table
+	private EnumMap<TableSlot.Owner, Label> nameLabels;
+	private EnumMap<TableSlot.Owner, Label[]> panels;
 	private ScrollPane turnLogSidebar = new ScrollPane();
 	private VBox innerTurnLogSidebar = new VBox();
+	// Shown while the AI is taking its turn
+	private ProgressIndicator aiProgress;
+	private Label aiProgressLabel;
 
 	// GAMEPLAY VARIABLES
 	// The Skip Bo model tied to this application
 	private SkipBoGameModel game;
-	// Keeps track of the id of the card that is currently selected
-	private String selectedCard;
+	// Every Card picture, loaded once
+	private CardImages cardImages;
+	// Keeps track of the card that is currently selected, or null if none is
+	private TableSlot selectedSlot;
+	// The AI turn being worked out in the background or played back, or null if it isn't the AI's turn
+	private Task<SkipBoGameModel> aiTurn;
+	// Plays the AI's finished turn back one action at a time
+	private Timeline aiReplay;
+	// Set when the AI couldn't take its turn, so the game is stopped until a new one is started or loaded
+	private boolean aiFailed;
+	// Redraws what each played back action changes, in place of this app, or null if nothing is being played back
+	private PropertyChangeListener replayListener;
+	// Runs AI turns, so that the window keeps responding while the AI thinks
+	private final ExecutorService aiExecutor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "AI turns");
+		thread.setDaemon(true);
+		return thread;
+	});
 	
 	
 	/**
@@ -93,6 +139,9 @@ public class SkipBoFXApp extends Application implements PropertyChangeListener,
 	
 	@Override
 	public void propertyChange(PropertyChangeEvent evt) {	
+		if(refreshChanged(evt)) {
+			return;
+		}
 		populateGamePane();
 		
 		if(evt.getPropertyName().equals("newTurn") && game.hasWinner() ||
@@ -105,18 +154,259 @@ public class SkipBoFXApp extends Application implements PropertyChangeListener,
 		}
 		
 		if(evt.getPropertyName().equals("newAITurn")) {
-			try {
-				Alert alert = new Alert(Alert.AlertType.INFORMATION);
-				alert.setTitle("AI Turn");
-				alert.setContentText("The AI Player is taking its turn now.");
-				alert.showAndWait();
-				game = game.takeTurn();
-				game.addPropertyChangeListener(this);
-				populateGamePane();
-			} catch (Exception e) {
-				e.printStackTrace();
+			startAITurn();
+		}
+	}
+	
+	
+	/**
+	 * Redraws just the part of the table a fine-grained event is about. 
+	 * They are all about the current player, whose cards are the "c" ones.
+	 * @param evt the event from the game
+	 * @return true if the event was handled, false if everything needs to be redrawn
+	 */
+	private boolean refreshChanged(PropertyChangeEvent evt) {
+		switch(evt.getPropertyName()) {
+			case "foundation":
+				int foundation = ((IndexedPropertyChangeEvent) evt).getIndex();
+				refreshButton(TableSlot.of(TableSlot.Owner.TABLE, TableSlot.Pile.FOUNDATION, foundation));
+				return true;
+			case "discardPile":
+				TableSlot pile = TableSlot.of(TableSlot.Owner.CURRENT, TableSlot.Pile.DISCARD, 
+						((IndexedPropertyChangeEvent) evt).getIndex());
+				refreshButton(pile);
+				refreshCount(pile);
+				return true;
+			case "handSlot":
+				int slot = ((IndexedPropertyChangeEvent) evt).getIndex();
+				if(slot < TableSlot.Pile.HAND.getSize()) {
+					refreshButton(TableSlot.of(TableSlot.Owner.CURRENT, TableSlot.Pile.HAND, slot));
+				}
+				refreshCount(TableSlot.of(TableSlot.Owner.CURRENT, TableSlot.Pile.HAND, 0));
+				return true;
+			case "stockTop":
+				TableSlot stock = TableSlot.of(TableSlot.Owner.CURRENT, TableSlot.Pile.STOCK, 0);
+				refreshButton(stock);
+				refreshCount(stock);
+				return true;
+			case "deckCount":
+			case "play":
+			case "draw":
+			case "discard":
+				// Either not shown, or already redrawn by the fine-grained events
+				return true;
+			default:
+				return false;
+		}
+	}
+	
+	
+	/**
+	 * Starts the AI's turn on the AI executor. 
+	 * The AI works on its own copy of the game. Once the turn is done, it is played back on the FX thread, 
+	 * 	and then the AI's game replaces the game. Until then, the gameplay inputs are ignored.
+	 * If the AI can't take its turn, the user is told, and the game is stopped, 
+	 * 	since it is still the AI's turn and the user mustn't play the AI's cards.
+	 */
+	private void startAITurn() {
+		SkipBoGameModel turnStart = new SkipBoGameModel(game);
+		Task<SkipBoGameModel> task = new Task<SkipBoGameModel>() {
+			@Override
+			protected SkipBoGameModel call() throws Exception {
+				updateMessage(turnStart.currentPlayer().getName() + " is thinking...");
+				return turnStart.takeTurn();
 			}
+		};
+		// These run on the FX thread once the turn is done
+		task.setOnSucceeded(e -> replayAITurn(turnStart, task.getValue()));
+		task.setOnFailed(e -> {
+			aiTurn = null;
+			aiFailed = true;
+			task.getException().printStackTrace();
+			Alert alert = new Alert(Alert.AlertType.ERROR);
+			alert.setTitle("AI Error!");
+			alert.setContentText(turnStart.currentPlayer().getName() + " couldn't take its turn, so this game can't go on. " 
+					+ task.getException().getMessage() + "\nStart a new game from the Settings tab.");
+			alert.showAndWait();
+			root.getSelectionModel().select(settingsTab);
+		});
+		
+		aiProgress.visibleProperty().bind(task.runningProperty());
+		aiProgressLabel.visibleProperty().bind(task.runningProperty());
+		aiProgressLabel.textProperty().bind(task.messageProperty());
+		aiTurn = task;
+		aiExecutor.execute(task);
+	}
+	
+	
+	/**
+	 * Plays the AI's turn back one action at a time, at the speed set on the settings tab, 
+	 * 	then replaces the game with the one the AI gave back. 
+	 * Each action is made on the game the AI started from, so only what it changed gets redrawn. 
+	 * The AI's final discard isn't played back, since the finished game shows it anyway.
+	 * Draws can only come out differently if the deck was reshuffled during the turn. 
+	 * 	If that happens, the playback skips straight to the end.
+	 * @param turnStart the game as it was when the AI started its turn. Nothing else is using it.
+	 * @param result the game the AI gave back
+	 */
+	private void replayAITurn(SkipBoGameModel turnStart, SkipBoGameModel result) {
+		List<TurnAction> actions = result.hasWinner() ? result.getTurnActions() : result.getLastTurnActions();
+		
+		aiReplay = new Timeline();
+		Duration step = Duration.millis(aiSpeedSlider.getValue());
+		if(step.greaterThan(Duration.ZERO)) {
+			game = turnStart;
+			// Only the fine-grained events. Nothing else should happen until the playback is done.
+			replayListener = this::refreshChanged;
+			game.addPropertyChangeListener(replayListener);
+			int frame = 1;
+			for(TurnAction action : actions) {
+				if(action.getType() != TurnAction.Type.DISCARD) {
+					aiReplay.getKeyFrames().add(new KeyFrame(step.multiply(frame++), e -> replayAction(action, result)));
+				}
+			}
+			aiReplay.getKeyFrames().add(new KeyFrame(step.multiply(frame), e -> finishAITurn(result)));
+		} else {
+			aiReplay.getKeyFrames().add(new KeyFrame(Duration.ZERO, e -> finishAITurn(result)));
 		}
+		aiReplay.play();
+	}
+	
+	
+	/**
+	 * Plays back one action of the AI's turn on the game being shown
+	 * @param action the action
+	 * @param result the game the AI gave back, to skip to if the action can't be played back
+	 */
+	private void replayAction(TurnAction action, SkipBoGameModel result) {
+		try {
+			if(action.getType() == TurnAction.Type.DRAW) {
+				game.drawCards();
+				List<TurnAction> replayed = game.getTurnActions();
+				if(!replayed.get(replayed.size() - 1).getDrawn().equals(action.getDrawn())) {
+					throw new RuntimeException("Drew different cards than the AI did.");
+				}
+			} else {
+				game.play(action.getMove());
+			}
+		} catch (RuntimeException e) {
+			// The rest of the playback would be wrong too
+			aiReplay.stop();
+			finishAITurn(result);
+		}
+	}
+	
+	
+	/**
+	 * Replaces the game with the one the AI gave back, and hands control back to the user
+	 * @param result the game the AI gave back
+	 */
+	private void finishAITurn(SkipBoGameModel result) {
+		aiTurn = null;
+		aiReplay = null;
+		if(replayListener != null) {
+			game.removePropertyChangeListener(replayListener);
+			replayListener = null;
+		}
+		game = result;
+		game.addPropertyChangeListener(this);
+		populateGamePane();
+	}
+	
+	
+	/**
+	 * Stops playing back the AI's turn partway through, if it is being played back. 
+	 * The game being shown is then the one the playback was made on, 
+	 * 	so this app listens to it again in place of the playback's listener, and it can be reset like any other.
+	 */
+	private void stopAIReplay() {
+		if(aiReplay != null) {
+			aiReplay.stop();
+			aiReplay = null;
+		}
+		if(replayListener != null) {
+			game.removePropertyChangeListener(replayListener);
+			replayListener = null;
+			game.addPropertyChangeListener(this);
+		}
+	}
+	
+	
+	/**
+	 * Sets up the AI player, if there is one. 
+	 * A human is waiting on the AI, so let it use every core, and don't let any one search 
+	 * 	hold up the game for long.
+	 */
+	private void setUpAI() {
+		if(game.getPlayer(1) instanceof PlayerAI) {
+			PlayerAI ai = (PlayerAI) game.getPlayer(1);
+			ai.setParallelSearch(true);
+			ai.setStrategy(new DefaultStrategy(new SearchBudget(DefaultStrategy.DEFAULT_BUDGET.getMaxNodes(), 
+					AI_SEARCH_MILLIS)));
+		}
+	}
+	
+	
+	/**
+	 * Asks the user where to save the game, then saves it there
+	 * @throws RuntimeException if the game couldn't be saved
+	 */
+	private void saveGame() throws RuntimeException {
+		File file = generateSaveChooser("Save Game").showSaveDialog(root.getScene().getWindow());
+		if(file == null) {
+			return;
+		}
+		try {
+			GameSnapshot.save(game, file.toPath());
+		} catch (IOException e) {
+			throw new RuntimeException("Couldn't save the game: " + e.getMessage());
+		}
+	}
+	
+	
+	/**
+	 * Asks the user for a saved game, then picks it up where it left off
+	 * @throws RuntimeException if the game couldn't be loaded
+	 */
+	private void loadGame() throws RuntimeException {
+		File file = generateSaveChooser("Load Game").showOpenDialog(root.getScene().getWindow());
+		if(file == null) {
+			return;
+		}
+		try {
+			game = GameSnapshot.load(file.toPath());
+		} catch (IOException e) {
+			throw new RuntimeException("Couldn't load the game: " + e.getMessage());
+		}
+		aiFailed = false;
+		// The AI's settings aren't saved, so it gets the same ones a new game would
+		setUpAI();
+		game.addPropertyChangeListener(this);
+		selectedSlot = null;
+		populateGamePane();
+		root.getSelectionModel().select(gameTab);
+		if(!game.hasWinner() && game.currentPlayer() instanceof PlayerAI) {
+			startAITurn();
+		}
+	}
+	
+	
+	/**
+	 * Creates a file chooser for saved games
+	 * @param title the title of the dialog
+	 * @return the file chooser
+	 */
+	private FileChooser generateSaveChooser(String title) {
+		FileChooser chooser = new FileChooser();
+		chooser.setTitle(title);
+		chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Skip-Bo Saves", "*.skipbo"));
+		return chooser;
+	}
+	
+	
+	@Override
+	public void stop() {
+		aiExecutor.shutdownNow();
 	}
 
 	
@@ -129,19 +419,23 @@ public class SkipBoFXApp extends Application implements PropertyChangeListener,
 			game.addPropertyChangeListener(this);
 			
 			// Instantiate the selected card
-			selectedCard = "none";
+			selectedSlot = null;
+			
+			// Start loading the Card pictures
+			cardImages = new CardImages(imagePath, 3 * ds, 4 * ds);
 			
 			// GRAPHICS SETUP
 			// Set up the root
 			Scene scene = new Scene(root, xTotal*ds, (yTotal + 1)*ds);
+			scene.getStylesheets().add(SkipBoFXApp.class.getResource(Styles.STYLESHEET).toExternalForm());
 			
 			// Draw both of the game panes for the first time
 			drawGamePane();
 			drawSettingsPane();
 			drawRulesPane();
-			gamePane.setStyle(Styles.TAB);
-			settingsPane.setStyle(Styles.TAB);
-			rulesPane.setStyle(Styles.TAB);
+			gamePane.getStyleClass().add(Styles.TAB);
+			settingsPane.getStyleClass().add(Styles.TAB);
+			rulesPane.getStyleClass().add(Styles.TAB);
 			
 			// Put the panes inside permanent tabs
 			settingsTab = new Tab("Settings", settingsPane);
@@ -169,92 +463,32 @@ public class SkipBoFXApp extends Application implements PropertyChangeListener,
 		try {
 			// IF THE EVENT WAS THE SUBMIT BUTTON
 			if(event.getSource().equals(submit)) {
+				// A new game throws away whatever turn the AI was working out
+				if(aiTurn != null) {
+					aiTurn.cancel();
+					aiTurn = null;
+				}
+				stopAIReplay();
+				aiFailed = false;
 				game.resetSkipBoGame(stfP1Name.getText(), scbP1Color.getValue(), stfP2Name.getText(), 
 						scbP2Color.getValue(), scbP2Type.getValue(), slider.getValue());
+				setUpAI();
 				root.getSelectionModel().select(gameTab);
 				return;
 			}
-			// OTHERWISE, IT'S ONE OF THE GAMEPLAY INPUTS
-			// All the card buttons can be looped through to find the one that sent the event
-			gameButtons.forEach((key, value) -> {
-				// If this was the button that sent the event...
-				if(event.getSource().equals(value)) {
-					//If it's the draw pile
-					if(key.matches("a-draw-x-b")) {
-						// Draw cards from the deck
-						game.drawCards();
-						selectedCard = "none";
-						
-					// If it's anything belonging to the opponent
-					} else if (key.matches("o.{9}")) {
-						// Send an alert because that's not a legal move.
-						throw new RuntimeException("You can't interact with your opponent's cards.");
-						
-					// If it's anything in our hand
-					} else if (key.matches("c-hand-(0|1|2|3|4)-b")) {
-						// Try selecting that card.
-						selectCard(key);
-					
-					// If it's anything in our discard pile
-					} else if (key.matches("c-disc-(1|2|3|4)-b")) {
-						// If we have a card from our hand selected
-						if(selectedCard.matches("c-hand-(0|1|2|3|4)-b")) {
-							// Discard it there
-							game.discard("h" + selectedCard.charAt(7), "d" + key.charAt(7));
-							selectCard(selectedCard);
-						} else {
-							// Make sure it's not empty
-							if(game.discardIsEmpty(true, key.charAt(7))) {
-								throw new RuntimeException("You can't select this empty discard pile.");
-							}
-							
-							// Try selecting that card.
-							selectCard(key);
-						}
-						
-					// If it's our stock
-					} else if (key.matches("c-stoc-x-b")) {
-						// Try selecting that card
-						selectCard(key);
-						
-					// If it's anything in the foundations
-					} else if (key.matches("a-fndn-(1|2|3|4)-b")) {
-						// If we have a card from our hand selected
-						if(selectedCard.matches("c-....-.-b")) {
-							if(selectedCard.matches("c-stoc-x-b")) {
-								game.play("ss", key.charAt(2) + "" + key.charAt(7));
-							} else {
-								game.play(selectedCard.charAt(2) + "" + selectedCard.charAt(7), 
-									key.charAt(2) + "" + key.charAt(7));
-							}
-							selectCard(selectedCard);
-						} else {
-							throw new RuntimeException("You have to select a card before playing "
-									+ "it on a foundation.");
-						}
-						
-					// If it's anything else, something's gone horribly wrong
-					} else {
-						System.out.println("That input was not recognized. KEY=" + key );
-					}
-					
-					// No need to search the other buttons.
-					return;
+			// IF IT WAS ONE OF THE SAVE/LOAD BUTTONS
+			if(event.getSource().equals(saveButton) || event.getSource().equals(loadButton)) {
+				if(aiTurn != null) {
+					throw new RuntimeException("Wait for the AI Player to finish its turn.");
+				}
+				if(event.getSource().equals(saveButton)) {
+					saveGame();
+				} else {
+					loadGame();
 				}
-			});
-
-		} catch (RuntimeException e) { 
-			// Send the alert to the user. 
-			Alert alert = new Alert(Alert.AlertType.INFORMATION);
-			alert.setTitle("User Error!");
-			alert.setContentText(e.getMessage());
-			alert.showAndWait();
-			selectCard(selectedCard);
-			
-			// Switch away from the game tab if the game has been won.
-			if(game.hasWinner()) {
-				root.getSelectionModel().select(settingsTab);
 			}
+		} catch (RuntimeException e) { 
+			showUserError(e);
 		} catch (Exception e) {
 			// Print the alert to the console
 			e.printStackTrace();
@@ -262,6 +496,98 @@ public class SkipBoFXApp extends Application implements PropertyChangeListener,
 	}
 	
 	
+	/**
+	 * Handles a click on one of the card buttons
+	 * @param slot the slot the button shows
+	 */
+	private void handleSlot(TableSlot slot) {
+		try {
+			// None of the cards can be used while the AI is taking its turn
+			if(aiTurn != null) {
+				throw new RuntimeException("Wait for the AI Player to finish its turn.");
+			}
+			if(aiFailed) {
+				throw new RuntimeException("The AI Player couldn't take its turn. Start a new game from the Settings tab.");
+			}
+			if(slot.getOwner() == TableSlot.Owner.OPPONENT) {
+				throw new RuntimeException("You can't interact with your opponent's cards.");
+			}
+			
+			switch(slot.getPile()) {
+				case DRAW:
+					// Draw cards from the deck
+					game.drawCards();
+					selectedSlot = null;
+					break;
+				case DISCARD:
+					// If we have a card from our hand selected, discard it there
+					if(selectedSlot != null && selectedSlot.getPile() == TableSlot.Pile.HAND) {
+						game.discard(Move.discard(selectedSlot.getIndex(), slot.getIndex()));
+						selectCard(selectedSlot);
+					} else {
+						// Make sure it's not empty
+						if(game.discardIsEmpty(true, slot.getIndexChar())) {
+							throw new RuntimeException("You can't select this empty discard pile.");
+						}
+						selectCard(slot);
+					}
+					break;
+				case FOUNDATION:
+					// Play whichever of our cards is selected
+					if(selectedSlot == null) {
+						throw new RuntimeException("You have to select a card before playing it on a foundation.");
+					}
+					game.play(Move.play(getMoveSource(selectedSlot), selectedSlot.getIndex(), slot.getIndex()));
+					selectCard(selectedSlot);
+					break;
+				default:
+					// The Hand or the Stock
+					selectCard(slot);
+			}
+		} catch (RuntimeException e) {
+			showUserError(e);
+		}
+	}
+	
+	
+	/**
+	 * Tells the user why what they tried didn't work
+	 * @param e the reason
+	 */
+	private void showUserError(RuntimeException e) {
+		// Send the alert to the user. 
+		Alert alert = new Alert(Alert.AlertType.INFORMATION);
+		alert.setTitle("User Error!");
+		alert.setContentText(e.getMessage());
+		alert.showAndWait();
+		if(selectedSlot != null) {
+			selectCard(selectedSlot);
+		}
+		
+		// Switch away from the game tab if the game has been won.
+		if(game.hasWinner()) {
+			root.getSelectionModel().select(settingsTab);
+		}
+	}
+	
+	
+	/**
+	 * Finds where a Move from one of the current player's slots comes from
+	 * @param slot the slot
+	 * @return the MoveSource
+	 */
+	private static MoveSource getMoveSource(TableSlot slot) {
+		switch(slot.getPile()) {
+			case HAND:
+				return MoveSource.HAND;
+			case DISCARD:
+				return MoveSource.DISCARD;
+			default:
+				return MoveSource.STOCK;
+		}
+	}
+	
+	
 	/**
 	 * Creates everything that goes inside of the Settings pane. 
 	 * These controls allow the user to set their name and color and to determine the length of the game.
@@ -274,9 +600,9 @@ public class SkipBoFXApp extends Application implements PropertyChangeListener,
 		stfP1Name = new TextField("Player 1");
 		stfP1Name.setOnAction(this);
 		Label slP1 = new Label("Player 1");
-		slP1.setStyle(Styles.WHITE_HEADING_TEXT);
+		slP1.getStyleClass().add(Styles.WHITE_HEADING_TEXT);
 		Label slP1Name = new Label("Name: ");
-		slP1Name.setStyle(Styles.WHITE_BODY_TEXT);
+		slP1Name.getStyleClass().add(Styles.WHITE_BODY_TEXT);
 		settingsPane.getChildren().addAll(slP1, slP1Name, stfP1Name);
 		
 		// Set up the Settings Combo Box for Player 1 Color
@@ -284,7 +610,7 @@ public class SkipBoFXApp extends Application implements PropertyChangeListener,
 		scbP1Color.getItems().addAll(PlayerColor.values());
 		scbP1Color.setValue(PlayerColor.RED);
 		Label slP1Color = new Label("Color: ");
-		slP1Color.setStyle(Styles.WHITE_BODY_TEXT);
+		slP1Color.getStyleClass().add(Styles.WHITE_BODY_TEXT);
 		settingsPane.getChildren().addAll(slP1Color, scbP1Color);
 		
 		// Put some space in between the two settings options, in a really hacky way
@@ -294,9 +620,9 @@ public class SkipBoFXApp extends Application implements PropertyChangeListener,
 		stfP2Name = new TextField("Player 2");
 		stfP2Name.setOnAction(this);
 		Label slP2 = new Label("Player 2");
-		slP2.setStyle(Styles.WHITE_HEADING_TEXT);
+		slP2.getStyleClass().add(Styles.WHITE_HEADING_TEXT);
 		Label slP2Name = new Label("Name: ");
-		slP2Name.setStyle(Styles.WHITE_BODY_TEXT);
+		slP2Name.getStyleClass().add(Styles.WHITE_BODY_TEXT);
 		settingsPane.getChildren().addAll(slP2, slP2Name, stfP2Name);
 		
 		// Set up the Settings Combo Box for Player 2 Color
@@ -304,7 +630,7 @@ public class SkipBoFXApp extends Application implements PropertyChangeListener,
 		scbP2Color.getItems().addAll(PlayerColor.values());
 		scbP2Color.setValue(PlayerColor.BLUE);
 		Label slP2Color = new Label("Color: ");
-		slP2Color.setStyle(Styles.WHITE_BODY_TEXT);
+		slP2Color.getStyleClass().add(Styles.WHITE_BODY_TEXT);
 		settingsPane.getChildren().addAll(slP2Color, scbP2Color);
 		
 		// Set up the Settings Combo Box for Player 2 Agent Type
@@ -312,7 +638,7 @@ public class SkipBoFXApp extends Application implements PropertyChangeListener,
 		scbP2Type.getItems().addAll(PlayerType.values());
 		scbP2Type.setValue(PlayerType.AI);
 		Label slP2Type = new Label("Opponent Type: ");
-		slP2Type.setStyle(Styles.WHITE_BODY_TEXT);
+		slP2Type.getStyleClass().add(Styles.WHITE_BODY_TEXT);
 		settingsPane.getChildren().addAll(slP2Type, scbP2Type);
 		
 		// Put some space in between the two settings options, in a really hacky way
@@ -320,21 +646,41 @@ public class SkipBoFXApp extends Application implements PropertyChangeListener,
 		
 		// Create the Game Length Slider
 		Label slSlider = new Label("Game Length");
-		slSlider.setStyle(Styles.WHITE_HEADING_TEXT);
+		slSlider.getStyleClass().add(Styles.WHITE_HEADING_TEXT);
 		Label slSliderText = new Label("This slider controls how many cards are in the Stocks. "
 				+ "More cards makes for a longer game.");
-		slSliderText.setStyle(Styles.WHITE_BODY_TEXT);
+		slSliderText.getStyleClass().add(Styles.WHITE_BODY_TEXT);
 		settingsPane.getChildren().addAll(slSlider, slSliderText, generateGameLengthSlider());
+		
+		// Create the AI Speed Slider
+		Label slAISpeed = new Label("AI Speed");
+		slAISpeed.getStyleClass().add(Styles.WHITE_HEADING_TEXT);
+		Label slAISpeedText = new Label("This slider controls how many milliseconds each step of the AI's turn "
+				+ "is shown for. 0 skips straight to the end of the turn.");
+		slAISpeedText.getStyleClass().add(Styles.WHITE_BODY_TEXT);
+		settingsPane.getChildren().addAll(slAISpeed, slAISpeedText, generateAISpeedSlider());
 
 		// Put some space in between the two settings options, in a really hacky way
 		settingsPane.getChildren().add(new Label(""));
 		
 		// Set up the submit button!
 		Label slStart = new Label ("Change Settings and Start Game");
-		slStart.setStyle(Styles.WHITE_HEADING_TEXT);
+		slStart.getStyleClass().add(Styles.WHITE_HEADING_TEXT);
 		submit = new Button("Start Game");
 		submit.setOnAction(this);
 		settingsPane.getChildren().addAll(slStart, submit);
+		
+		// Put some space in between the two settings options, in a really hacky way
+		settingsPane.getChildren().add(new Label(""));
+		
+		// Set up the save and load buttons
+		Label slSave = new Label("Save or Load a Game");
+		slSave.getStyleClass().add(Styles.WHITE_HEADING_TEXT);
+		saveButton = new Button("Save Game");
+		saveButton.setOnAction(this);
+		loadButton = new Button("Load Game");
+		loadButton.setOnAction(this);
+		settingsPane.getChildren().addAll(slSave, saveButton, loadButton);
 	}
 
 	
@@ -342,78 +688,81 @@ public class SkipBoFXApp extends Application implements PropertyChangeListener,
 	 * Creates everything that goes inside of the Game pane.
 	 */
 	private void drawGamePane() {
-		gameLabels = new HashMap<String, Label>();
-		gameButtons = new HashMap<String, Button>();
-		
-		gameLabels.put("o-rect-0-l", generateLabel(5.5, 0, 16, 5.5));
-		gameLabels.put("o-rect-1-l", generateLabel(22.5, 0.5, 16, 7));
-		gameLabels.put("o-rect-2-l", generateLabel(0.5, 0.5, 4, 7));
-		gameLabels.put("a-rect-0-l", generateLabel(8.5, 10.5, 4, 6));
-		gameLabels.put("a-rect-1-l", generateLabel(14.5, 10.5, 16, 6));
-		gameLabels.put("c-rect-0-l", generateLabel(17.5, 22.5, 16, 5.5));
-		gameLabels.put("c-rect-1-l", generateLabel(0.5, 20.5, 16, 7));
-		gameLabels.put("c-rect-2-l", generateLabel(34.5, 20.5, 4, 7));
-		
-		gameLabels.put("o-name-x-l", generateLabel( 5,  6, 17, 1));
-		gameLabels.put("o-hand-x-l", generateLabel( 6,  4, 15, 1));
-		gameLabels.put("o-stna-x-l", generateLabel( 1,  5,  3, 1));
-		gameLabels.put("o-stco-x-l", generateLabel( 1,  6,  3, 1));
-		gameLabels.put("o-disc-1-l", generateLabel(35,  5,  3, 1));
-		gameLabels.put("o-disc-2-l", generateLabel(31,  5,  3, 1));
-		gameLabels.put("o-disc-3-l", generateLabel(27,  5,  3, 1));
-		gameLabels.put("o-disc-4-l", generateLabel(23,  5,  3, 1));
-		gameLabels.put("o-disc-x-l", generateLabel(23,  6, 15, 1));
-		
-		gameLabels.put("a-draw-x-l", generateLabel( 9, 15,  3, 1));
-		gameLabels.put("a-fndn-x-l", generateLabel(15, 15, 15, 1));
-		
-		gameLabels.put("c-name-x-l", generateLabel(17, 20, 17, 1));
-		gameLabels.put("c-hand-x-l", generateLabel(18, 23, 15, 1));
-		gameLabels.put("c-stna-x-l", generateLabel(35, 21,  3, 1));
-		gameLabels.put("c-stco-x-l", generateLabel(35, 22,  3, 1));
-		gameLabels.put("c-disc-1-l", generateLabel( 1, 22,  3, 1));
-		gameLabels.put("c-disc-2-l", generateLabel( 5, 22,  3, 1));
-		gameLabels.put("c-disc-3-l", generateLabel( 9, 22,  3, 1));
-		gameLabels.put("c-disc-4-l", generateLabel(13, 22,  3, 1));
-		gameLabels.put("c-disc-x-l", generateLabel( 1, 21, 15, 1));
-		
-		
-		gameLabels.forEach((key, value) -> {
-			gamePane.getChildren().add(value);
-		});
+		cardButtons = new SlotRegistry<Button>();
+		countLabels = new SlotRegistry<Label>();
+		nameLabels = new EnumMap<TableSlot.Owner, Label>(TableSlot.Owner.class);
+		panels = new EnumMap<TableSlot.Owner, Label[]>(TableSlot.Owner.class);
 		
-		gameButtons.put("o-stoc-x-b", generateCardButton( 1,  1));
-		gameButtons.put("o-disc-1-b", generateCardButton(35,  1));
-		gameButtons.put("o-disc-2-b", generateCardButton(31,  1));
-		gameButtons.put("o-disc-3-b", generateCardButton(27,  1));
-		gameButtons.put("o-disc-4-b", generateCardButton(23,  1));
-		gameButtons.put("o-hand-0-b", generateCardButton( 6,  0));
-		gameButtons.put("o-hand-1-b", generateCardButton( 9,  0));
-		gameButtons.put("o-hand-2-b", generateCardButton(12,  0));
-		gameButtons.put("o-hand-3-b", generateCardButton(15,  0));
-		gameButtons.put("o-hand-4-b", generateCardButton(18,  0));
-		
-		gameButtons.put("a-draw-x-b", generateCardButton( 9, 11));
-		gameButtons.put("a-fndn-1-b", generateCardButton(15, 11));
-		gameButtons.put("a-fndn-2-b", generateCardButton(19, 11));
-		gameButtons.put("a-fndn-3-b", generateCardButton(23, 11));
-		gameButtons.put("a-fndn-4-b", generateCardButton(27, 11));
-		
-		gameButtons.put("c-stoc-x-b", generateCardButton(35,  23));
-		gameButtons.put("c-disc-1-b", generateCardButton( 1,  23));
-		gameButtons.put("c-disc-2-b", generateCardButton( 5,  23));
-		gameButtons.put("c-disc-3-b", generateCardButton( 9,  23));
-		gameButtons.put("c-disc-4-b", generateCardButton(13,  23));
-		gameButtons.put("c-hand-0-b", generateCardButton(18,  24));
-		gameButtons.put("c-hand-1-b", generateCardButton(21,  24));
-		gameButtons.put("c-hand-2-b", generateCardButton(24,  24));
-		gameButtons.put("c-hand-3-b", generateCardButton(27,  24));
-		gameButtons.put("c-hand-4-b", generateCardButton(30,  24));
-		
-		gameButtons.forEach((key, value) -> {
-			gamePane.getChildren().add(value);
+		// The panels go in first, so everything else sits on top of them
+		panels.put(TableSlot.Owner.OPPONENT, new Label[] {generateLabel(5.5, 0, 16, 5.5), 
+				generateLabel(22.5, 0.5, 16, 7), generateLabel(0.5, 0.5, 4, 7)});
+		panels.put(TableSlot.Owner.TABLE, new Label[] {generateLabel(8.5, 10.5, 4, 6), 
+				generateLabel(14.5, 10.5, 16, 6)});
+		panels.put(TableSlot.Owner.CURRENT, new Label[] {generateLabel(17.5, 22.5, 16, 5.5), 
+				generateLabel(0.5, 20.5, 16, 7), generateLabel(34.5, 20.5, 4, 7)});
+		panels.forEach((owner, labels) -> {
+			for(Label label : labels) {
+				label.getStyleClass().add(Styles.PANEL);
+			}
+			gamePane.getChildren().addAll(labels);
 		});
 		
+		nameLabels.put(TableSlot.Owner.OPPONENT, generateLabel( 5,  6, 17, 1));
+		nameLabels.put(TableSlot.Owner.CURRENT, generateLabel(17, 20, 17, 1));
+		nameLabels.forEach((owner, label) -> label.getStyleClass().add(Styles.HEADING_TEXT));
+		gamePane.getChildren().addAll(nameLabels.values());
+		
+		// These never change
+		gamePane.getChildren().addAll(
+				generateCaption("Stock",      1,  5,  3, 1),
+				generateCaption("Discard",   23,  6, 15, 1),
+				generateCaption("Draw",       9, 15,  3, 1),
+				generateCaption("Foundation", 15, 15, 15, 1),
+				generateCaption("Stock",     35, 21,  3, 1),
+				generateCaption("Discard",    1, 21, 15, 1));
+		
+		placeCountLabel(TableSlot.Owner.OPPONENT, TableSlot.Pile.HAND,    0,  6,  4, 15);
+		placeCountLabel(TableSlot.Owner.OPPONENT, TableSlot.Pile.STOCK,   0,  1,  6,  3);
+		placeCountLabel(TableSlot.Owner.OPPONENT, TableSlot.Pile.DISCARD, 0, 35,  5,  3);
+		placeCountLabel(TableSlot.Owner.OPPONENT, TableSlot.Pile.DISCARD, 1, 31,  5,  3);
+		placeCountLabel(TableSlot.Owner.OPPONENT, TableSlot.Pile.DISCARD, 2, 27,  5,  3);
+		placeCountLabel(TableSlot.Owner.OPPONENT, TableSlot.Pile.DISCARD, 3, 23,  5,  3);
+		
+		placeCountLabel(TableSlot.Owner.CURRENT, TableSlot.Pile.HAND,    0, 18, 23, 15);
+		placeCountLabel(TableSlot.Owner.CURRENT, TableSlot.Pile.STOCK,   0, 35, 22,  3);
+		placeCountLabel(TableSlot.Owner.CURRENT, TableSlot.Pile.DISCARD, 0,  1, 22,  3);
+		placeCountLabel(TableSlot.Owner.CURRENT, TableSlot.Pile.DISCARD, 1,  5, 22,  3);
+		placeCountLabel(TableSlot.Owner.CURRENT, TableSlot.Pile.DISCARD, 2,  9, 22,  3);
+		placeCountLabel(TableSlot.Owner.CURRENT, TableSlot.Pile.DISCARD, 3, 13, 22,  3);
+		
+		placeCardButton(TableSlot.Owner.OPPONENT, TableSlot.Pile.STOCK,   0,  1,  1);
+		placeCardButton(TableSlot.Owner.OPPONENT, TableSlot.Pile.DISCARD, 0, 35,  1);
+		placeCardButton(TableSlot.Owner.OPPONENT, TableSlot.Pile.DISCARD, 1, 31,  1);
+		placeCardButton(TableSlot.Owner.OPPONENT, TableSlot.Pile.DISCARD, 2, 27,  1);
+		placeCardButton(TableSlot.Owner.OPPONENT, TableSlot.Pile.DISCARD, 3, 23,  1);
+		placeCardButton(TableSlot.Owner.OPPONENT, TableSlot.Pile.HAND,    0,  6,  0);
+		placeCardButton(TableSlot.Owner.OPPONENT, TableSlot.Pile.HAND,    1,  9,  0);
+		placeCardButton(TableSlot.Owner.OPPONENT, TableSlot.Pile.HAND,    2, 12,  0);
+		placeCardButton(TableSlot.Owner.OPPONENT, TableSlot.Pile.HAND,    3, 15,  0);
+		placeCardButton(TableSlot.Owner.OPPONENT, TableSlot.Pile.HAND,    4, 18,  0);
+		
+		placeCardButton(TableSlot.Owner.TABLE, TableSlot.Pile.DRAW,       0,  9, 11);
+		placeCardButton(TableSlot.Owner.TABLE, TableSlot.Pile.FOUNDATION, 0, 15, 11);
+		placeCardButton(TableSlot.Owner.TABLE, TableSlot.Pile.FOUNDATION, 1, 19, 11);
+		placeCardButton(TableSlot.Owner.TABLE, TableSlot.Pile.FOUNDATION, 2, 23, 11);
+		placeCardButton(TableSlot.Owner.TABLE, TableSlot.Pile.FOUNDATION, 3, 27, 11);
+		
+		placeCardButton(TableSlot.Owner.CURRENT, TableSlot.Pile.STOCK,   0, 35, 23);
+		placeCardButton(TableSlot.Owner.CURRENT, TableSlot.Pile.DISCARD, 0,  1, 23);
+		placeCardButton(TableSlot.Owner.CURRENT, TableSlot.Pile.DISCARD, 1,  5, 23);
+		placeCardButton(TableSlot.Owner.CURRENT, TableSlot.Pile.DISCARD, 2,  9, 23);
+		placeCardButton(TableSlot.Owner.CURRENT, TableSlot.Pile.DISCARD, 3, 13, 23);
+		placeCardButton(TableSlot.Owner.CURRENT, TableSlot.Pile.HAND,    0, 18, 24);
+		placeCardButton(TableSlot.Owner.CURRENT, TableSlot.Pile.HAND,    1, 21, 24);
+		placeCardButton(TableSlot.Owner.CURRENT, TableSlot.Pile.HAND,    2, 24, 24);
+		placeCardButton(TableSlot.Owner.CURRENT, TableSlot.Pile.HAND,    3, 27, 24);
+		placeCardButton(TableSlot.Owner.CURRENT, TableSlot.Pile.HAND,    4, 30, 24);
+		
 		turnLogSidebar = new ScrollPane();
 		turnLogSidebar.setLayoutX(39 * ds);
 		turnLogSidebar.setLayoutY(0 * ds);
@@ -422,6 +771,15 @@ public class SkipBoFXApp extends Application implements PropertyChangeListener,
 		turnLogSidebar.setContent(innerTurnLogSidebar);
 		gamePane.getChildren().add(turnLogSidebar);
 		
+		aiProgress = new ProgressIndicator();
+		aiProgress.setLayoutX(33 * ds);
+		aiProgress.setLayoutY(11 * ds);
+		aiProgress.setPrefSize(3 * ds, 3 * ds);
+		aiProgress.setVisible(false);
+		aiProgressLabel = generateLabel(31, 14.5, 7, 1);
+		aiProgressLabel.setVisible(false);
+		gamePane.getChildren().addAll(aiProgress, aiProgressLabel);
+		
 		populateGamePane();
 	}
 	
@@ -430,7 +788,7 @@ public class SkipBoFXApp extends Application implements PropertyChangeListener,
 	 */
 	private void drawRulesPane() {
 		VBox innerRulesPane = new VBox();
-		innerRulesPane.setStyle(Styles.TAB);
+		innerRulesPane.getStyleClass().add(Styles.TAB);
 		
 		int numItems = Instructions.headings.length;
 		for(int i = 0; i < numItems; i++) {
@@ -451,22 +809,42 @@ public class SkipBoFXApp extends Application implements PropertyChangeListener,
 	
 	
 	/**
-	 * Generates a card Button element according to specifications
-	 * @param id a string that represents this button. Used to identify the button when it has been clicked.
+	 * Generates a card Button for a slot, and puts it in the game pane
+	 * @param owner whose side of the table the slot is on
+	 * @param pile which pile the slot is
+	 * @param index the spot within the pile, from 0
 	 * @param x the x-coordinate of this button, in ds units. 
 	 * @param y the y-coordinate of this button, in ds units.
-	 * @param value the value to display on this button. Currently set up to take in the path of the image.
-	 * @return the Button generated by these specifications.
 	 */
-	private Button generateCardButton(double x, double y) {
+	private void placeCardButton(TableSlot.Owner owner, TableSlot.Pile pile, int index, double x, double y) {
+		TableSlot slot = TableSlot.of(owner, pile, index);
 		Button button = new Button();
 		button.setLayoutX(x * ds);
 		button.setLayoutY(y * ds);
 		button.setPrefSize(3 * ds, 4 * ds);
 		button.setPadding(new Insets(0));
-		button.setStyle(Styles.CARD_BASE);
-		button.setOnAction(this);
-		return button;
+		button.getStyleClass().add(Styles.CARD);
+		button.setOnAction(e -> handleSlot(slot));
+		// Only the image shown changes from here on
+		button.setGraphic(new ImageView());
+		cardButtons.put(slot, button);
+		gamePane.getChildren().add(button);
+	}
+	
+	
+	/**
+	 * Generates the Label that shows how many Cards are in a pile, and puts it in the game pane
+	 * @param owner whose side of the table the pile is on
+	 * @param pile which pile it is
+	 * @param index which of the piles it is, from 0. Always 0 for the Hand and Stock.
+	 * @param x the x-coordinate of this Label, in ds units. 
+	 * @param y the y-coordinate of this Label, in ds units.
+	 * @param w the width of this Label, in ds units.
+	 */
+	private void placeCountLabel(TableSlot.Owner owner, TableSlot.Pile pile, int index, double x, double y, double w) {
+		Label label = generateLabel(x, y, w, 1);
+		countLabels.put(TableSlot.of(owner, pile, index), label);
+		gamePane.getChildren().add(label);
 	}
 	
 	
@@ -486,11 +864,43 @@ public class SkipBoFXApp extends Application implements PropertyChangeListener,
 		label.setLayoutX(x * ds);
 		label.setLayoutY(y * ds);
 		label.setPrefSize(w * ds, h * ds);
-		label.setStyle(Styles.getBodyTextStyle(ds));
+		label.getStyleClass().add(Styles.BODY_TEXT);
+		return label;
+	}
+	
+	
+	/**
+	 * Generates a Label whose text never changes
+	 * @param text the text
+	 * @param x the x-coordinate of this Label, in ds units. 
+	 * @param y the y-coordinate of this Label, in ds units.
+	 * @param w the width of this Label, in ds units.
+	 * @param h the height of this Label, in ds units.
+	 * @return the Label generated by these specifications.
+	 */
+	private Label generateCaption(String text, double x, double y, double w, double h) {
+		Label label = generateLabel(x, y, w, h);
+		label.setText(text);
 		return label;
 	}
 
 
+	/**
+	 * Generates a slider that can be used to set how fast the AI's turns are played back
+	 * @return the generated Slider
+	 */
+	private Slider generateAISpeedSlider() {
+		aiSpeedSlider = new Slider(0, 1000, 400);
+		aiSpeedSlider.setMajorTickUnit(200);
+		aiSpeedSlider.setMinorTickCount(0);
+		aiSpeedSlider.snapToTicksProperty().set(true);
+		aiSpeedSlider.setShowTickLabels(true);
+		aiSpeedSlider.setShowTickMarks(true);
+		aiSpeedSlider.getStyleClass().add(Styles.SLIDER);
+		return aiSpeedSlider;
+	}
+	
+	
 	/**
 	 * Generates a slider that can be used to get input for the Game Length
 	 * @return the generated Slider
@@ -502,14 +912,15 @@ public class SkipBoFXApp extends Application implements PropertyChangeListener,
 		slider.snapToTicksProperty().set(true);
 		slider.setShowTickLabels(true);
 		slider.setShowTickMarks(true);
-		slider.setStyle(Styles.SLIDER);
+		slider.getStyleClass().add(Styles.SLIDER);
 		return slider;
 	}
 	
 	
 	/**
 	 * Populates the game pane with information. 
-	 * This updates every single label and button, including the ones that don't necessarily need it.
+	 * This updates every single label and button, including the ones that don't necessarily need it, 
+	 * 	so it's only used when the turn changes. Single plays only redraw what they changed.
 	 */
 	public void populateGamePane() {
 		ArrayList<String> log = game.getLogContents();
@@ -529,147 +940,128 @@ public class SkipBoFXApp extends Application implements PropertyChangeListener,
 			innerTurnLogSidebar.getChildren().add(text);
 		}
 		
-		gameLabels.forEach((key, value) -> {
-			if(key.matches("(o|c)-name-x-l")) {
-				if(key.charAt(0) == 'o') {
-					value.setText(game.getPlayerName(false));
-					value.setStyle(Styles.getHeadingTextStyle(ds, game.getPlayerColor(false)));
-				} else {
-					value.setText(game.getPlayerName(true));
-					value.setStyle(Styles.getHeadingTextStyle(ds, game.getPlayerColor(true)));
-				}
-			} else if(key.matches("(o|c)-hand-x-l")) {
-				if(key.charAt(0) == 'o') {
-					value.setText(game.getHandCount(false));
-				} else {
-					value.setText(game.getHandCount(true));
-				}
-			} else if(key.matches("(o|c)-stna-x-l")) {
-				value.setText("Stock");
-			}  else if(key.matches("(o|c)-stco-x-l")) {
-				if(key.charAt(0) == 'o') {
-					value.setText(game.getStockCount(false));
-				} else {
-					value.setText(game.getStockCount(true));
-				}
-			} else if(key.matches("(o|c)-disc-(1|2|3|4)-l")) {
-				if(key.charAt(0) == 'o') {
-					value.setText(game.getDiscardCount(false, key.charAt(7)));
-				} else {
-					value.setText(game.getDiscardCount(true, key.charAt(7)));
-				}
-			} else if(key.matches("(o|c)-disc-x-l")) {
-				value.setText("Discard");
-			} else if(key.matches("a-draw-x-l")) {
-				value.setText("Draw");
-			} else if(key.matches("a-fndn-x-l")) {
-				value.setText("Foundation");
-			} else if(key.matches("(a|c|o)-rect-(0|1|2)-l")) {
-				switch(key.charAt(0)) {
-				case 'o':
-					value.setStyle(Styles.getRectangleStyle(game.getPlayerColor(false)));
-					break;
-				case 'c':
-					value.setStyle(Styles.getRectangleStyle(game.getPlayerColor(true)));
-					break;
-				default:
-					value.setStyle(Styles.DECORATIVE_RECTANGLE);
+		refreshPlayers();
+		countLabels.forEach((slot, label) -> refreshCount(slot));
+		cardButtons.forEach((slot, button) -> refreshButton(slot));
+	}
+	
+	
+	/**
+	 * Updates the players' names and the panels behind their sides of the table from the game
+	 */
+	private void refreshPlayers() {
+		nameLabels.forEach((owner, label) -> {
+			boolean forCurrent = owner == TableSlot.Owner.CURRENT;
+			label.setText(game.getPlayerName(forCurrent));
+			Styles.setPlayerColor(label, game.getPlayerColor(forCurrent));
+		});
+		panels.forEach((owner, labels) -> {
+			// The table's own panels stay white
+			if(owner == TableSlot.Owner.TABLE) {
+				return;
+			}
+			PlayerColor color = game.getPlayerColor(owner == TableSlot.Owner.CURRENT);
+			for(Label label : labels) {
+				Styles.setPlayerColor(label, color);
 			}
-			
-		}
 		});
+	}
+	
+	
+	/**
+	 * Updates the count under one of the piles from the game
+	 * @param slot the pile's slot. The Hand's count is under its first slot.
+	 */
+	private void refreshCount(TableSlot slot) {
+		Label label = countLabels.get(slot);
+		switch(slot.getPile()) {
+			case HAND:
+				label.setText(game.getHandCount(slot.isCurrent()));
+				break;
+			case STOCK:
+				label.setText(game.getStockCount(slot.isCurrent()));
+				break;
+			default:
+				label.setText(game.getDiscardCount(slot.isCurrent(), slot.getIndexChar()));
+		}
+	}
+	
+	
+	/**
+	 * Updates one of the game pane's card buttons from the game
+	 * @param slot the slot the button shows
+	 */
+	private void refreshButton(TableSlot slot) {
+		Button button = cardButtons.get(slot);
+		button.setVisible(true);
 		
-		gameButtons.forEach((key, value) -> {
-			value.setVisible(true);
-			
-			if(key.matches("(o|c)-stoc-x-b")) {
-				if(key.charAt(0) == 'o') {
-					value.setGraphic(generateCardImage(game.getStockTop(false), key));
-				} else {
-					value.setGraphic(generateCardImage(game.getStockTop(true), key));
-				}
-			} else if(key.matches("(o|c)-disc-(1|2|3|4)-b")) {
-				if(key.charAt(0) == 'o') {
-					value.setGraphic(generateCardImage(game.getDiscardTop(false, key.charAt(7)), key));
-				} else {
-					value.setGraphic(generateCardImage(game.getDiscardTop(true, key.charAt(7)), key));
-				}
-			} else if(key.matches("(o|c)-hand-(0|1|2|3|4)-b")) {
-				Card handAtIndex;
-				if(key.charAt(0) == 'o') {
-					handAtIndex = game.getHandAtIndex(false, key.charAt(7));
-				} else {
-					handAtIndex = game.getHandAtIndex(true, key.charAt(7));
-				}
+		switch(slot.getPile()) {
+			case STOCK:
+				showCard(button, game.getStockTop(slot.isCurrent()), slot);
+				break;
+			case DISCARD:
+				showCard(button, game.getDiscardTop(slot.isCurrent(), slot.getIndexChar()), slot);
+				break;
+			case HAND:
+				Card handAtIndex = game.getHandAtIndex(slot.isCurrent(), slot.getIndexChar());
 				if(handAtIndex == null){
-					value.setVisible(false);
+					button.setVisible(false);
 				} else {
-					value.setGraphic(generateCardImage(handAtIndex, key));
+					showCard(button, handAtIndex, slot);
 				}
-			} else if(key.matches("a-draw-x-b")) {
-				value.setGraphic(generateCardImage(null, key));
-			} else if(key.matches("a-fndn-(1|2|3|4)-b")) {
-				value.setGraphic(generateCardImage(game.getFoundationTop(key.charAt(7)), key));
-			}
-			
-			if(key.matches(selectedCard)) {
-				value.setStyle(Styles.SELECTED);
-			} else {
-				value.setStyle(Styles.CARD_BASE);
-			}
-		});
+				break;
+			case DRAW:
+				showCard(button, null, slot);
+				break;
+			default:
+				showCard(button, game.getFoundationTop(slot.getIndexChar()), slot);
+		}
+		
+		button.pseudoClassStateChanged(Styles.SELECTED, slot == selectedSlot);
 	}
 	
 	
 	/**
-	 * This creates a picture of a Skip-Bo Card.
-	 * @param ImageName the name of the image as a string. The file path will be set up by this method
-	 * @return ImageView the Image of the Skip-Bo Card
+	 * Shows a picture of a Skip-Bo Card on one of the card buttons.
+	 * @param button the button
+	 * @param card the Card to show, or null if the space is empty
+	 * @param slot the slot the button shows, which decides whether the Card is shown face up
 	 */
-	private ImageView generateCardImage(Card card, String key) {
-		String imgString = "Empty.jpg";
+	private void showCard(Button button, Card card, TableSlot slot) {
+		Image image = cardImages.getEmpty();
 		if(card == null) {
-			if(key.matches("a-draw-x-b")) {
-				imgString = "CardBack.jpg";
+			if(slot.getPile() == TableSlot.Pile.DRAW) {
+				image = cardImages.getBack();
 			}
 		} else {
-			if (key.matches(".-hand-.-b")) {
-				if(key.charAt(0) == 'c' && game.currentPlayer().getPlayerType() == PlayerType.HUMAN) {
-					imgString = card.getImagePath();
+			if (slot.getPile() == TableSlot.Pile.HAND) {
+				if(slot.isCurrent() && game.currentPlayer().getPlayerType() == PlayerType.HUMAN) {
+					image = cardImages.getFace(card);
 				} else {
-					imgString = "CardBack.jpg";
+					image = cardImages.getBack();
 				}
 			} else {
-				imgString = card.getImagePath();
+				image = cardImages.getFace(card);
 			}
 		}
 		
-		return new ImageView(new Image(SkipBoFXApp.class.getResourceAsStream(imagePath + imgString), 
-				3 * ds, 4 * ds, true, true));
+		((ImageView) button.getGraphic()).setImage(image);
 	}
 	
 	
 	/**
-	 * Handles the selection (and deselection) of a card, by id
-	 * @param the id of the card to select or deselect
+	 * Handles the selection (and deselection) of a card
+	 * @param slot the card to select or deselect
+	 * @throws RuntimeException if a different card is already selected
 	 */
-	private void selectCard(String key) throws RuntimeException {
-	// Deselect if already selected the same card
-		if (selectedCard.matches("none")) {
-			selectedCard = key;
-			// Restyle whichever card this may be, accordingly
-			if(gameButtons.containsKey(key)) {
-				gameButtons.get(key).setStyle(Styles.SELECTED);
-			} else {
-				//System.out.println("    Could not select " + key);
-			}
-		} else if(selectedCard.matches(key)) {
-			selectedCard = "none";
-			if(gameButtons.containsKey(key)) {
-				gameButtons.get(key).setStyle(Styles.CARD_BASE);
-			} else {
-				//System.out.println("    Could not select " + key);
-			}
+	private void selectCard(TableSlot slot) throws RuntimeException {
+		// Deselect if already selected the same card
+		if (selectedSlot == null) {
+			selectedSlot = slot;
+			cardButtons.get(slot).pseudoClassStateChanged(Styles.SELECTED, true);
+		} else if(selectedSlot == slot) {
+			selectedSlot = null;
+			cardButtons.get(slot).pseudoClassStateChanged(Styles.SELECTED, false);
 		} else {
 			throw new RuntimeException("You already have a card selected.");
 		}
@@ -4,13 +4,21 @@ import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.EmptyStackException;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.List;
+import java.util.SplittableRandom;
 
 import components.Card;
+import components.Move;
+import components.MoveSource;
+import components.PackedGameState;
+import components.TurnAction;
 import components.gameCollections.ClearedPile;
 import components.gameCollections.DrawPile;
 import components.gameCollections.FoundationPile;
+import components.playerCollections.DiscardPile;
+import components.playerCollections.Hand;
 import users.Player;
 import users.PlayerAI;
 import users.PlayerColor;
@@ -48,6 +56,13 @@ public class SkipBoGameModel {
 	protected PropertyChangeSupport pcs = new PropertyChangeSupport(this);
 	
 	private int id;
+	
+	/*Every random choice in this game comes from here, so a game can be replayed from its seed*/
+	private SplittableRandom random;
+	
+	/*What the current player has done so far this turn, and what the previous player did on theirs*/
+	private ArrayList<TurnAction> turnActions = new ArrayList<TurnAction>();
+	private List<TurnAction> lastTurnActions = Collections.emptyList();
 
 	
 	/**
@@ -56,6 +71,7 @@ public class SkipBoGameModel {
 	 */
 	public SkipBoGameModel() {
 		players = new Player[2];
+		random = new SplittableRandom();
 		resetSkipBoGame();
 	}
 	
@@ -70,7 +86,10 @@ public class SkipBoGameModel {
 		turn = oldGame.getTurn();
 		hasWinner = oldGame.isHasWinner();
 		initialDrawDone = oldGame.isInitialDrawDone();
-		id = ThreadLocalRandom.current().nextInt(0,10000);
+		random = oldGame.getRandom().split();
+		id = random.nextInt(0,10000);
+		turnActions = new ArrayList<TurnAction>(oldGame.getTurnActions());
+		lastTurnActions = oldGame.getLastTurnActions();
 		
 		// Draw Pile
 		drawPile = new DrawPile(oldGame.getDrawPile());
@@ -108,11 +127,81 @@ public class SkipBoGameModel {
 	public SkipBoGameModel(String playerOneName, PlayerColor playerOneColor, String playerTwoName, 
 			PlayerColor playerTwoColor, PlayerType playerTwoType, int gameLength) {
 		players = new Player[2];
+		random = new SplittableRandom();
 		resetSkipBoGame(playerOneName, playerOneColor, playerTwoName, playerTwoColor, 
 				playerTwoType, gameLength);
 	}
 	
 	
+	/**
+	 * Constructor
+	 * @param playerOneName the Name of Player One
+	 * @param playerOneColor the Color associated with Player One
+	 * @param playerOneType the Player Type of Player One
+	 * @param playerTwoName the Name of Player Two
+	 * @param playerTwoColor the Color associated with Player Two
+	 * @param playerTwoType the Player Type of Player Two
+	 * @param gameLength the depth of the Stock, in Cards, at the start of the game. 
+	 * More Cards makes for a longer game.
+	 */
+	public SkipBoGameModel(String playerOneName, PlayerColor playerOneColor, PlayerType playerOneType, 
+			String playerTwoName, PlayerColor playerTwoColor, PlayerType playerTwoType, int gameLength) {
+		this(playerOneName, playerOneColor, playerOneType, playerTwoName, playerTwoColor, playerTwoType, 
+				gameLength, new SplittableRandom());
+	}
+	
+	
+	/**
+	 * Constructor
+	 * Every shuffle and random choice in the game comes from the given source, 
+	 * 	so two games made with the same seed play out the same way.
+	 * @param playerOneName the Name of Player One
+	 * @param playerOneColor the Color associated with Player One
+	 * @param playerOneType the Player Type of Player One
+	 * @param playerTwoName the Name of Player Two
+	 * @param playerTwoColor the Color associated with Player Two
+	 * @param playerTwoType the Player Type of Player Two
+	 * @param gameLength the depth of the Stock, in Cards, at the start of the game. 
+	 * More Cards makes for a longer game.
+	 * @param random the source of randomness for this game
+	 */
+	public SkipBoGameModel(String playerOneName, PlayerColor playerOneColor, PlayerType playerOneType, 
+			String playerTwoName, PlayerColor playerTwoColor, PlayerType playerTwoType, int gameLength, 
+			SplittableRandom random) {
+		players = new Player[2];
+		this.random = random;
+		resetSkipBoGame(playerOneName, playerOneColor, playerOneType, playerTwoName, playerTwoColor, 
+				playerTwoType, gameLength);
+	}
+	
+	
+	/**
+	 * Constructor for a game restored from a GameSnapshot. 
+	 * Everything given becomes part of this game, rather than being copied.
+	 * @param id the game's id
+	 * @param turn the turn counter
+	 * @param initialDrawDone true if the current player has already drawn this turn
+	 * @param hasWinner true if the game is over
+	 * @param drawPile the deck
+	 * @param clearedPile the cleared cards
+	 * @param foundationPiles the four FoundationPiles
+	 * @param players the two players
+	 * @param random the source of randomness for the rest of this game
+	 */
+	SkipBoGameModel(int id, int turn, boolean initialDrawDone, boolean hasWinner, DrawPile drawPile, 
+			ClearedPile clearedPile, FoundationPile[] foundationPiles, Player[] players, SplittableRandom random) {
+		this.turn = turn;
+		this.initialDrawDone = initialDrawDone;
+		this.hasWinner = hasWinner;
+		this.drawPile = drawPile;
+		this.clearedPile = clearedPile;
+		this.foundationPiles = foundationPiles;
+		this.players = players;
+		this.random = random;
+		this.id = id;
+	}
+	
+	
 	/**
 	 * Resets the game, including information about players, turn mechanics, 
 	 * 	cards, and all the involved data structures. 
@@ -136,13 +225,39 @@ public class SkipBoGameModel {
 	 */
 	public void resetSkipBoGame(String playerOneName, PlayerColor playerOneColor, String playerTwoName, 
 			PlayerColor playerTwoColor, PlayerType playerTwoType, double gameLength) throws RuntimeException {
+		resetSkipBoGame(playerOneName, playerOneColor, PlayerType.HUMAN, playerTwoName, playerTwoColor, 
+				playerTwoType, gameLength);
+	}
+	
+	
+	/**
+	 * Resets the game, including information about players, turn mechanics, 
+	 * 	cards, and all the involved data structures.
+	 * @param playerOneName the Name of Player One
+	 * @param playerOneColor the Color associated with Player One
+	 * @param playerOneType the Player Type of Player One
+	 * @param playerTwoName the Name of Player Two
+	 * @param playerTwoColor the Color associated with Player Two
+	 * @param playerTwoType the Player Type of Player Two
+	 * @param gameLength the depth of the Stock, in Cards, at the start of the game. 
+	 * More Cards makes for a longer game.
+	 */
+	public void resetSkipBoGame(String playerOneName, PlayerColor playerOneColor, PlayerType playerOneType, 
+			String playerTwoName, PlayerColor playerTwoColor, PlayerType playerTwoType, double gameLength) 
+					throws RuntimeException {
 		turn = 0;
 		hasWinner = false;
 		initialDrawDone = false;
-		id = ThreadLocalRandom.current().nextInt(0,10000);
+		id = random.nextInt(0,10000);
+		turnActions = new ArrayList<TurnAction>();
+		lastTurnActions = Collections.emptyList();
 		
 		// Set up Players
-		players[0] = new Player("-");
+		if(playerOneType.equals(PlayerType.HUMAN)) {
+			players[0] = new Player("-");
+		} else {
+			players[0] = new PlayerAI("-");
+		}
 		if(playerTwoType.equals(PlayerType.HUMAN)) {
 			players[1] = new Player("-");
 		} else {
@@ -159,7 +274,7 @@ public class SkipBoGameModel {
 		}
 		
 		// Set up the new DrawPile and ClearedPile
-		drawPile = new DrawPile();
+		drawPile = new DrawPile(random);
 		clearedPile = new ClearedPile();
 		
 		// Make sure the game length is valid
@@ -189,6 +304,7 @@ public class SkipBoGameModel {
 	
 	/**
 	 * Plays a Card.
+	 * This is a thin adapter over play(Move) for the command-style location strings.
 	 * @param from Source of Card
 	 * @param to Destination of Card
 	 * @throws Exception if the move is invalid
@@ -198,35 +314,204 @@ public class SkipBoGameModel {
 			pcs.firePropertyChange("gameOver", null, null);
 			return;
 		}
-		
-		// Checks if the "to" destination is valid
-		int foundationIndex;
-		if(to.matches("f(1|2|3|4)")) {
-			foundationIndex = indexConvertUtil(to.charAt(1), true);
-		} else {
+		play(Move.parsePlay(from, to));
+	}
+	
+	
+	/**
+	 * Plays a Card.
+	 * @param move the Move to make. Must be a play onto a Foundation.
+	 * @throws Exception if the move is invalid
+	 */
+	public void play(Move move) throws RuntimeException {
+		if(hasWinner()) {
+			pcs.firePropertyChange("gameOver", null, null);
+			return;
+		}
+		if(move.isDiscard()) {
 			throw new RuntimeException("Must play to a foundation, f1-4.");
 		}
 		
+		// Remember what's being changed, for the fine-grained events
+		int foundation = move.getFoundation();
+		Card oldFoundationTop = getFoundationTop(foundation);
+		Card played = getSourceCard(move.getSource(), move.getIndex());
+		
+		// Call the right method based on which source type it is
+		switch(move.getSource()) {
+			case HAND:
+				playFromHand(move.getIndex(), move.getFoundation());
+				break;
+			case DISCARD:
+				playFromDiscard(move.getIndex(), move.getFoundation());
+				break;
+			default:
+				playFromStock(move.getFoundation());
+		}
 		
-		// Checks if the "from" destination is valid
-		if(from.matches("(ss)|(h(0|1|2|3|4))|(d(1|2|3|4))")) {
-			// Call the right method based on which destination type it is
-			if(from.charAt(0) == 'h') { // Hand
-				int handIndex = indexConvertUtil(from.charAt(1), false);
-				playFromHand(handIndex, foundationIndex);
-			} else if (from.charAt(0) == 'd') { // Discard Pile
-				int discardIndex = indexConvertUtil(from.charAt(1), true);
-				playFromDiscard(discardIndex, foundationIndex);
-			} else { // Foundation Pile
-				playFromStock(foundationIndex);
+		pcs.fireIndexedPropertyChange("foundation", foundation, oldFoundationTop, getFoundationTop(foundation));
+		switch(move.getSource()) {
+			case HAND:
+				fireHandShift(move.getIndex(), played);
+				break;
+			case DISCARD:
+				// No old value, since the Card underneath can be the same as the one played
+				pcs.fireIndexedPropertyChange("discardPile", move.getIndex(), null, getDiscardTop(move.getIndex()));
+				break;
+			default:
+				pcs.firePropertyChange("stockTop", null, getStockTop(true));
+		}
+		turnActions.add(TurnAction.play(move));
+		pcs.firePropertyChange("play", null, move);
+	}
+	
+	
+	/**
+	 * Utility function that finds the top Card of a FoundationPile
+	 * @param foundationIndex which FoundationPile (0-3)
+	 * @return the Card, or null if the FoundationPile is empty
+	 */
+	private Card getFoundationTop(int foundationIndex) {
+		return foundationPiles[foundationIndex].isEmpty() ? null : foundationPiles[foundationIndex].peek();
+	}
+	
+	
+	/**
+	 * Utility function that finds the top Card of one of the current player's DiscardPiles
+	 * @param discardIndex which DiscardPile (0-3)
+	 * @return the Card, or null if the DiscardPile is empty
+	 */
+	private Card getDiscardTop(int discardIndex) {
+		DiscardPile pile = currentPlayer().discardPiles[discardIndex];
+		return pile.isEmpty() ? null : pile.peek();
+	}
+	
+	
+	/**
+	 * Utility function that fires "handSlot" events after a Card leaves the current player's Hand. 
+	 * Every Card after it moves down a slot, so every slot from there on has changed.
+	 * @param removedIndex the slot the Card left
+	 * @param removed the Card that left
+	 */
+	private void fireHandShift(int removedIndex, Card removed) {
+		if(!pcs.hasListeners(null)) {
+			return;
+		}
+		Hand hand = currentPlayer().hand;
+		// The old Card in each slot is the new Card in the slot before it
+		Card oldCard = removed;
+		for(int i = removedIndex; i <= hand.size(); i++) {
+			Card newCard = hand.getAt(i);
+			pcs.fireIndexedPropertyChange("handSlot", i, oldCard, newCard);
+			oldCard = newCard;
+		}
+	}
+	
+	
+	/**
+	 * Checks if the current player could make a Move, without changing anything or throwing.
+	 * A discard is legal once the player has drawn, if their Hand has a Card at its index.
+	 * @param move the Move to check
+	 * @return true if the Move is valid
+	 */
+	public boolean isLegal(Move move) {
+		if(hasWinner) {
+			return false;
+		}
+		if(move.isDiscard()) {
+			return initialDrawDone && move.getIndex() < currentPlayer().hand.size();
+		}
+		if(move.getFoundation() < 0 || move.getFoundation() > 3) {
+			return false;
+		}
+		Card card = getSourceCard(move.getSource(), move.getIndex());
+		if(card == null) {
+			return false;
+		}
+		return card == Card.SKIPBO_UNPLAYED || card.getValue() == getFoundationValue(move.getFoundation()) + 1;
+	}
+	
+	
+	/**
+	 * Lists every valid play for the current player, without changing anything or throwing.
+	 * Moves from the Hand come first, then the Discard Piles, then the Stock.
+	 * @return the valid Moves
+	 */
+	public ArrayList<Move> legalMoves() {
+		ArrayList<Move> moves = new ArrayList<Move>();
+		if(hasWinner) {
+			return moves;
+		}
+		for(int h = 0; h < currentPlayer().hand.size(); h++) {
+			addLegalMoves(moves, MoveSource.HAND, h);
+		}
+		for(int d = 0; d < 4; d++) {
+			addLegalMoves(moves, MoveSource.DISCARD, d);
+		}
+		addLegalMoves(moves, MoveSource.STOCK, 0);
+		return moves;
+	}
+	
+	
+	/**
+	 * Utility function that adds every Foundation a particular Card can be played on to a list of Moves
+	 * @param moves the list to add to
+	 * @param source where the Card is
+	 * @param index index within the source
+	 */
+	private void addLegalMoves(ArrayList<Move> moves, MoveSource source, int index) {
+		Card card = getSourceCard(source, index);
+		if(card == null) {
+			return;
+		}
+		for(int f = 0; f < 4; f++) {
+			if(card == Card.SKIPBO_UNPLAYED || card.getValue() == getFoundationValue(f) + 1) {
+				moves.add(Move.play(source, index, f));
 			}
-		} else {
-			throw new RuntimeException(
-					"Must play from your hand, stock, or discard piles; h0-4, ss, or d1-4.");
 		}
-		pcs.firePropertyChange("play" + from + to, null, null);
 	}
-
+	
+	
+	/**
+	 * Utility function that finds the Card the current player would be playing from a source
+	 * @param source where the Card is
+	 * @param index index within the Hand (0-4) or of the DiscardPile (0-3). Ignored for the Stock.
+	 * @return the Card, or null if there is no Card there that can be played right now
+	 */
+	private Card getSourceCard(MoveSource source, int index) {
+		Player current = currentPlayer();
+		switch(source) {
+			case HAND:
+				if(!initialDrawDone || !current.hand.hasElementAt(index)) {
+					return null;
+				}
+				return current.hand.getAt(index);
+			case DISCARD:
+				if(index < 0 || index > 3 || current.discardPiles[index].isEmpty()) {
+					return null;
+				}
+				return current.discardPiles[index].peek();
+			default:
+				if(current.stockEmpty()) {
+					return null;
+				}
+				return current.peekStock();
+		}
+	}
+	
+	
+	/**
+	 * Utility function that finds the value of the top Card of a FoundationPile
+	 * @param foundationIndex which FoundationPile (0-3)
+	 * @return the value, 0 if the FoundationPile is empty
+	 */
+	private int getFoundationValue(int foundationIndex) {
+		if (foundationPiles[foundationIndex].isEmpty()) {
+			return 0;
+		}
+		return foundationPiles[foundationIndex].peek().getValue();
+	}
+	
 	
 	/**
 	 * Plays a Card from the Hand to a FoundationPile
@@ -309,7 +594,7 @@ public class SkipBoGameModel {
 		if ((foundationValue + 1) == discardValue) {
 			if (discardIsSkipBo) {
 				foundationPiles[foundationIndex].push(Card.getSkipBoized(discardValue));
-				currentPlayer().popStock();
+				currentPlayer().discardPiles[discardIndex].pop();
 			} else {
 				foundationPiles[foundationIndex].push(currentPlayer().discardPiles[discardIndex].pop());
 			}
@@ -368,7 +653,9 @@ public class SkipBoGameModel {
 	
 	
 	/**
-	 * Draws up to a full Hand of Cards for the current player from the DrawPile
+	 * Draws up to a full Hand of Cards for the current player from the DrawPile. 
+	 * If the deck runs out partway, the Hand stays short, the same as in a PackedGameState.
+	 * @return the number of Cards drawn
 	 * @throws Exception if this is not a valid time for the player to draw Cards
 	 */
 	public int drawCards() throws RuntimeException {
@@ -381,22 +668,27 @@ public class SkipBoGameModel {
 			throw new RuntimeException ("Cannot draw after playing cards, unless you play all of the cards.");
 		}
 		Player current = players[turn%2];
+		int oldDeckSize = drawPile.size();
 		
-		int cardsDrawn = 0;
-		while(current.canAddToHand()) {
-			current.addToHand(drawPile.draw());
-			cardsDrawn++;
+		ArrayList<Card> drawn = new ArrayList<Card>();
+		// With most of the Cards out in the Stocks and Discard Piles, the deck and the ClearedPile can both run out
+		while(current.canAddToHand() && drawPile.size() > 0) {
+			Card card = drawPile.draw();
+			current.addToHand(card);
+			drawn.add(card);
+			pcs.fireIndexedPropertyChange("handSlot", current.hand.size() - 1, null, card);
 		}
 		if (!initialDrawDone) {
 			initialDrawDone = true;
 		}
 		if (drawPile.gettingLow()) {
-			drawPile.shuffleIn(clearedPile.getAll());
-			clearedPile.reset();
+			drawPile.refill(clearedPile, random);
 		}
 		
+		turnActions.add(TurnAction.draw(drawn));
+		pcs.firePropertyChange("deckCount", oldDeckSize, drawPile.size());
 		pcs.firePropertyChange("draw", null, null);
-		return cardsDrawn;
+		return drawn.size();
 	}
 	
 	
@@ -414,6 +706,7 @@ public class SkipBoGameModel {
 	
 	/**
 	 * Moves a Card from the current player's Hand to one of their Discard piles.
+	 * This is a thin adapter over discard(Move) for the command-style location strings.
 	 * @param hand "h#" where # is the index within the Hand (0 to 4)
 	 * @param discard "d#" where # is the index/id of the discard pile (1 to 4)
 	 * @throws Exception if the Hand index is invalid
@@ -423,17 +716,35 @@ public class SkipBoGameModel {
 			pcs.firePropertyChange("gameOver", null, null);
 			return;
 		}
+		discard(Move.parseDiscard(hand, discard));
+	}
+	
+	
+	/**
+	 * Moves a Card from the current player's Hand to one of their Discard piles.
+	 * @param move the Move to make. Must be a discard.
+	 * @throws Exception if the move is invalid
+	 */
+	public void discard(Move move) throws RuntimeException {
+		if(hasWinner()) {
+			pcs.firePropertyChange("gameOver", null, null);
+			return;
+		}
+		if(!move.isDiscard()) {
+			throw new RuntimeException("Must discard from your hand to a discard pile; h0-4 and d1-4.");
+		}
 		
 		if(!initialDrawDone) {
 			throw new RuntimeException("You must draw cards before you can end your turn.");
 		}
 		
-		int handI = indexConvertUtil(hand.charAt(1), false);
-		int discardI = indexConvertUtil(discard.charAt(1), true);
+		Card discarded = currentPlayer().hand.getAt(move.getIndex());
+		currentPlayer().discard(move.getIndex(), move.getDiscardPile());
 		
-		currentPlayer().discard(handI, discardI);
-		
-		pcs.firePropertyChange("discard", null, null);
+		fireHandShift(move.getIndex(), discarded);
+		pcs.fireIndexedPropertyChange("discardPile", move.getDiscardPile(), null, getDiscardTop(move.getDiscardPile()));
+		turnActions.add(TurnAction.discard(move));
+		pcs.firePropertyChange("discard", null, move);
 		doneWithTurn();
 		
 	}
@@ -446,6 +757,8 @@ public class SkipBoGameModel {
 	private void doneWithTurn() {
 		turn++;
 		initialDrawDone = false;
+		lastTurnActions = Collections.unmodifiableList(turnActions);
+		turnActions = new ArrayList<TurnAction>();
 		if(currentPlayer().getPlayerType() == PlayerType.AI) {
 			pcs.firePropertyChange("newAITurn", null, null);
 		}
@@ -486,6 +799,35 @@ public class SkipBoGameModel {
 		return id;
 	}
 	
+	
+	/**
+	 * Gets the source of randomness for this game. 
+	 * Copies of the game get their own stream split off from this one.
+	 * @return the random source
+	 */
+	public SplittableRandom getRandom() {
+		return random;
+	}
+	
+	
+	/**
+	 * Gets everything the current player has done so far this turn, in order
+	 * @return the actions. Copies of the game get their own list.
+	 */
+	public List<TurnAction> getTurnActions() {
+		return Collections.unmodifiableList(turnActions);
+	}
+	
+	
+	/**
+	 * Gets everything the previous player did on their turn, in order, ending with their discard. 
+	 * This is how a view can show an AI's turn one step at a time after it has already been taken.
+	 * @return the actions, or an empty list before the first turn is over
+	 */
+	public List<TurnAction> getLastTurnActions() {
+		return lastTurnActions;
+	}
+	
 	/**
 	 * Gets the name of a particular Player
 	 * @param forCurrent true if for the current Player, false if for the opponent Player
@@ -754,14 +1096,30 @@ public class SkipBoGameModel {
 	 * @throws Exception if the input was invalid
 	 */
 	public Card getCardAt(boolean forCurrent, String cardString) throws Exception {
-		if(cardString.matches("ss")) {
-			return getStockTop(forCurrent);
-		} else if (cardString.matches("d[1-4]")) {
-			return getDiscardTop(forCurrent, cardString.charAt(1));
-		} else if (cardString.matches("f[1-4]")) {
-			return getFoundationTop(cardString.charAt(1));
-		} else if (cardString.matches("h[0-4]")) {
-			return getHandAtIndex(forCurrent, cardString.charAt(1));
+		if(cardString.length() == 2) {
+			char index = cardString.charAt(1);
+			switch(cardString.charAt(0)) {
+				case 's':
+					if(index == 's') {
+						return getStockTop(forCurrent);
+					}
+					break;
+				case 'd':
+					if(index >= '1' && index <= '4') {
+						return getDiscardTop(forCurrent, index);
+					}
+					break;
+				case 'f':
+					if(index >= '1' && index <= '4') {
+						return getFoundationTop(index);
+					}
+					break;
+				case 'h':
+					if(index >= '0' && index <= '4') {
+						return getHandAtIndex(forCurrent, index);
+					}
+					break;
+			}
 		}
 		
 		throw new Exception("invalid input.");
@@ -788,6 +1146,10 @@ public class SkipBoGameModel {
 	 * @return if the games are equivalent
 	 */
 	public boolean equals(SkipBoGameModel other) {
+		if(turn != other.getTurn() || initialDrawDone != other.isInitialDrawDone() || 
+				hasWinner != other.isHasWinner()) {
+			return false;
+		}
 		if(drawPile.size() != other.getDrawPile().size()) {
 			return false;
 		}
@@ -795,8 +1157,8 @@ public class SkipBoGameModel {
 			return false;
 		}
 
-		Integer[] thisTops = new Integer[4];
-		Integer[] otherTops = new Integer[4];
+		int[] thisTops = new int[4];
+		int[] otherTops = new int[4];
 		for(int f = 0; f < 4; f++) {
 			if(foundationPiles[f].isEmpty()) {
 				thisTops[f] = 0;
@@ -826,6 +1188,30 @@ public class SkipBoGameModel {
 		return true;
 	}
 
+	
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj) {
+			return true;
+		}
+		if(!(obj instanceof SkipBoGameModel)) {
+			return false;
+		}
+		return equals((SkipBoGameModel) obj);
+	}
+	
+	
+	/**
+	 * Hashes this game the same way a PackedGameState of it would be hashed, 
+	 * so that equivalent game states have the same hash.
+	 * Hashing doesn't touch the game's Random.
+	 * @return the hash code
+	 */
+	@Override
+	public int hashCode() {
+		return PackedGameState.hashOf(this);
+	}
+
 
 	@Override
 	public String toString() {
@@ -848,6 +1234,17 @@ public class SkipBoGameModel {
 
 	/**
 	 * A way for observers to subscribe
+	 * Besides the events for each action ("play", "draw", "discard", "newTurn" and so on), 
+	 * 	the model fires fine-grained events for the parts of the table an action changed, 
+	 * 	so that views only need to redraw those. Indices are 0-based and Cards are null for empty spaces.
+	 * 	"foundation" (indexed by Foundation), with the old and new top Cards, 
+	 * 	"handSlot" (indexed by slot), with the old and new Cards in it, for the current player only, 
+	 * 	"stockTop" and "discardPile" (indexed by pile), for the current player only, 
+	 * 	and "deckCount", with the old and new number of Cards in the deck.
+	 * "stockTop" and "discardPile" only have the new top Card, and no old one. 
+	 * 	The new top can be the same Card as the old one, and an event whose old and new values are equal isn't fired, 
+	 * 	even though the pile's size has changed.
+	 * Whenever the turn changes, "newTurn" is fired, and everything should be redrawn.
 	 * @param listener
 	 */
 	public void addPropertyChangeListener(PropertyChangeListener listener) {
@@ -870,12 +1267,13 @@ public class SkipBoGameModel {
 				retLog.add("Turn log not available for human v. human games.");
 			} else if (players[1].getPlayerType() == PlayerType.AI) {
 				try {
-					if(players[(turn + 1) % 2].getMostRecentLogs() == null || 
-							players[(turn + 1) % 2].getMostRecentLogs().size() == 0) {
+					// The AI's log is only turned into text here, so only ask for it once
+					ArrayList<String> aiLog = players[(turn + 1) % 2].getMostRecentLogs();
+					if(aiLog == null || aiLog.size() == 0) {
 						retLog = new ArrayList<String>();
 						retLog.add("AI Player has not taken a turn yet.");
 					} else {
-						retLog = new ArrayList<String>(players[(turn + 1) % 2].getMostRecentLogs());
+						retLog = aiLog;
 					}
 				} catch (Exception e) {
 					e.printStackTrace();
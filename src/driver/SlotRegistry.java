@@ -0,0 +1,49 @@
+package driver;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Keeps track of which node shows which TableSlot. Lookups go straight to an array by the slot's id.
+ * @param <N> the kind of node, such as Button or Label
+ *
+ * @author Anna Heebsh
+ */
+public class SlotRegistry<N> {
+
+	private final Object[] nodes = new Object[TableSlot.COUNT];
+
+
+	/**
+	 * Files a node under a slot, replacing whatever was there
+	 * @param slot the slot
+	 * @param node the node that shows it
+	 */
+	public void put(TableSlot slot, N node) {
+		nodes[slot.getId()] = node;
+	}
+
+
+	/**
+	 * Gets the node that shows a slot
+	 * @param slot the slot
+	 * @return the node, or null if there isn't one
+	 */
+	@SuppressWarnings("unchecked")
+	public N get(TableSlot slot) {
+		return (N) nodes[slot.getId()];
+	}
+
+
+	/**
+	 * Does something with every slot that has a node
+	 * @param action what to do, given the slot and its node
+	 */
+	public void forEach(BiConsumer<TableSlot, N> action) {
+		for(TableSlot slot : TableSlot.values()) {
+			N node = get(slot);
+			if(node != null) {
+				action.accept(slot, node);
+			}
+		}
+	}
+}
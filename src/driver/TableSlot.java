@@ -0,0 +1,178 @@
+package driver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One place a Card can be shown on the table: whose side it's on, which pile, and which spot within it.
+ * Every slot is created once up front, so slots are compared with == and each has a small id
+ * 	that a SlotRegistry can look it up by.
+ *
+ * @author Anna Heebsh
+ */
+public final class TableSlot {
+
+	/**
+	 * Whose side of the table a slot is on
+	 */
+	public enum Owner {
+		OPPONENT, TABLE, CURRENT
+	}
+
+
+	/**
+	 * The kinds of pile, and how many spots each has
+	 */
+	public enum Pile {
+		STOCK(1), DISCARD(4), HAND(5), DRAW(1), FOUNDATION(4);
+
+		private final int size;
+
+
+		Pile(int size) {
+			this.size = size;
+		}
+
+
+		public int getSize() {
+			return size;
+		}
+	}
+
+
+	/*Every slot, by id*/
+	private static final List<TableSlot> SLOTS;
+	/*Every slot, by owner, pile, and index*/
+	private static final TableSlot[][][] LOOKUP =
+			new TableSlot[Owner.values().length][Pile.values().length][];
+
+	static {
+		ArrayList<TableSlot> slots = new ArrayList<TableSlot>();
+		for(Owner owner : Owner.values()) {
+			for(Pile pile : Pile.values()) {
+				// The Draw Pile and Foundations are shared. Everything else belongs to a player.
+				boolean shared = pile == Pile.DRAW || pile == Pile.FOUNDATION;
+				if(shared != (owner == Owner.TABLE)) {
+					continue;
+				}
+				LOOKUP[owner.ordinal()][pile.ordinal()] = new TableSlot[pile.getSize()];
+				for(int i = 0; i < pile.getSize(); i++) {
+					TableSlot slot = new TableSlot(owner, pile, i, slots.size());
+					LOOKUP[owner.ordinal()][pile.ordinal()][i] = slot;
+					slots.add(slot);
+				}
+			}
+		}
+		SLOTS = Collections.unmodifiableList(slots);
+	}
+
+	/*The number of slots there are*/
+	public static final int COUNT = SLOTS.size();
+
+	private final Owner owner;
+	private final Pile pile;
+	private final int index;
+	private final int id;
+
+
+	/**
+	 * Constructor
+	 * @param owner whose side of the table the slot is on
+	 * @param pile which pile it is
+	 * @param index the spot within the pile, from 0
+	 * @param id the slot's id
+	 */
+	private TableSlot(Owner owner, Pile pile, int index, int id) {
+		this.owner = owner;
+		this.pile = pile;
+		this.index = index;
+		this.id = id;
+	}
+
+
+	/**
+	 * Gets a slot
+	 * @param owner whose side of the table the slot is on
+	 * @param pile which pile it is
+	 * @param index the spot within the pile, from 0. Always 0 for the Stock and the Draw Pile.
+	 * @return the slot
+	 * @throws RuntimeException if there is no such slot
+	 */
+	public static TableSlot of(Owner owner, Pile pile, int index) throws RuntimeException {
+		TableSlot[] spots = LOOKUP[owner.ordinal()][pile.ordinal()];
+		if(spots == null || index < 0 || index >= spots.length) {
+			throw new RuntimeException("No " + pile + " " + index + " for " + owner + ".");
+		}
+		return spots[index];
+	}
+
+
+	/**
+	 * Gets every slot
+	 * @return the slots, in id order
+	 */
+	public static List<TableSlot> values() {
+		return SLOTS;
+	}
+
+
+	/**
+	 * Gets whose side of the table the slot is on
+	 * @return the owner
+	 */
+	public Owner getOwner() {
+		return owner;
+	}
+
+
+	/**
+	 * Gets which pile the slot is
+	 * @return the pile
+	 */
+	public Pile getPile() {
+		return pile;
+	}
+
+
+	/**
+	 * Gets the spot within the pile
+	 * @return the index, from 0
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+
+	/**
+	 * Gets the index the way the game's location strings write it: from 1 for piles, from 0 for the Hand
+	 * @return the index as a character
+	 */
+	public char getIndexChar() {
+		return (char) ((pile == Pile.HAND ? '0' : '1') + index);
+	}
+
+
+	/**
+	 * Gets the slot's id
+	 * @return a number from 0 up to COUNT
+	 */
+	public int getId() {
+		return id;
+	}
+
+
+	/**
+	 * Checks if the slot belongs to the player whose turn it is
+	 * @return true if it does
+	 */
+	public boolean isCurrent() {
+		return owner == Owner.CURRENT;
+	}
+
+
+	@Override
+	public String toString() {
+		return owner + " " + pile + " " + index;
+	}
+}
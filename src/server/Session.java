@@ -0,0 +1,212 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One player's connection to a SkipBoServer. Each session runs on its own thread,
+ * 	reading one command per line: lobby commands to open or join a Table,
+ * 	and then the ConsoleApp's commands, which go to the player's table.
+ *
+ * @author Anna Heebsh
+ */
+public class Session implements Runnable {
+
+	private static final Pattern NEW = Pattern.compile("new (\\w{1,16})");
+	private static final Pattern HOST = Pattern.compile("host (\\w{1,16})");
+	private static final Pattern JOIN = Pattern.compile("join (\\d{1,9}) (\\w{1,16})");
+
+	private final Socket socket;
+	private final SkipBoServer server;
+	/*Set once the session starts, and written to by other players' threads too*/
+	private volatile PrintWriter out;
+	/*The table the player is seated at, or null in the lobby. Another player leaving can clear it.*/
+	private volatile Table table;
+
+
+	/**
+	 * Constructor
+	 * @param socket the player's connection
+	 * @param server the server it came in on
+	 */
+	Session(Socket socket, SkipBoServer server) {
+		this.socket = socket;
+		this.server = server;
+	}
+
+
+	@Override
+	public void run() {
+		try (BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+				StandardCharsets.UTF_8))) {
+			out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+			send("Welcome to Skip-Bo. Type \"comms\" to see a list of commands.");
+
+			String line;
+			while((line = in.readLine()) != null) {
+				try {
+					if(!handle(line.strip())) {
+						break;
+					}
+				} catch (RuntimeException e) {
+					send("Looks like that command didn't work. " + e.getMessage());
+				}
+			}
+		} catch (IOException e) {
+			// The player dropped the connection, which ends the session the same as quitting
+		} finally {
+			Table current = table;
+			if(current != null) {
+				current.leave(this);
+			}
+			close();
+			server.sessionEnded(this);
+		}
+	}
+
+
+	/**
+	 * Carries out one command
+	 * @param command the command
+	 * @return false if the player quit
+	 * @throws RuntimeException if the command didn't work
+	 */
+	private boolean handle(String command) throws RuntimeException {
+		if(command.equals("quit")) {
+			send("Goodbye.");
+			return false;
+		}
+		if(command.equals("comms")) {
+			printCommandList();
+			return true;
+		}
+
+		Table current = table;
+		if(current != null) {
+			if(command.equals("leave")) {
+				current.leave(this);
+				table = null;
+				send("You left table " + current.getId() + ".");
+			} else {
+				current.handle(this, command);
+			}
+			return true;
+		}
+
+		Matcher matcher;
+		if(command.equals("tables")) {
+			List<Table> open = server.getRegistry().getOpenTables();
+			if(open.isEmpty()) {
+				send("No tables are waiting for a player.");
+			}
+			for(Table openTable : open) {
+				send("Table " + openTable.getId() + ", hosted by " + openTable.getHostName());
+			}
+		} else if((matcher = NEW.matcher(command)).matches()) {
+			checkName(matcher.group(1));
+			server.getRegistry().createAgainstAI(this, matcher.group(1)).handle(this, "show");
+		} else if((matcher = HOST.matcher(command)).matches()) {
+			checkName(matcher.group(1));
+			Table hosted = server.getRegistry().host(this, matcher.group(1));
+			send("Hosting table " + hosted.getId() + ". Waiting for someone to join.");
+		} else if((matcher = JOIN.matcher(command)).matches()) {
+			checkName(matcher.group(2));
+			server.getRegistry().join(Integer.parseInt(matcher.group(1)), this, matcher.group(2));
+		} else {
+			throw new RuntimeException("That input is not recognized. Type \"comms\" to see a "
+					+ "list of valid commands.");
+		}
+		return true;
+	}
+
+
+	/**
+	 * Makes sure a player isn't passing themselves off as the computer
+	 * @param name the name they asked for
+	 * @throws RuntimeException if it's the computer's name
+	 */
+	private void checkName(String name) throws RuntimeException {
+		if(name.equalsIgnoreCase(Table.AI_NAME)) {
+			throw new RuntimeException("That name is taken by the computer.");
+		}
+	}
+
+
+	/**
+	 * Sends the player some text. Safe to call from any thread.
+	 * @param message the text, which may run over several lines
+	 */
+	public void send(String message) {
+		PrintWriter writer = out;
+		if(writer != null) {
+			writer.println(message);
+		}
+	}
+
+
+	/**
+	 * Tells the session it has been seated at a table.
+	 * The table does this itself, under its lock, so the player can't be told about a table they aren't at yet.
+	 * @param seatedAt the table
+	 */
+	void seat(Table seatedAt) {
+		table = seatedAt;
+	}
+
+
+	/**
+	 * Tells the session its table has closed, putting the player back in the lobby
+	 * @param closed the table that closed
+	 */
+	void leftTable(Table closed) {
+		if(table == closed) {
+			table = null;
+			send("You're back in the lobby. Type \"comms\" to see a list of commands.");
+		}
+	}
+
+
+	/**
+	 * Closes the connection, which ends the session's thread if it's waiting on the player
+	 */
+	void close() {
+		try {
+			socket.close();
+		} catch (IOException e) {
+			// Already closed
+		}
+	}
+
+
+	/**
+	 * Prints info about all the commands and how to use them.
+	 */
+	private void printCommandList() {
+		send("All input must be lowercase. Names are up to 16 letters, digits, or underscores.\n"
+				+ "IN THE LOBBY:\n"
+				+ "tables              List the tables waiting for a player.\n"
+				+ "new <name>          Play against the computer.\n"
+				+ "host <name>         Open a table and wait for someone to join it.\n"
+				+ "join <id> <name>    Join an open table.\n"
+				+ "AT A TABLE:\n"
+				+ "draw                Draw cards from the deck to fill your hand.\n"
+				+ "discard h# on d#    Discard a card from your hand to a discard pile.\n"
+				+ "play h# on f#       Play a card from your hand onto a foundation.\n"
+				+ "play d# on f#       Play a card from your discard piles onto a foundation.\n"
+				+ "play ss on f#       Play your stock card onto a foundation.\n"
+				+ "show                See the table again.\n"
+				+ "new                 Play again, once the game is over.\n"
+				+ "leave               Leave the table, which ends its game.\n"
+				+ "ANYWHERE:\n"
+				+ "comms               See the list of commands.\n"
+				+ "quit                Disconnect.");
+	}
+}
@@ -0,0 +1,202 @@
+package server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import users.AIService;
+
+/**
+ * A TCP server that hosts many games of Skip-Bo at once, each at its own Table.
+ * Players connect with any line-based client, such as telnet or nc, and type the same commands as in the ConsoleApp.
+ * Each connection gets its own Session thread, which spends nearly all its time blocked waiting on its player.
+ * The computer's turns, which are the real work, are all played by one AIService,
+ * 	so a rush of them shares the cores instead of piling onto them.
+ * The server can be embedded: construct it, start() it, and close() it when done.
+ * Given port 0, it picks a free port, which getPort() tells.
+ *
+ * Usage: SkipBoServer [port] [stock length]
+ *
+ * @author Anna Heebsh
+ */
+public class SkipBoServer implements Closeable {
+
+	public static final int DEFAULT_PORT = 5151;
+
+	private final ServerSocket serverSocket;
+	private final TableRegistry registry;
+	/*Closed along with the server, unless it was handed in*/
+	private final AIService aiService;
+	private final boolean ownsAIService;
+	private final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+	private final AtomicLong connections = new AtomicLong();
+	private Thread acceptThread;
+	private volatile boolean closed;
+
+
+	/**
+	 * Main method. Runs a server until the process is stopped.
+	 * @param args port, stock length
+	 * @throws IOException if the port can't be listened on
+	 */
+	public static void main(String[] args) throws IOException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		int gameLength = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+		SkipBoServer server = new SkipBoServer(null, port, gameLength);
+		server.start();
+		System.out.println("Skip-Bo server listening on port " + server.getPort() + ".");
+	}
+
+
+	/**
+	 * Constructor. Listens on every address, but doesn't accept anyone until started.
+	 * @param port the port to listen on, or 0 for any free port
+	 * @param gameLength the depth of the Stock, in Cards, at the start of each game
+	 * @throws IOException if the port can't be listened on
+	 */
+	public SkipBoServer(int port, int gameLength) throws IOException {
+		this(null, port, gameLength);
+	}
+
+
+	/**
+	 * Constructor. Doesn't accept anyone until started.
+	 * @param address the address to listen on, such as the loopback address for testing, or null for every address
+	 * @param port the port to listen on, or 0 for any free port
+	 * @param gameLength the depth of the Stock, in Cards, at the start of each game
+	 * @throws IOException if the port can't be listened on
+	 */
+	public SkipBoServer(InetAddress address, int port, int gameLength) throws IOException {
+		this(address, port, gameLength, null);
+	}
+
+
+	/**
+	 * Constructor. Doesn't accept anyone until started.
+	 * @param address the address to listen on, such as the loopback address for testing, or null for every address
+	 * @param port the port to listen on, or 0 for any free port
+	 * @param gameLength the depth of the Stock, in Cards, at the start of each game
+	 * @param aiService where to play the computer's turns, such as a service shared with simulations, 
+	 * 	or null for the server to have its own
+	 * @throws IOException if the port can't be listened on
+	 */
+	public SkipBoServer(InetAddress address, int port, int gameLength, AIService aiService) throws IOException {
+		ownsAIService = aiService == null;
+		this.aiService = ownsAIService ? new AIService() : aiService;
+		registry = new TableRegistry(gameLength, this.aiService);
+		serverSocket = new ServerSocket();
+		try {
+			serverSocket.setReuseAddress(true);
+			// A big backlog, so a rush of players connecting at once isn't turned away
+			serverSocket.bind(new InetSocketAddress(address, port), 1024);
+		} catch (IOException e) {
+			serverSocket.close();
+			if(ownsAIService) {
+				this.aiService.close();
+			}
+			throw e;
+		}
+	}
+
+
+	/**
+	 * Starts accepting players, on a thread of its own
+	 * @throws RuntimeException if the server was already started, or has been closed
+	 */
+	public synchronized void start() throws RuntimeException {
+		if(acceptThread != null || closed) {
+			throw new RuntimeException("The server can only be started once.");
+		}
+		acceptThread = new Thread(this::acceptPlayers, "skipbo-accept");
+		acceptThread.start();
+	}
+
+
+	/**
+	 * Accepts players until the server is closed, starting a Session thread for each one
+	 */
+	private void acceptPlayers() {
+		while(!closed) {
+			try {
+				Socket socket = serverSocket.accept();
+				// Commands are a line at a time, so send each answer right away
+				socket.setTcpNoDelay(true);
+				Session session = new Session(socket, this);
+				sessions.add(session);
+				if(closed) {
+					session.close();
+				}
+				Thread thread = new Thread(session, "skipbo-session-" + connections.incrementAndGet());
+				thread.setDaemon(true);
+				thread.start();
+			} catch (SocketException e) {
+				// The server socket was closed, or the player hung up before they were accepted
+				if(serverSocket.isClosed()) {
+					return;
+				}
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+
+	/**
+	 * Gets the port the server is listening on
+	 * @return the port
+	 */
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+
+	/**
+	 * Gets the tables the server is hosting
+	 * @return the registry
+	 */
+	public TableRegistry getRegistry() {
+		return registry;
+	}
+
+
+	/**
+	 * Gets the number of players connected
+	 * @return the count
+	 */
+	public int getSessionCount() {
+		return sessions.size();
+	}
+
+
+	/**
+	 * Forgets a session once its player has gone
+	 * @param session the session
+	 */
+	void sessionEnded(Session session) {
+		sessions.remove(session);
+	}
+
+
+	/**
+	 * Stops accepting players and disconnects everyone who is connected
+	 */
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		serverSocket.close();
+		for(Session session : sessions) {
+			session.close();
+		}
+		if(ownsAIService) {
+			aiService.close();
+		}
+	}
+}
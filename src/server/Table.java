@@ -0,0 +1,290 @@
+package server;
+
+import java.util.regex.Pattern;
+
+import driver.SkipBoGameModel;
+import users.AIService;
+import users.PlayerColor;
+import users.PlayerType;
+
+/**
+ * One game being hosted by a SkipBoServer, and the sessions seated at it.
+ * A table is either against the computer, whose turns are played as soon as they come up
+ * 	by the server's AIService, or hosted for a second player to join.
+ * Every change to a table's game goes through its lock, so its players' sessions can take turns
+ * 	from their own threads while any number of other tables play at the same time.
+ *
+ * @author Anna Heebsh
+ */
+public class Table {
+
+	/*The name the computer plays under*/
+	public static final String AI_NAME = "Computer";
+	/*How long a player waits on the computer, at most, queueing included*/
+	public static final long AI_TURN_MILLIS = 2000;
+
+	/*The same commands the ConsoleApp takes*/
+	private static final Pattern DRAW = Pattern.compile("draw");
+	private static final Pattern PLAY = Pattern.compile("(play )(h(0|1|2|3|4)|d(1|2|3|4)|ss) on f(1|2|3|4)");
+	private static final Pattern DISCARD = Pattern.compile("discard h(0|1|2|3|4) on d(1|2|3|4)");
+
+	private final int id;
+	private final TableRegistry registry;
+	private final boolean againstAI;
+	/*The sessions in each seat, and the names they play under. Seat 0 is the host, who goes first.*/
+	private final Session[] seats = new Session[2];
+	private final String[] names = new String[2];
+	/*Null until both seats are filled*/
+	private SkipBoGameModel game;
+	private boolean closed;
+
+
+	/**
+	 * Constructor. The TableRegistry makes tables.
+	 * @param id the table's id
+	 * @param registry the registry the table is filed in
+	 * @param host the host's session
+	 * @param hostName the host's name
+	 * @param againstAI true to play against the computer, false to wait for a second player
+	 * @throws RuntimeException if the game can't be set up with that name
+	 */
+	Table(int id, TableRegistry registry, Session host, String hostName, boolean againstAI)
+			throws RuntimeException {
+		this.id = id;
+		this.registry = registry;
+		this.againstAI = againstAI;
+		seats[0] = host;
+		names[0] = hostName;
+		if(againstAI) {
+			names[1] = AI_NAME;
+			game = newGame();
+		}
+		host.seat(this);
+	}
+
+
+	/**
+	 * Seats a second player, which starts the game
+	 * @param session the player's session
+	 * @param name the player's name
+	 * @throws RuntimeException if the table has no open seat, or the game can't be set up with that name
+	 */
+	synchronized void join(Session session, String name) throws RuntimeException {
+		if(!isOpen()) {
+			throw new RuntimeException("Table " + id + " has no open seat.");
+		}
+		names[1] = name;
+		try {
+			game = newGame();
+		} catch (RuntimeException e) {
+			names[1] = null;
+			throw e;
+		}
+		seats[1] = session;
+		session.seat(this);
+		broadcast();
+	}
+
+
+	/**
+	 * Carries out a command from one of the table's players, then plays any computer turns that follow,
+	 * 	and shows everyone the result. 
+	 * If the computer can't take its turn, the game can never go on, so the table is closed instead.
+	 * @param session the player's session
+	 * @param command the command, in the ConsoleApp's grammar
+	 * @throws RuntimeException if the command isn't recognized, isn't allowed right now, or the move is invalid
+	 */
+	public synchronized void handle(Session session, String command) throws RuntimeException {
+		int seat = seatOf(session);
+		if(closed || seat < 0) {
+			throw new RuntimeException("You aren't at table " + id + ".");
+		}
+		if(game == null) {
+			throw new RuntimeException("Nobody has joined yet.");
+		}
+
+		if(command.equals("show")) {
+			session.send(viewFor(seat));
+			return;
+		}
+		if(command.equals("new")) {
+			if(!game.hasWinner()) {
+				throw new RuntimeException("This game isn't over yet.");
+			}
+			game = newGame();
+		} else {
+			if(game.hasWinner()) {
+				throw new RuntimeException("This game is over. Type \"new\" to play again.");
+			}
+			if(!names[seat].equals(game.getPlayerName(true))) {
+				throw new RuntimeException("It's " + game.getPlayerName(true) + "'s turn.");
+			}
+			if(DRAW.matcher(command).matches()) {
+				game.drawCards();
+			} else if(PLAY.matcher(command).matches()) {
+				game.play(command.substring(5, 7), command.substring(11, 13));
+			} else if(DISCARD.matcher(command).matches()) {
+				game.discard(command.substring(8, 10), command.substring(14, 16));
+			} else {
+				throw new RuntimeException("That input is not recognized. Type \"comms\" to see a "
+						+ "list of valid commands.");
+			}
+		}
+
+		if(playAITurns()) {
+			broadcast();
+		}
+	}
+
+
+	/**
+	 * Takes a player away from the table, which closes it. Anyone else still seated is told so.
+	 * @param session the player's session
+	 */
+	public synchronized void leave(Session session) {
+		int seat = seatOf(session);
+		if(closed || seat < 0) {
+			return;
+		}
+		closed = true;
+		registry.remove(this);
+		Session other = seats[1 - seat];
+		if(other != null) {
+			other.send(names[seat] + " left the table.");
+			other.leftTable(this);
+		}
+	}
+
+
+	/**
+	 * Gets the table's id
+	 * @return the id, which is unique within its registry
+	 */
+	public int getId() {
+		return id;
+	}
+
+
+	/**
+	 * Gets the name of the player who opened the table
+	 * @return the name
+	 */
+	public synchronized String getHostName() {
+		return names[0];
+	}
+
+
+	/**
+	 * Checks if the table is waiting for a second player
+	 * @return true if a player can join it
+	 */
+	public synchronized boolean isOpen() {
+		return !closed && !againstAI && seats[1] == null;
+	}
+
+
+	/**
+	 * Checks if the table is against the computer
+	 * @return true if it is
+	 */
+	public boolean isAgainstAI() {
+		return againstAI;
+	}
+
+
+	/**
+	 * Gets a copy of the table's game as it stands
+	 * @return the copy, or null if the game hasn't started
+	 */
+	public synchronized SkipBoGameModel getGame() {
+		return game == null ? null : new SkipBoGameModel(game);
+	}
+
+
+	/**
+	 * Deals a new game between the table's players. The host always goes first.
+	 * @return the game
+	 * @throws RuntimeException if the game can't be set up with the players' names
+	 */
+	private SkipBoGameModel newGame() throws RuntimeException {
+		return new SkipBoGameModel(names[0], PlayerColor.RED, PlayerType.HUMAN, names[1], PlayerColor.BLUE,
+				againstAI ? PlayerType.AI : PlayerType.HUMAN, registry.getGameLength());
+	}
+
+
+	/**
+	 * Plays the computer's turns for as long as it's the computer's turn. 
+	 * If one of them can't be played, such as when the server is shutting down, the table is closed, 
+	 * 	since nobody could ever move again.
+	 * @return true if the game can go on, false if the table was closed
+	 */
+	private boolean playAITurns() {
+		try {
+			while(!game.hasWinner() && game.currentPlayer().getPlayerType() == PlayerType.AI) {
+				game = registry.getAIService().takeTurn(game, AIService.Priority.INTERACTIVE, AI_TURN_MILLIS);
+			}
+			return true;
+		} catch (RuntimeException e) {
+			closeForEveryone(AI_NAME + " couldn't take its turn, so table " + id + " has been closed. " 
+					+ e.getMessage());
+			return false;
+		}
+	}
+
+
+	/**
+	 * Closes the table, and sends everyone seated at it back to the lobby
+	 * @param reason what to tell them
+	 */
+	private void closeForEveryone(String reason) {
+		closed = true;
+		registry.remove(this);
+		for(int seat = 0; seat < 2; seat++) {
+			if(seats[seat] != null) {
+				seats[seat].send(reason);
+				seats[seat].leftTable(this);
+			}
+		}
+	}
+
+
+	/**
+	 * Shows each seated player the game from their side of the table
+	 */
+	private void broadcast() {
+		for(int seat = 0; seat < 2; seat++) {
+			if(seats[seat] != null) {
+				seats[seat].send(viewFor(seat));
+			}
+		}
+	}
+
+
+	/**
+	 * Describes the game for one of the players. Only the player whose turn it is sees the whole table,
+	 * 	since the game's text shows the current player's Hand.
+	 * @param seat the player's seat
+	 * @return the text to send them
+	 */
+	private String viewFor(int seat) {
+		if(game.hasWinner() || names[seat].equals(game.getPlayerName(true))) {
+			return game.toString();
+		}
+		return "Waiting for " + game.getPlayerName(true) + " to play.";
+	}
+
+
+	/**
+	 * Finds the seat a session is in
+	 * @param session the session
+	 * @return the seat, or -1 if it isn't at this table
+	 */
+	private int seatOf(Session session) {
+		for(int seat = 0; seat < 2; seat++) {
+			if(seats[seat] == session) {
+				return seat;
+			}
+		}
+		return -1;
+	}
+}
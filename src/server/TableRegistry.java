@@ -0,0 +1,147 @@
+package server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import users.AIService;
+
+/**
+ * Every Table a SkipBoServer is hosting, by id.
+ * Ids are handed out in order and never reused while the registry lives, so no two tables ever share one,
+ * 	no matter how many are open at once.
+ *
+ * @author Anna Heebsh
+ */
+public class TableRegistry {
+
+	private final ConcurrentHashMap<Integer, Table> tables = new ConcurrentHashMap<Integer, Table>();
+	private final AtomicInteger nextId = new AtomicInteger(1);
+	/*The depth of the Stock, in Cards, at the start of each table's games*/
+	private final int gameLength;
+	/*Where every table's computer turns are played*/
+	private final AIService aiService;
+
+
+	/**
+	 * Constructor
+	 * @param gameLength the depth of the Stock, in Cards, at the start of each table's games
+	 * @param aiService where the computer's turns are played
+	 * @throws RuntimeException if the game length is out of range
+	 */
+	public TableRegistry(int gameLength, AIService aiService) throws RuntimeException {
+		if(gameLength < 5 || gameLength >= 50) {
+			throw new RuntimeException("Stock must be from 5 to 49 Cards high.");
+		}
+		this.gameLength = gameLength;
+		this.aiService = aiService;
+	}
+
+
+	/**
+	 * Opens a table where a player plays against the computer. Their game starts right away.
+	 * @param session the player's session
+	 * @param name the player's name
+	 * @return the new table
+	 * @throws RuntimeException if the game can't be set up with that name
+	 */
+	public Table createAgainstAI(Session session, String name) throws RuntimeException {
+		Table table = new Table(nextId.getAndIncrement(), this, session, name, true);
+		tables.put(table.getId(), table);
+		return table;
+	}
+
+
+	/**
+	 * Opens a table with a seat left for another player to join
+	 * @param session the host's session
+	 * @param name the host's name
+	 * @return the new table
+	 */
+	public Table host(Session session, String name) {
+		Table table = new Table(nextId.getAndIncrement(), this, session, name, false);
+		tables.put(table.getId(), table);
+		return table;
+	}
+
+
+	/**
+	 * Takes the open seat at a table, which starts its game
+	 * @param id the table's id
+	 * @param session the joining player's session
+	 * @param name the joining player's name
+	 * @return the table
+	 * @throws RuntimeException if there is no such table, or it has no open seat
+	 */
+	public Table join(int id, Session session, String name) throws RuntimeException {
+		Table table = tables.get(id);
+		if(table == null) {
+			throw new RuntimeException("There is no table " + id + ".");
+		}
+		table.join(session, name);
+		return table;
+	}
+
+
+	/**
+	 * Gets a table
+	 * @param id the table's id
+	 * @return the table, or null if there isn't one with that id
+	 */
+	public Table get(int id) {
+		return tables.get(id);
+	}
+
+
+	/**
+	 * Lists the tables that are waiting for a second player
+	 * @return the open tables, by id
+	 */
+	public List<Table> getOpenTables() {
+		ArrayList<Table> open = new ArrayList<Table>();
+		for(Table table : tables.values()) {
+			if(table.isOpen()) {
+				open.add(table);
+			}
+		}
+		open.sort((a, b) -> Integer.compare(a.getId(), b.getId()));
+		return open;
+	}
+
+
+	/**
+	 * Gets the number of tables being hosted
+	 * @return the count
+	 */
+	public int size() {
+		return tables.size();
+	}
+
+
+	/**
+	 * Gets the depth of the Stock each table's games start with
+	 * @return the number of Cards
+	 */
+	public int getGameLength() {
+		return gameLength;
+	}
+
+
+	/**
+	 * Gets where the computer's turns are played
+	 * @return the service
+	 */
+	public AIService getAIService() {
+		return aiService;
+	}
+
+
+	/**
+	 * Forgets a table once everyone has left it
+	 * @param table the table
+	 */
+	void remove(Table table) {
+		tables.remove(table.getId(), table);
+	}
+}
@@ -1,56 +1,66 @@
 package styles;
 
+import javafx.css.PseudoClass;
+import javafx.scene.Node;
 import users.PlayerColor;
 
 /**
- * This sort of works as the style sheet for this project, albeit in a sort of hacky way.
- * I am sure there are better ways to style elements in JavaFx, but I have never been taught them.
- * 
+ * The names of the style classes in SkipBo.css, so the GUI never spells them out itself.
+ * Nodes pick up their looks from the stylesheet by class, and the selected card by pseudo-class,
+ * 	so repainting the table doesn't build or parse any CSS.
+ *
  * @author Anna Heebsh
  */
 public final class Styles {
 
-	public static final String SELECTED = "-fx-background-color: Yellow; -fx-border-color: Yellow;"
-			+ "-fx-border-width: 3px;";
-	public static final String TAB = "-fx-background-color: #35775b; -fx-text-fill: White; ";
-	public static final String CARD_BASE = "-fx-background-color: #35775b";
-	public static final String DECORATIVE_RECTANGLE = "-fx-border-color: White; -fx-border-width: 3px;";
-	public static final String WHITE_HEADING_TEXT = "-fx-text-fill: White; -fx-font-size: 32px;";
-	public static final String WHITE_BODY_TEXT = "-fx-text-fill: White; -fx-font-size: 16px;";
-	public static final String SLIDER = "-fx-background-color: White;";
-	
-	
+	/*Where the stylesheet is, from the root of the resources*/
+	public static final String STYLESHEET = "/SkipBo.css";
+
+	public static final String TAB = "tab-content";
+	public static final String CARD = "card";
+	public static final String PANEL = "panel";
+	public static final String WHITE_HEADING_TEXT = "white-heading";
+	public static final String WHITE_BODY_TEXT = "white-body";
+	public static final String SLIDER = "settings-slider";
+	public static final String BODY_TEXT = "table-text";
+	public static final String HEADING_TEXT = "player-name";
+
+	/*Turned on for a card while it is selected*/
+	public static final PseudoClass SELECTED = PseudoClass.getPseudoClass("selected");
+
+	/*What every PlayerColor's class starts with*/
+	private static final String COLOR_PREFIX = "color-";
+
+
 	/**
-	 * Generates body text style, according to the size of the display. 
-	 * @param ds The display scalar, to resize the font with.
-	 * @return string to use in styling a text element.
+	 * Private constructor, since this class only holds constants
 	 */
-	public static String getBodyTextStyle(double ds) {
-		return "-fx-text-fill: White;" + 
-				"-fx-font: " + Math.floor(ds * 3/4) + "px Sans-serif; " +
-				"-fx-alignment: Center;";
+	private Styles() {
 	}
 
-	
+
 	/**
-	 * Generates decorative rectangle style for a specified PlayerColor. 
-	 * @playerColor The PlayerColor to generate the style with.
-	 * @return string to use in styling a text element.
+	 * Gets the style class for a PlayerColor, which sets the color that headings and panels are drawn in.
+	 * @param color The PlayerColor.
+	 * @return the name of the class.
 	 */
-	public static String getRectangleStyle(PlayerColor color) {
-		return "-fx-border-color: " + color.getStyleString() + "; -fx-border-width: 3px;";
+	public static String getColorClass(PlayerColor color) {
+		return COLOR_PREFIX + color.name().toLowerCase();
 	}
-	
-	
+
+
 	/**
-	 * Generates heading text style, according to the size of the display and the specified PlayerColor. 
-	 * @param ds The display scalar, to resize the font with.
-	 * @playerColor The PlayerColor to generate the text with.
-	 * @return string to use in styling a text element.
+	 * Gives a node the style class for a PlayerColor, in place of any color it had before.
+	 * Does nothing if the node already has that color, so the node isn't restyled.
+	 * @param node The node, such as a player's name or panel.
+	 * @param color The PlayerColor.
 	 */
-	public static String getHeadingTextStyle(double ds, PlayerColor color) {
-		return "-fx-text-fill: " + color.getStyleString() + "; " + 
-				"-fx-font: " + Math.floor(ds * 3/2) + "px Sans-serif; " +
-				"-fx-alignment: Center;";
+	public static void setPlayerColor(Node node, PlayerColor color) {
+		String colorClass = getColorClass(color);
+		if(node.getStyleClass().contains(colorClass)) {
+			return;
+		}
+		node.getStyleClass().removeIf(styleClass -> styleClass.startsWith(COLOR_PREFIX));
+		node.getStyleClass().add(colorClass);
 	}
 }
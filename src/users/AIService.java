@@ -0,0 +1,399 @@
+package users;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import driver.SkipBoGameModel;
+
+/**
+ * Plays AI turns for many games at once on a fixed number of worker threads, usually one per core,
+ * 	so that however many tables need a turn at the same moment, the machine isn't oversubscribed.
+ * Turns wait in one queue. Interactive ones, which someone is sitting at a table waiting for,
+ * 	always go ahead of background ones, such as simulations. Within a priority, turns go in the order they came in.
+ * A turn can be given a deadline. Its searches then give back whatever they have by then,
+ * 	so the turn still ends on time with a legal (if weaker) play, even if it waited in the queue.
+ * Searches on the workers never run in parallel, whatever the PlayerAI is set to, since the workers
+ * 	already share out the cores.
+ * <pre>
+ * SkipBoGameModel next = service.takeTurn(game, AIService.Priority.INTERACTIVE, 2000);
+ * </pre>
+ *
+ * @author Anna Heebsh
+ */
+public class AIService implements AutoCloseable {
+
+	/**
+	 * How urgently a turn is needed. Earlier ones go first.
+	 */
+	public enum Priority {
+		INTERACTIVE, BACKGROUND
+	}
+
+
+	private final ThreadPoolExecutor executor;
+	/*Keeps turns of the same priority in the order they came in*/
+	private final AtomicLong sequence = new AtomicLong();
+
+	// Metrics, by priority
+	private final AtomicInteger[] queued = new AtomicInteger[Priority.values().length];
+	private final LongAdder[] completed = new LongAdder[Priority.values().length];
+	private final LongAdder[] waitNanos = new LongAdder[Priority.values().length];
+	private final LongAdder[] latencyNanos = new LongAdder[Priority.values().length];
+	private final LongAccumulator[] maxLatencyNanos = new LongAccumulator[Priority.values().length];
+	/*Turns that finished after their deadline, and turns that threw*/
+	private final LongAdder late = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+
+
+	/**
+	 * Constructor. Uses a worker for every core.
+	 */
+	public AIService() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+
+	/**
+	 * Constructor
+	 * @param threads how many turns to play at once
+	 * @throws RuntimeException if threads is less than 1
+	 */
+	public AIService(int threads) throws RuntimeException {
+		if(threads < 1) {
+			throw new RuntimeException("An AI service needs at least one thread.");
+		}
+		for(int i = 0; i < queued.length; i++) {
+			queued[i] = new AtomicInteger();
+			completed[i] = new LongAdder();
+			waitNanos[i] = new LongAdder();
+			latencyNanos[i] = new LongAdder();
+			maxLatencyNanos[i] = new LongAccumulator(Math::max, 0);
+		}
+		AtomicInteger workerCount = new AtomicInteger();
+		executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+				new PriorityBlockingQueue<Runnable>(), runnable -> {
+					Thread thread = new Thread(runnable, "ai-service-" + workerCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.prestartAllCoreThreads();
+	}
+
+
+	/**
+	 * Queues the current player's turn, with no deadline
+	 * @param game the game at the start of the turn. Not changed, but it mustn't be changed until the turn is played.
+	 * @param priority how urgently the turn is needed
+	 * @return the game after the turn, once it has been played
+	 * @throws RuntimeException if it isn't an AI's turn, or the service has been closed
+	 */
+	public Future<SkipBoGameModel> submit(SkipBoGameModel game, Priority priority) throws RuntimeException {
+		return enqueue(game, priority, PlayerAI.NO_DEADLINE);
+	}
+
+
+	/**
+	 * Queues the current player's turn
+	 * @param game the game at the start of the turn. Not changed, but it mustn't be changed until the turn is played.
+	 * @param priority how urgently the turn is needed
+	 * @param deadlineMillis how many milliseconds from now the turn has to be played in, waiting included.
+	 * 	Long.MAX_VALUE for no deadline.
+	 * @return the game after the turn, once it has been played
+	 * @throws RuntimeException if it isn't an AI's turn, the deadline is less than 1, or the service has been closed
+	 */
+	public Future<SkipBoGameModel> submit(SkipBoGameModel game, Priority priority, long deadlineMillis)
+			throws RuntimeException {
+		if(deadlineMillis < 1) {
+			throw new RuntimeException("A turn's deadline must be at least one millisecond away.");
+		}
+		// Deadlines too far off to be counted in nanoseconds may as well not be there
+		long deadline = deadlineMillis >= Long.MAX_VALUE / 2_000_000L ? PlayerAI.NO_DEADLINE :
+				System.nanoTime() + deadlineMillis * 1_000_000L;
+		return enqueue(game, priority, deadline);
+	}
+
+
+	/**
+	 * Queues the current player's turn and waits for it to be played
+	 * @param game the game at the start of the turn. Not changed.
+	 * @param priority how urgently the turn is needed
+	 * @param deadlineMillis how many milliseconds from now the turn has to be played in, waiting included
+	 * @return the game after the turn
+	 * @throws RuntimeException if the turn couldn't be played, or the wait was interrupted
+	 */
+	public SkipBoGameModel takeTurn(SkipBoGameModel game, Priority priority, long deadlineMillis)
+			throws RuntimeException {
+		return await(submit(game, priority, deadlineMillis));
+	}
+
+
+	/**
+	 * Queues the current player's turn, with no deadline, and waits for it to be played
+	 * @param game the game at the start of the turn. Not changed.
+	 * @param priority how urgently the turn is needed
+	 * @return the game after the turn
+	 * @throws RuntimeException if the turn couldn't be played, or the wait was interrupted
+	 */
+	public SkipBoGameModel takeTurn(SkipBoGameModel game, Priority priority) throws RuntimeException {
+		return await(submit(game, priority));
+	}
+
+
+	/**
+	 * Queues a turn
+	 * @param game the game
+	 * @param priority how urgently the turn is needed
+	 * @param deadline when the turn has to be played by, as System.nanoTime(), or PlayerAI.NO_DEADLINE
+	 * @return the queued turn
+	 * @throws RuntimeException if it isn't an AI's turn, or the service has been closed
+	 */
+	private Future<SkipBoGameModel> enqueue(SkipBoGameModel game, Priority priority, long deadline)
+			throws RuntimeException {
+		if(game.hasWinner() || game.currentPlayer().getPlayerType() != PlayerType.AI) {
+			throw new RuntimeException("It isn't an AI's turn.");
+		}
+		TurnRequest request = new TurnRequest(game, priority, deadline);
+		queued[priority.ordinal()].incrementAndGet();
+		try {
+			executor.execute(request);
+		} catch (RejectedExecutionException e) {
+			queued[priority.ordinal()].decrementAndGet();
+			throw new RuntimeException("The AI service has been closed.", e);
+		}
+		return request;
+	}
+
+
+	/**
+	 * Waits for a queued turn
+	 * @param turn the turn
+	 * @return the game after the turn
+	 * @throws RuntimeException if the turn couldn't be played, or the wait was interrupted
+	 */
+	private static SkipBoGameModel await(Future<SkipBoGameModel> turn) throws RuntimeException {
+		try {
+			return turn.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			turn.cancel(false);
+			throw new RuntimeException("Interrupted while waiting for the AI's turn.", e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("The AI couldn't take its turn.", e.getCause());
+		}
+	}
+
+
+	/**
+	 * Plays a turn on the calling worker, within its deadline
+	 * @param game the game
+	 * @param deadline when the turn has to be played by, as System.nanoTime(), or PlayerAI.NO_DEADLINE
+	 * @return the turn, ready to run
+	 */
+	private static Callable<SkipBoGameModel> playTurn(SkipBoGameModel game, long deadline) {
+		return () -> {
+			PlayerAI.setServiceDeadline(deadline);
+			try {
+				return game.takeTurn();
+			} finally {
+				PlayerAI.setServiceDeadline(null);
+			}
+		};
+	}
+
+
+	/**
+	 * Gets the number of turns waiting to be played
+	 * @return the count, over every priority
+	 */
+	public int getQueueDepth() {
+		int depth = 0;
+		for(AtomicInteger count : queued) {
+			depth += count.get();
+		}
+		return depth;
+	}
+
+
+	/**
+	 * Gets the number of turns of one priority waiting to be played
+	 * @param priority the priority
+	 * @return the count
+	 */
+	public int getQueueDepth(Priority priority) {
+		return queued[priority.ordinal()].get();
+	}
+
+
+	/**
+	 * Gets the number of turns of one priority that have been played, or have failed
+	 * @param priority the priority
+	 * @return the count
+	 */
+	public long getCompleted(Priority priority) {
+		return completed[priority.ordinal()].sum();
+	}
+
+
+	/**
+	 * Gets the average time turns of one priority waited in the queue
+	 * @param priority the priority
+	 * @return the average, in milliseconds, or 0 if none have been played
+	 */
+	public double getAverageWaitMillis(Priority priority) {
+		long count = getCompleted(priority);
+		return count == 0 ? 0 : waitNanos[priority.ordinal()].sum() / 1e6 / count;
+	}
+
+
+	/**
+	 * Gets the average time turns of one priority took, from being queued to being played
+	 * @param priority the priority
+	 * @return the average, in milliseconds, or 0 if none have been played
+	 */
+	public double getAverageLatencyMillis(Priority priority) {
+		long count = getCompleted(priority);
+		return count == 0 ? 0 : latencyNanos[priority.ordinal()].sum() / 1e6 / count;
+	}
+
+
+	/**
+	 * Gets the longest time a turn of one priority took, from being queued to being played
+	 * @param priority the priority
+	 * @return the time, in milliseconds
+	 */
+	public double getMaxLatencyMillis(Priority priority) {
+		return maxLatencyNanos[priority.ordinal()].get() / 1e6;
+	}
+
+
+	/**
+	 * Gets the number of turns that were played after their deadline
+	 * @return the count
+	 */
+	public long getLateCount() {
+		return late.sum();
+	}
+
+
+	/**
+	 * Gets the number of turns that couldn't be played because of an error
+	 * @return the count
+	 */
+	public long getFailedCount() {
+		return failed.sum();
+	}
+
+
+	/**
+	 * Stops the workers. Turns still waiting are cancelled, and turns being played are interrupted.
+	 */
+	@Override
+	public void close() {
+		for(Runnable waiting : executor.shutdownNow()) {
+			TurnRequest request = (TurnRequest) waiting;
+			queued[request.priority.ordinal()].decrementAndGet();
+			request.cancel(false);
+		}
+	}
+
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("AIService[threads=" + executor.getMaximumPoolSize() +
+				", queued=" + getQueueDepth() + ", late=" + getLateCount() + ", failed=" + getFailedCount());
+		for(Priority priority : Priority.values()) {
+			builder.append(String.format(", %s: %d played, %.1f ms wait, %.1f ms avg, %.1f ms max",
+					priority.name().toLowerCase(), getCompleted(priority), getAverageWaitMillis(priority),
+					getAverageLatencyMillis(priority), getMaxLatencyMillis(priority)));
+		}
+		return builder.append("]").toString();
+	}
+
+
+	/**
+	 * One queued turn. The queue orders these by priority, then by when they came in.
+	 */
+	private final class TurnRequest extends FutureTask<SkipBoGameModel> implements Comparable<TurnRequest> {
+
+		private final Priority priority;
+		private final long order = sequence.getAndIncrement();
+		private final long deadline;
+		private final long queuedAt = System.nanoTime();
+		private long startedAt;
+
+
+		/**
+		 * Constructor
+		 * @param game the game at the start of the turn
+		 * @param priority how urgently the turn is needed
+		 * @param deadline when the turn has to be played by, as System.nanoTime(), or PlayerAI.NO_DEADLINE
+		 */
+		TurnRequest(SkipBoGameModel game, Priority priority, long deadline) {
+			super(playTurn(game, deadline));
+			this.priority = priority;
+			this.deadline = deadline;
+		}
+
+
+		@Override
+		public void run() {
+			queued[priority.ordinal()].decrementAndGet();
+			if(isCancelled()) {
+				return;
+			}
+			startedAt = System.nanoTime();
+			super.run();
+		}
+
+
+		@Override
+		protected void set(SkipBoGameModel result) {
+			record();
+			super.set(result);
+		}
+
+
+		@Override
+		protected void setException(Throwable t) {
+			failed.increment();
+			record();
+			super.setException(t);
+		}
+
+
+		/**
+		 * Adds the turn to the metrics. Done before its result is handed back, 
+		 * 	so anyone who has the result sees the turn counted.
+		 */
+		private void record() {
+			int index = priority.ordinal();
+			long end = System.nanoTime();
+			completed[index].increment();
+			waitNanos[index].add(startedAt - queuedAt);
+			latencyNanos[index].add(end - queuedAt);
+			maxLatencyNanos[index].accumulate(end - queuedAt);
+			if(deadline != PlayerAI.NO_DEADLINE && end - deadline > 0) {
+				late.increment();
+			}
+		}
+
+
+		@Override
+		public int compareTo(TurnRequest other) {
+			if(priority != other.priority) {
+				return priority.compareTo(other.priority);
+			}
+			return Long.compare(order, other.order);
+		}
+	}
+}
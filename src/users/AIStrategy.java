@@ -0,0 +1,31 @@
+package users;
+
+import driver.SkipBoGameModel;
+
+/**
+ * How a PlayerAI plays a turn.
+ * A strategy decides which searches to run and in what order, using the PlayerAI it is given
+ * to run them and to log what happened. Each search type gets its own SearchBudget,
+ * so a strategy can keep a turn from running away on a pathological hand.
+ * Strategies are shared between copies of a PlayerAI, so they should not hold on to per-turn state.
+ *
+ * @author Anna Heebsh
+ */
+public interface AIStrategy {
+
+	/**
+	 * Gets how much work a type of search may do
+	 * @param type the goal or type of the search ["stock", "hand0", "block", "extra"]
+	 * @return the budget
+	 */
+	SearchBudget getBudget(String type);
+
+
+	/**
+	 * Plays one turn, ending with a discard unless the game was won
+	 * @param ai the player whose turn it is
+	 * @param game the game at the start of the turn. Not changed.
+	 * @return the game after the turn
+	 */
+	SkipBoGameModel takeTurn(PlayerAI ai, SkipBoGameModel game);
+}
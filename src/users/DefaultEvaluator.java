@@ -0,0 +1,51 @@
+package users;
+
+import components.PackedGameState;
+
+/**
+ * The scores PlayerAI's searches use unless it is given others.
+ * 
+ * @author Anna Heebsh
+ */
+public enum DefaultEvaluator implements SearchEvaluator {
+	
+	/**
+	 * Scores a game by how close the Stock Card is to a Foundation. 
+	 * The closer a stock is to the foundation, the more valuable it is.
+	 */
+	STOCK {
+		@Override
+		public int evaluate(PackedGameState state) {
+			int stockTop = state.getStockTop(true);
+			if(stockTop == PackedGameState.SKIPBO || stockTop == PackedGameState.NO_CARD) {
+				return 0;
+			}
+			return Math.min(6, state.getNearestFoundationDistance(stockTop));
+		}
+	},
+	
+	/**
+	 * Scores a game by the number of cards left in the Hand. Fewer cards is better.
+	 */
+	HAND {
+		@Override
+		public int evaluate(PackedGameState state) {
+			return state.getHandSize();
+		}
+	},
+	
+	/**
+	 * Scores a game by how far the opponent's Stock Card is from the Foundations. 
+	 * The farther a stock is from the foundations, the more valuable it is.
+	 */
+	BLOCK {
+		@Override
+		public int evaluate(PackedGameState state) {
+			int stockTop = state.getStockTop(false);
+			if(stockTop == PackedGameState.SKIPBO || stockTop == PackedGameState.NO_CARD) {
+				return 12;
+			}
+			return Math.min(6, 12 - state.getFarthestFoundationDistance(stockTop));
+		}
+	};
+}
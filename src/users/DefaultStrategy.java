@@ -0,0 +1,176 @@
+package users;
+
+import java.util.HashMap;
+
+import components.Move;
+import components.playerCollections.Hand;
+import driver.SkipBoGameModel;
+
+/**
+ * The way PlayerAI plays unless it is given another strategy.
+ * Draw, then keep playing the Stock Card or emptying the Hand for as long as either works.
+ * Once neither does, block the opponent's Stock Card, play anything else that's safe from the Hand,
+ * 	and discard.
+ * The Stock and Hand searches only count if they reach their goal. The Block and Extra searches
+ * 	use their best-so-far result if their budget runs out.
+ *
+ * @author Anna Heebsh
+ */
+public class DefaultStrategy implements AIStrategy {
+
+	/*Enough for any ordinary turn. Only pathological hands, such as ones full of Skip-Bos, run into it.*/
+	public static final SearchBudget DEFAULT_BUDGET = SearchBudget.nodes(50_000);
+
+	/*Budgets by search type*/
+	private final HashMap<String, SearchBudget> budgets = new HashMap<String, SearchBudget>();
+
+
+	/**
+	 * Constructor. Every search gets the default budget.
+	 */
+	public DefaultStrategy() {
+		this(DEFAULT_BUDGET);
+	}
+
+
+	/**
+	 * Constructor
+	 * @param budget the budget for every type of search
+	 */
+	public DefaultStrategy(SearchBudget budget) {
+		for(String type : PlayerAI.SEARCH_TYPES) {
+			budgets.put(type, budget);
+		}
+	}
+
+
+	@Override
+	public SearchBudget getBudget(String type) {
+		SearchBudget budget = budgets.get(type);
+		if(budget == null) {
+			throw new RuntimeException("Not a search type: " + type);
+		}
+		return budget;
+	}
+
+
+	/**
+	 * Sets how much work a type of search may do
+	 * @param type the goal or type of the search ["stock", "hand0", "block", "extra"]
+	 * @param budget the budget
+	 * @throws RuntimeException if the type is not a search type
+	 */
+	public void setBudget(String type, SearchBudget budget) throws RuntimeException {
+		getBudget(type);
+		budgets.put(type, budget);
+	}
+
+
+	@Override
+	public SkipBoGameModel takeTurn(PlayerAI ai, SkipBoGameModel game) {
+		ai.log("starting to Take Turn!",  2);
+
+		SkipBoGameModel workingGame = new SkipBoGameModel(game);
+		int handBefore;
+		do {
+			workingGame = playUntilStuck(ai, workingGame);
+			if(workingGame.getStockTop(true) == null) {
+				return workingGame;
+			}
+			handBefore = workingGame.getHandCountAsInt(true);
+
+			// If no more of those actions can be taken, block the other player from playing their stock card.
+			workingGame = ai.search(workingGame, "block", getBudget("block")).getGame();
+
+			// Then, play anything that can be played from the hand
+			// (will automatically not allow states that let the other player play their stock card.)
+			workingGame = ai.search(workingGame, "extra", getBudget("extra")).getGame();
+
+			// If the Hand search ran out of budget, these plays can use up the rest of the Hand.
+			// Then there's nothing to discard, so go back to drawing.
+		} while(handBefore > 0 && workingGame.getHandCountAsInt(true) == 0);
+
+		String beforeDiscard = workingGame.currentPlayer().getName();
+		ai.log(() -> "before discarding, the game I am giving back expects it to be " +
+				beforeDiscard + "'s turn. ", 2);
+
+		// The deck and the ClearedPile can both run out when most of the Cards are in the Stocks
+		if(workingGame.currentPlayer().hand.isEmpty()) {
+			throw new RuntimeException("There are no Cards left to draw, so " + ai.getName() + " has nothing to discard.");
+		}
+
+		// Prepare discard information
+		Move discard = ai.decideOnDiscard(workingGame);
+
+		if(workingGame.currentPlayer().hand.hasElementAt(discard.getIndex())) {
+			ai.log(TurnLogEvent.discarded(discard, workingGame.currentPlayer().hand.getAt(discard.getIndex())));
+		}
+
+		workingGame.discard(discard);
+
+		String afterDiscard = workingGame.currentPlayer().getName();
+		ai.log(() -> "after discarding, the game I am giving back expects it to be " +
+				afterDiscard + "'s turn. ", 2);
+
+		return workingGame;
+	}
+
+
+	/**
+	 * Draws, then keeps playing the Stock Card or emptying the Hand for as long as either works
+	 * @param ai the player whose turn it is
+	 * @param workingGame the game so far this turn
+	 * @return the game once neither works, or once the Stock is empty
+	 */
+	private SkipBoGameModel playUntilStuck(PlayerAI ai, SkipBoGameModel workingGame) {
+		while(true) {
+			// Zeroth, check if the stock is empty
+			if(workingGame.getStockTop(true) == null) {
+				return workingGame;
+			}
+
+			// First, try to draw cards.
+			try {
+				int c = workingGame.drawCards();
+				ai.log(TurnLogEvent.cardsDrawn(c));
+				Hand drawnHand = workingGame.currentPlayer().hand;
+				ai.log(drawnHand::toString, 1);
+				// Drawing again only helps if there's something to draw now
+				if(c > 0 || workingGame.getDrawPile().size() > 0) {
+					continue;
+				}
+			} catch (RuntimeException e){
+				ai.log("(Cannot draw cards now)", 1);
+			}
+
+			// Second, try playing out of the stock.
+			SearchResult stockResult = ai.search(workingGame, "stock", getBudget("stock"));
+			if(stockResult.isGoalReached()) {
+				workingGame = new SkipBoGameModel(stockResult.getGame());
+				if(workingGame.getStockTop(true) == null) {
+					ai.log(TurnLogEvent.stockEmpty());
+					ai.log(TurnLogEvent.won(ai.getName()));
+				} else {
+					ai.log(TurnLogEvent.stockUncovered(workingGame.getStockTop(true)));
+				}
+				continue;
+			} else {
+				ai.log("Was not able to play from the stock.", 1);
+			}
+
+			// Then, try to completely use up the cards in the hand.
+			// (If the hand is already empty, the deck couldn't refill it, so there's nothing to play out.)
+			ai.log("continuing on to try to play hand out", 2);
+			SearchResult outOfHandResult = ai.search(workingGame, "hand0", getBudget("hand0"));
+			if(outOfHandResult.isGoalReached() && workingGame.getHandCountAsInt(true) > 0) {
+				workingGame = new SkipBoGameModel(outOfHandResult.getGame());
+				ai.log("Was able to play every card from hand.", 0);
+				continue;
+			} else {
+				ai.log("Was not able to play all cards from the hand.", 1);
+			}
+
+			return workingGame;
+		}
+	}
+}
@@ -240,27 +240,25 @@ public class Player {
 	 * @return whether or not the two players are equivalent
 	 */
 	public boolean equals(Player other) {
-		if(other.peekStock() != this.peekStock()) {
+		if(stockPile.size() != other.stockPile.size()) {
 			return false;
 		} 
-		if (!other.getStockSize().equals(this.getStockSize())) {
+		if (!stockEmpty() && other.peekStock() != this.peekStock()) {
 			return false;
 		}
-		for(int h = 0; h < 5; h++) {
-			if(hand.hasElementAt(h) && other.hand.hasElementAt(h)) {
-				if(hand.getAt(h) != other.hand.getAt(h)) {
-					return false;
-				}
-			}
-			if(!(!hand.hasElementAt(h)) && (!other.hand.hasElementAt(h))) {
+		if(hand.size() != other.hand.size()) {
+			return false;
+		}
+		for(int h = 0; h < hand.size(); h++) {
+			if(hand.getAt(h) != other.hand.getAt(h)) {
 				return false;
 			}
 		}
-		for(int d = 0; d < d; d++) {
+		for(int d = 0; d < 4; d++) {
 			if(discardPiles[d].size() != other.discardPiles[d].size()) {
 				return false;
 			}
-			if(discardPiles[d].peek() != other.discardPiles[d].peek()) {
+			if(!discardPiles[d].isEmpty() && discardPiles[d].peek() != other.discardPiles[d].peek()) {
 				return false;
 			}
 		}
@@ -2,27 +2,62 @@ package users;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.PriorityQueue;
 import java.util.Scanner;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
 
 import components.Card;
 import components.GameStateNode;
+import components.GameStateNodePool;
+import components.Move;
+import components.MoveSource;
+import components.PackedGameState;
 import driver.SkipBoGameModel;
 
 public class PlayerAI extends Player {
 	
-	private ArrayList<String> turnLog;
+	private ArrayList<TurnLogEvent> turnLog;
 	private final int logLevel = 0; 
 	// 0 ----- need to know. user-level stuff. big actions.
 	// 1 ----- important but non-essential
 	// 2 ----- "the junk messages" if debugging needs to happen
 	
-	private final String[] playFrom = {"h0", "h1", "h2", "h3", "h4", "d1", "d2", "d3", "d4"};
 	private final String[] playTo = {"f1", "f2", "f3", "f4"};
 	
-	private Boolean lastStockAttemptWorked;
-	private Boolean lastOutOfHandAttemptWorked;
+	/*The types of search breadthFirstSearch() can run*/
+	static final String[] SEARCH_TYPES = {"stock", "hand0", "block", "extra"};
+	
+	/*How turns are played, and how much work each search may do*/
+	private AIStrategy strategy = new DefaultStrategy();
+	
+	/*Nodes and states for searches, reused from one search to the next on the same thread*/
+	private static final ThreadLocal<GameStateNodePool> NODE_POOLS = 
+			ThreadLocal.withInitial(GameStateNodePool::new);
+	/*Pools for the tasks of parallel searches, reused from one search to the next. 
+	  Worker threads are shared by every game's searches, so each task borrows a pool for its whole search 
+	  rather than using its thread's, which another search could still be using.*/
+	private static final ConcurrentLinkedQueue<GameStateNodePool> TASK_POOLS = 
+			new ConcurrentLinkedQueue<GameStateNodePool>();
+	
+	/*Set while an AIService is playing a turn on this thread: when its searches have to stop, as System.nanoTime()*/
+	private static final ThreadLocal<Long> SERVICE_DEADLINES = new ThreadLocal<Long>();
+	/*The service deadline for a turn that may take as long as its budgets allow*/
+	static final long NO_DEADLINE = Long.MAX_VALUE;
+	
+	/*How the searches score nodes*/
+	private SearchEvaluator stockEvaluator = DefaultEvaluator.STOCK;
+	private SearchEvaluator handEvaluator = DefaultEvaluator.HAND;
+	private SearchEvaluator blockEvaluator = DefaultEvaluator.BLOCK;
+	
+	/*If true, searches are split across the common ForkJoinPool*/
+	private boolean parallelSearch;
 	
 	/**
 	 * Constructor
@@ -30,7 +65,7 @@ public class PlayerAI extends Player {
 	 */
 	public PlayerAI(String name) {
 		super(name);
-		turnLog = new ArrayList<String>();
+		turnLog = new ArrayList<TurnLogEvent>();
 	}
 
 	/**
@@ -40,7 +75,7 @@ public class PlayerAI extends Player {
 	 */
 	public PlayerAI(String name, PlayerColor color) {
 		super(name, color);
-		turnLog = new ArrayList<String>();
+		turnLog = new ArrayList<TurnLogEvent>();
 	}
 	
 	
@@ -50,11 +85,18 @@ public class PlayerAI extends Player {
 	 */
 	public PlayerAI(Player player) {
 		super(player);
-		try {
-			turnLog = player.getMostRecentLogs();
-		} catch (Exception e) {
+		if(player instanceof PlayerAI) {
+			PlayerAI ai = (PlayerAI) player;
+			stockEvaluator = ai.getStockEvaluator();
+			handEvaluator = ai.getHandEvaluator();
+			blockEvaluator = ai.getBlockEvaluator();
+			parallelSearch = ai.isParallelSearch();
+			strategy = ai.getStrategy();
+			// Copies made during a turn all add to the same log
+			turnLog = ai.getMostRecentLogEvents();
+		} else {
 			// Tried to copy a non-AI player.
-			e.printStackTrace();
+			turnLog = new ArrayList<TurnLogEvent>();
 		}
 	}
 
@@ -67,102 +109,23 @@ public class PlayerAI extends Player {
 	
 	@Override
 	public SkipBoGameModel takeTurn(SkipBoGameModel game) {
-		
-		turnLog = new ArrayList<String>();
-		log("starting to Take Turn!",  2);
-		
-		SkipBoGameModel workingGame = new SkipBoGameModel(game);
-		
-		boolean haltConditionNotMet = true;
-		while(haltConditionNotMet) {
-			// Zeroth, check if the stock is empty
-			if(workingGame.getStockTop(true) == null) {
-				return workingGame;
-			}
-			
-			// First, try to draw cards.
-			try {
-				int c = workingGame.drawCards();	
-				waitForConfirmation();
-				log(c + " cards drawn.", 0);
-				log(workingGame.currentPlayer().hand.toString(), 1);
-				continue;
-			} catch (RuntimeException e){
-				waitForConfirmation();
-				log("(Cannot draw cards now)", 1);
-			}
-			
-			// Second, try playing out of the stock.
-			SkipBoGameModel stockResult = breadthFirstSearch(workingGame, "stock");
-			if(lastStockAttemptWorked) {
-				workingGame = new SkipBoGameModel(stockResult);
-				waitForConfirmation();
-				if(workingGame.getStockTop(true) == null) {
-					log("The stock pile is now empty.", 0);
-					log(getName() + " has won!", 0);
-				} else {
-					log("A " + workingGame.getStockTop(true) + " was uncovered on the Stock Pile.", 0);
-				}
-				continue;
-			} else {
-				waitForConfirmation();
-				log("Was not able to play from the stock.", 1);
-			}
-			
-			// Then, try to completely use up the cards in the hand.
-			log("continuing on to try to play hand out", 2);
-			SkipBoGameModel outOfHandResult = breadthFirstSearch(workingGame, "hand0");
-			if(lastOutOfHandAttemptWorked) {
-				workingGame = new SkipBoGameModel(outOfHandResult);
-				waitForConfirmation();
-				log("Was able to play every card from hand.", 0);
-				continue;
-			} else {
-				waitForConfirmation();
-				log("Was not able to play all cards from the hand.", 1);
-			}
-			
-			haltConditionNotMet = false;
-		}
-		
-		// If no more of those actions can be taken, block the other player from playing their stock card. 
-		workingGame = breadthFirstSearch(workingGame, "block");
-		
-		// Then, play anything that can be played from the hand 
-		// (will automatically not allow states that let the other player play their stock card.) 
-		workingGame = breadthFirstSearch(workingGame, "extra");
-
-		log("before discarding, the game I am giving back expects it to be " + 
-				workingGame.currentPlayer().getName() + "'s turn. ", 2);
-		
-		// Prepare discard information
-		String discardInfo = decideOnDiscard(workingGame);
-		String hand = discardInfo.substring(0, 2);
-		String pile = discardInfo.substring(2);
-		
-		log("Discarded " + workingGame.currentPlayer().hand.getAt(hand.charAt(1) - 48).name() 
-				+ " from Hand to Discard " + pile.charAt(1) + ".", 0);
-		
-		workingGame.discard(hand, pile);
-	
-		log("after discarding, the game I am giving back expects it to be " + 
-				workingGame.currentPlayer().getName() + "'s turn. ", 2);
-
-		return workingGame;
+		turnLog = new ArrayList<TurnLogEvent>();
+		return strategy.takeTurn(this, game);
 	}
 
 	
 	/**
 	 * Makes an informed decision on how to discard based on the cards in the hand and discard piles.
+	 * Public so that AIStrategies can use it.
 	 * @param game the Game to make a decision with
-	 * @return string matching h[0-5]d[1-4] describing the determined-upon move.
+	 * @return the determined-upon discard Move.
 	 */
-	private String decideOnDiscard(SkipBoGameModel game) {
+	public Move decideOnDiscard(SkipBoGameModel game) {
 		ArrayList<Card> hand = game.currentPlayer().hand.getHand();
 		
 		char[] discardIndices = {'1', '2', '3', '4'};
 		
-		log(game.currentPlayer().hand.toString(), 1);
+		log(() -> game.currentPlayer().hand.toString(), 1);
 		
 		// STRATEGY 1:
 		// If any one of my cards equals any of the discard tops, put this on top of it.
@@ -172,7 +135,7 @@ public class PlayerAI extends Player {
 				for(char d : discardIndices) {
 					if(!game.discardIsEmpty(true, d) && game.getDiscardTop(true, d) == h) {
 						log("discarding with strategy 1", 1);
-						return "h" + i + "d" + d;
+						return Move.discard(i, d - '1');
 					}
 				}
 			}
@@ -185,10 +148,10 @@ public class PlayerAI extends Player {
 		for (Card h : hand) {
 			if(h != Card.SKIPBO_UNPLAYED) {
 				for(char d : discardIndices) {
-					if(!game.discardIsEmpty(true, d) && 
+					if(!game.discardIsEmpty(true, d) && game.getDiscardTop(true, d) != Card.SKIPBO_UNPLAYED &&
 							game.getDiscardTop(true, d).getValue() == (h.getValue() + 1)) {
 						log("discarding with strategy 2", 1);
-						return "h" + i + "d" + d;
+						return Move.discard(i, d - '1');
 					}
 				}
 			}
@@ -224,9 +187,9 @@ public class PlayerAI extends Player {
 						log("discarding with strategy 3", 1);
 						log("card counts: ", 1);
 						for(int c : cardCounts) {
-							log("    " + c, 1);
+							log(() -> "    " + c, 1);
 						}
-						return "h" + i + "d" + emptyPile;
+						return Move.discard(i, emptyPile - '1');
 					}
 					i++;
 				}
@@ -251,7 +214,7 @@ public class PlayerAI extends Player {
 				i++;
 			}
 			log("discarding with strategy 4", 1);
-			return "h" + highestIndex + "d" + emptyPile;
+			return Move.discard(highestIndex, emptyPile - '1');
 		}
 		
 		// STRATEGY 5:
@@ -260,10 +223,10 @@ public class PlayerAI extends Player {
 		for (Card h : hand) {
 			if(h != Card.SKIPBO_UNPLAYED) {
 				for(char d : discardIndices) {
-					if(!game.discardIsEmpty(true, d) && 
+					if(!game.discardIsEmpty(true, d) && game.getDiscardTop(true, d) != Card.SKIPBO_UNPLAYED &&
 							game.getDiscardTop(true, d).getValue() == (h.getValue() + 2)) {
 						log("discarding with strategy 5", 1);
-						return "h" + i + "d" + d;
+						return Move.discard(i, d - '1');
 					}
 				}
 			}
@@ -275,10 +238,10 @@ public class PlayerAI extends Player {
 		for (Card h : hand) {
 			if(h != Card.SKIPBO_UNPLAYED) {
 				for(char d : discardIndices) {
-					if(!game.discardIsEmpty(true, d) && 
+					if(!game.discardIsEmpty(true, d) && game.getDiscardTop(true, d) != Card.SKIPBO_UNPLAYED &&
 							game.getDiscardTop(true, d).getValue() == (h.getValue() + 3)) {
 						log("discarding with strategy 5", 1);
-						return "h" + i + "d" + d;
+						return Move.discard(i, d - '1');
 					}
 				}
 			}
@@ -287,488 +250,483 @@ public class PlayerAI extends Player {
 		
 		// Just discard at random if good moves weren't available :(
 		log("discarding with strategy 0", 1);
-		return "h0d4";
+		return Move.discard(0, 3);
 	}
 	
 	
 	/**
-	 * Uses a BFQ to accomplish a goal
+	 * Uses a BFQ to accomplish a goal, within the budget the strategy gives this type of search.
+	 * Public so that each kind of search can be benchmarked on its own.
 	 * @param game state to work off of
 	 * @param the goal or type of this search ["stock", "hand0", "block", "extra"]
 	 * @return the resulting game state
 	 */
-	private SkipBoGameModel breadthFirstSearch(SkipBoGameModel game, String type) {
+	public SkipBoGameModel breadthFirstSearch(SkipBoGameModel game, String type) {
+		return search(game, type, strategy.getBudget(type)).getGame();
+	}
+	
+	
+	/**
+	 * Uses a BFQ to accomplish a goal
+	 * The search itself runs on PackedGameStates. Once a goal state is found, the moves that reached it
+	 * are played on a copy of the game, so the SkipBoGameModel still validates every move.
+	 * If the budget runs out first, the Hand, Block and Extra searches give back the lowest scoring state 
+	 * 	they had seen instead. (For Extra, only states that keep the opponent's stock blocked count.)
+	 * 	The Stock search has nothing useful to give back without reaching its goal.
+	 * @param game state to work off of
+	 * @param the goal or type of this search ["stock", "hand0", "block", "extra"]
+	 * @param budget how much work the search may do
+	 * @return what the search found
+	 */
+	public SearchResult search(SkipBoGameModel game, String type, SearchBudget budget) {
 		// Validate input
-		if(!type.matches("^(stock)|(hand0)|(block)|(extra)$")) {
-			log("invalid input type for BFS method: " + type, 1);
-			return game;
+		if(!(type.equals("stock") || type.equals("hand0") || type.equals("block") || type.equals("extra"))) {
+			log(() -> "invalid input type for BFS method: " + type, 1);
+			return new SearchResult(game, false, false, 0);
 		}
-		log("BFSing on " + type, 1);
+		log(() -> "BFSing on " + type, 1);
 		
-		// Make a copy of the game to work of 
-		SkipBoGameModel testGame = new SkipBoGameModel(game);
-	
-		// List of foundations to try at.
-		char[] tryAt = {'1', '2', '3', '4'};
+		PackedGameState testState = new PackedGameState(game);
+		
+		// If the other person's stock card is a skip-bo, we won't even bother blocking.
+		// Nothing we play changes the opponent's stock, so there's no need to search.
+		if(type.equals("block") && testState.getStockTop(false) == PackedGameState.SKIPBO) {
+			log("Not blocking because opponent has a skip-bo at the top of the stock.", 2);
+			return new SearchResult(game, true, false, 0);
+		}
 		
-		// To store previously seen game states.
-		ArrayList<SkipBoGameModel> seenBefore = new ArrayList<SkipBoGameModel>();
-		PriorityQueue<GameStateNode> queue = new PriorityQueue<GameStateNode>();
+		// A turn played for an AIService has to fit in its deadline, and keeps to the service's thread
+		Long serviceDeadline = SERVICE_DEADLINES.get();
+		if(serviceDeadline != null && serviceDeadline != NO_DEADLINE) {
+			budget = budget.capMillis((serviceDeadline - System.nanoTime()) / 1_000_000);
+		}
 		
-		// Add the initial state to the queue, along with an empty list of steps
-		ArrayList<String> steps = new ArrayList<String>();
-		queue.add(new GameStateNode(evaluateScoreOnStock(testGame), testGame, steps));
+		// Add the initial state to the queue. Every node of this search comes from this thread's pool.
+		GameStateNodePool pool = NODE_POOLS.get();
+		SearchControl control = new SearchControl(budget);
+		ArrayList<Move> moves;
+		boolean goalReached;
+		// The pools a parallel search's tasks borrowed. The goal may be in any of them.
+		ArrayList<GameStateNodePool> taskPools = new ArrayList<GameStateNodePool>();
+		try {
+			GameStateNode root = pool.obtain(stockEvaluator.evaluate(testState), testState, null, 
+					GameStateNode.NO_MOVE);
+			SearchEvaluator evaluator = getEvaluator(type);
+			
+			if(parallelSearch && serviceDeadline == null) {
+				searchInParallel(root, type, evaluator, control, game.getRandom(), pool, taskPools);
+			} else {
+				PriorityQueue<GameStateNode> queue = new PriorityQueue<GameStateNode>();
+				queue.add(root);
+				search(queue, type, evaluator, new HashSet<PackedGameState>(), control, game.getRandom(), pool);
+			}
+			
+			GameStateNode goal = control.getGoal();
+			goalReached = goal != null;
+			if(!goalReached && control.isExpired() && !type.equals("stock")) {
+				goal = control.getBest();
+				log(() -> type + " search ran out of budget after " + control.getNodesExpanded() + " nodes.", 1);
+			}
+			moves = goal == null ? null : goal.getMovesTaken();
+		} finally {
+			pool.releaseAll();
+			for(GameStateNodePool taskPool : taskPools) {
+				taskPool.releaseAll();
+				TASK_POOLS.offer(taskPool);
+			}
+		}
 		
+		// If we didn't reach a goal state or have a best-so-far one, return the unchanged game state.
+		if(moves == null) {
+			return new SearchResult(new SkipBoGameModel(game), false, control.isExpired(), 
+					control.getNodesExpanded());
+		}
+		
+		// Important logging actions!
+		// Add the steps to reach this node to the official list of actions that happened on this turn. 
+		// The Stock goal ends with the stock play itself, so that gets logged too.
+		logMoves(testState, moves);
+		
+		if(goalReached && type.equals("hand0")) {
+			log("Played all five cards." , 0);
+			log("MOVE ACCPTED.", 1);
+		} else if(goalReached && type.equals("block")) {
+			log("Successfully blocked opponent, or there was nothing worth blocking.", 1);
+		}
+		waitForConfirmation();
+		
+		// Return this game state so that it can become the new official one!
+		return new SearchResult(replay(game, moves), goalReached, control.isExpired(), 
+				control.getNodesExpanded());
+	}
+	
+	
+	/**
+	 * Logs each move a search picked. 
+	 * Nodes don't keep what Cards their moves played, so that is worked out here, 
+	 * 	by playing the moves again from where the search started.
+	 * @param start the state the search started from
+	 * @param moves the moves the search picked, in order
+	 */
+	private void logMoves(PackedGameState start, ArrayList<Move> moves) {
+		PackedGameState state = new PackedGameState(start);
+		for(Move move : moves) {
+			int sourceIndex = move.getIndex();
+			int to = move.getFoundation();
+			
+			// Get the "From" Card before it gets played
+			int fromCode;
+			if(move.getSource() == MoveSource.HAND) {
+				fromCode = state.getHandAt(sourceIndex);
+			} else if(move.getSource() == MoveSource.DISCARD) {
+				fromCode = state.getDiscardTop(true, sourceIndex);
+			} else {
+				fromCode = state.getStockTop(true);
+				log(() -> "Picked pile to play stock on: " + playTo[to], 1);
+			}
+			state.play(move);
+			log(TurnLogEvent.played(move, PackedGameState.toCard(fromCode), state.getFoundationTopCard(to)));
+		}
+	}
+	
+	
+	/**
+	 * Runs the priority queue loop of a breadth first search until it reaches a goal, runs out of nodes, 
+	 * 	runs out of budget, or another search sharing the same control reaches a goal.
+	 * Nodes that aren't goals, but could stand in for one, are offered to the control as the best so far.
+	 * @param queue the nodes to search from
+	 * @param type the goal or type of this search ["stock", "hand0", "block", "extra"]
+	 * @param evaluator scores each node reached
+	 * @param seenBefore game states that have already been queued, possibly shared with other searches
+	 * @param control the budget, and where the goal and best node so far are kept
+	 * @param random the source of randomness for this search
+	 * @param pool where this search gets its nodes and states from
+	 */
+	private void search(PriorityQueue<GameStateNode> queue, String type, SearchEvaluator evaluator, 
+			Set<PackedGameState> seenBefore, SearchControl control, SplittableRandom random, 
+			GameStateNodePool pool) {
 		// Here's the actual queue
-		while(!queue.isEmpty()) {
+		while(!queue.isEmpty() && !control.isDone()) {
 			// Logging
 			waitForConfirmation();
 			log("\n\n", 1);
 			log("What's in the queue?", 2);
 			for(GameStateNode node : queue) {
-				log("    " + node.getGame().getId() + ": " + node.getValue(), 2);
+				log(() -> "    " + node.getValue(), 2);
 			}
 			waitForConfirmation();
 			
 			// Get the new node
 			GameStateNode curNode = queue.remove();
-			SkipBoGameModel curGame = curNode.getGame();
 			
 			// Logging
 			log("\n\n", 1);
-			log("Removing new node from " + type.toUpperCase() + " queue. New Length: " + queue.size(), 1);
-			log(curGame.toString(), 2);
-			for(String step : curNode.getStepsTaken()) {
-				log(step, 2);
-			}
+			log(() -> "Removing new node from " + type.toUpperCase() + " queue. New Length: " + queue.size(), 1);
+			log(() -> curNode.getState().toString(), 2);
+			log(() -> "Moves to this node: " + curNode.getMovesTaken(), 2);
 			
-			// Here are the base cases for each of the different use cases of this method. 
-			// Base Case: Stock
-			if(type.matches("stock")) {
-				// Find the stock top, in case we need to log it later
-				Card stockTop = curGame.getStockTop(true);
-				
-				// Store which pile we end up playing to
-				char pileIndex = 'x'; // junk value. won't do anything if the program doesn't overwrite it.
+			if(!control.tryExpand()) {
+				break;
+			}
+			GameStateNode goal = checkGoal(curNode, type, random, pool);
+			if(goal == null) {
+				int playsThatWorked = expand(curNode, type, evaluator, seenBefore, queue, pool);
 				
-				if(stockTop == Card.SKIPBO_UNPLAYED) {
-					log("stock top is a skip bo. Getting a random pileIndex", 2);
-					// If the stock is a skip bo, pick a stack at random to place it at.
-					// This does not necessarily consider 4 different places. 
-					//It counts how many unique foundation tops there are.
-					HashMap<Integer, Character> uniqueTops = new HashMap<Integer, Character>();
-					for(char cur : tryAt) {
-						int cardValue;
-						try {
-							cardValue = game.getFoundationTop(cur).getValue();
-						} catch (NullPointerException e) {
-							cardValue = 0;
-						}
-						if(!uniqueTops.containsKey(cardValue)) {
-							uniqueTops.put(cardValue, cur);
-						}
-					}
-					
-					log("found " + uniqueTops.size() + " unique tops", 2);
+				// Base case: Extra
+				// If we have reached a leaf node, and we found no close ones and everything has been 
+				// successfully blocked, 
+				if(type.equals("extra") && playsThatWorked == 0 && !opponentStockIsClose(curNode.getState())) {
+					goal = curNode;
+				}
+			}
 			
-					int rand = ThreadLocalRandom.current().nextInt(uniqueTops.size());
-					pileIndex = (char) uniqueTops.values().toArray()[rand];
-					
-					log("pile index selected for SkipBo: " + pileIndex, 2);
-					
-					curGame.play("ss", "f" + pileIndex);
-
-					log("played there: " + pileIndex, 2);
-					
-				} else {
-					// For each of the four foundations, try to play the top Stock Card there.
-					for(char cur : tryAt) {
-						// Logging
-						log("TRYING TO PLAY STOCK: ss to f" + cur, 1);
-						
-						try {
-							// The moment of truth: try to play this card
-							curGame.play("ss", "f" + cur);
-
-							// If we passed that last line, then this attempt did work. 
-							log("Stock move accepted.", 1);
-							pileIndex = cur;
-							break;
-							
-						} catch (Exception e){
-							// It will err of the move was not valid. 
-							log("Could not play stock on " + cur + ": " + e, 2);
-							log("Stock move rejected.", 2);
-							waitForConfirmation();
-						}
+			if(goal != null) {
+				control.offerGoal(goal);
+			} else if(!type.equals("stock") && !(type.equals("extra") && opponentStockIsClose(curNode.getState()))) {
+				control.offerBest(curNode);
+			}
+		}
+	}
+	
+	
+	/**
+	 * Splits a breadth first search across the common ForkJoinPool. 
+	 * The root is checked and expanded here, then each of its children is searched as its own task, 
+	 * 	with its own queue. The tasks share one set of seen game states, 
+	 * 	and all of them stop once any of them reaches a goal.
+	 * Which goal is found depends on how the tasks are scheduled, so this is not reproducible from a seed.
+	 * Worker threads are shared, so each task borrows a pool of its own rather than using its thread's. 
+	 * 	The caller gives the pools back once it is done with the nodes.
+	 * @param root the node to search from
+	 * @param type the goal or type of this search ["stock", "hand0", "block", "extra"]
+	 * @param evaluator scores each node reached
+	 * @param control the budget, shared by every task, and where the goal and best node so far are kept
+	 * @param random the source of randomness for this search. Each task, and the states it reaches, 
+	 * 	get their own stream split off of it.
+	 * @param pool where the root and its children come from
+	 * @param taskPools where to list the pools the tasks borrowed
+	 */
+	private void searchInParallel(GameStateNode root, String type, SearchEvaluator evaluator, 
+			SearchControl control, SplittableRandom random, GameStateNodePool pool, 
+			ArrayList<GameStateNodePool> taskPools) {
+		control.tryExpand();
+		GameStateNode goal = checkGoal(root, type, random, pool);
+		if(goal != null) {
+			control.offerGoal(goal);
+			return;
+		}
+		
+		Set<PackedGameState> seenBefore = ConcurrentHashMap.newKeySet();
+		PriorityQueue<GameStateNode> children = new PriorityQueue<GameStateNode>();
+		int playsThatWorked = expand(root, type, evaluator, seenBefore, children, pool);
+		boolean rootIsSafe = !(type.equals("extra") && opponentStockIsClose(root.getState()));
+		if(type.equals("extra") && playsThatWorked == 0 && rootIsSafe) {
+			control.offerGoal(root);
+			return;
+		}
+		if(!type.equals("stock") && rootIsSafe) {
+			control.offerBest(root);
+		}
+		
+		ArrayList<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+		while(!children.isEmpty()) {
+			PriorityQueue<GameStateNode> queue = new PriorityQueue<GameStateNode>();
+			GameStateNode child = children.remove();
+			SplittableRandom taskRandom = random.split();
+			// Copies share their state's Random, so the task's states draw from the task's own stream
+			child.getState().setRandom(taskRandom);
+			queue.add(child);
+			GameStateNodePool taskPool = borrowTaskPool();
+			taskPools.add(taskPool);
+			tasks.add(ForkJoinPool.commonPool().submit(
+					() -> search(queue, type, evaluator, seenBefore, control, taskRandom, taskPool)));
+		}
+		for(ForkJoinTask<?> task : tasks) {
+			task.join();
+		}
+	}
+	
+	
+	/**
+	 * Borrows a pool for one task of a parallel search, until the search is done with its nodes
+	 * @return a pool that nothing else is using
+	 */
+	private static GameStateNodePool borrowTaskPool() {
+		GameStateNodePool pool = TASK_POOLS.poll();
+		return pool == null ? new GameStateNodePool() : pool;
+	}
+	
+	
+	/**
+	 * Checks if a node is a goal for this type of search. 
+	 * The Extra search's goal depends on the node's children, so it is checked in search() instead.
+	 * @param curNode the node to check
+	 * @param type the goal or type of this search ["stock", "hand0", "block", "extra"]
+	 * @param random the source of randomness for picking where a Skip-Bo goes
+	 * @param pool where the goal node comes from, if it isn't curNode itself
+	 * @return the goal node, or null if this isn't one. For the Stock search, 
+	 * 	the goal node's moves end with playing the Stock Card.
+	 */
+	private GameStateNode checkGoal(GameStateNode curNode, String type, SplittableRandom random, 
+			GameStateNodePool pool) {
+		PackedGameState curState = curNode.getState();
+		
+		// Here are the base cases for each of the different use cases of this method. 
+		// Base Case: Stock
+		if(type.equals("stock")) {
+			// Store which pile we end up playing to
+			int pileIndex = -1; // junk value. won't do anything if the program doesn't overwrite it.
+			
+			if(curState.getStockTop(true) == PackedGameState.SKIPBO) {
+				log("stock top is a skip bo. Getting a random pileIndex", 2);
+				// If the stock is a skip bo, pick a stack at random to place it at.
+				// This does not necessarily consider 4 different places. 
+				//It counts how many unique foundation tops there are.
+				HashMap<Integer, Integer> uniqueTops = new HashMap<Integer, Integer>();
+				for(int cur = 0; cur < 4; cur++) {
+					int cardValue = curState.getFoundationTop(cur);
+					if(!uniqueTops.containsKey(cardValue)) {
+						uniqueTops.put(cardValue, cur);
 					}
 				}
 				
-				if((pileIndex + "").matches("[1-4]")) {
-					log("Picked pile to play stock on: f" + pileIndex, 1);
-					
-					lastStockAttemptWorked = true;
-					
-					// Important logging actions!
-					// Add the steps to reach this node to the official list of actions that happened on this turn. 
-					// Reverse the order of the steps nodes as they are added
-					while(!curNode.getStepsTaken().isEmpty()) {
-						String step = curNode.getStepsTaken().remove(curNode.getStepsTaken().size() - 1);
-						if(!step.isBlank()) {
-							log(step, 0);
-						}
-					}
-					
-					// Log information about the stock top played as well.
-					String skipBo = "";
-					if(stockTop == Card.SKIPBO_UNPLAYED) {
-						skipBo = "The Skip-Bo became a " + curGame.getFoundationTop(pileIndex) + ".";
-					}
-					log("Played " + stockTop + " from Stock to Foundation " + pileIndex + ". " + skipBo, 0);
-					waitForConfirmation();
-					
-					// Return this game state so that it can become the new official one!
-					return curGame;
-				}
+				log(() -> "found " + uniqueTops.size() + " unique tops", 2);
+		
+				int rand = random.nextInt(uniqueTops.size());
+				pileIndex = (int) uniqueTops.values().toArray()[rand];
 				
-			// Base Case: Hand0 (Play out all cards in hand)	
-			} else if(type.matches("hand0")) {
-				if(curGame.getHandCountAsInt(true) == 0) {
-					// If we passed that last line, then this attempt did work. Set flag.
-					lastOutOfHandAttemptWorked = true;
+				int selected = pileIndex;
+				log(() -> "pile index selected for SkipBo: " + selected, 2);
+			} else {
+				// For each of the four foundations, try to play the top Stock Card there.
+				for(int cur = 0; cur < 4; cur++) {
+					// Logging
+					String to = playTo[cur];
+					log(() -> "TRYING TO PLAY STOCK: ss to " + to, 1);
 					
-					// Important logging actions!
-					// Add the steps to reach this node to the official list of actions that happened on this turn. 
-					// Reverse the order of the steps nodes as they are added
-					while(!curNode.getStepsTaken().isEmpty()) {
-						String step = curNode.getStepsTaken().remove(curNode.getStepsTaken().size() - 1);
-						if(!step.isBlank()) {
-							log(step, 0);
-						}
+					// The moment of truth: could this card be played?
+					if(curState.isLegal(PackedGameState.FROM_STOCK, 0, cur)) {
+						log("Stock move accepted.", 1);
+						pileIndex = cur;
+						break;
 					}
 					
-					log("Played all five cards." , 0);
-					log("MOVE ACCPTED.", 1);
+					// It will be rejected if the move was not valid. 
+					log("Stock move rejected.", 2);
 					waitForConfirmation();
-					
-					// Return this game state so that it can become the new official one!
-					return curGame;
 				}
-				
-			// Base Case: Block
-			} else if(type.matches("block")) {
-				// If the other person's stock card is a skip-bo, we won't even bother
-				if(curGame.getStockTop(false) != Card.SKIPBO_UNPLAYED) {
-					// Get the other stock top
-					int otherStock = curGame.getStockTop(false).getValue();
-					
-					// We'll start looking for piles that are too close.
-					boolean anyClose = false;
-					for (char c : tryAt) {
-						try {
-							// For piles with cards in them
-							if(curGame.getFoundationTop(c).getValue() + 1 == otherStock) {
-
-								log("Blocking: Close on f" + c, 1);
-								anyClose = true;
-							}
-						} catch (NullPointerException e) {
-							// For piles without cards in them
-							if(otherStock == 1) {
-								anyClose = true;
-							}
-						}
-					}
-					
-					// If we found no close ones and everything has been successfully blocked, 
-					if(!anyClose) {
-						log("Successfully blocked opponent, or there was nothing worth blocking.", 1);
-						// Important logging actions!
-						// Add the steps to reach this node to the official list of actions that happened on this turn. 
-						// Reverse the order of the steps nodes as they are added
-						while(!curNode.getStepsTaken().isEmpty()) {
-							String step = curNode.getStepsTaken().remove(curNode.getStepsTaken().size() - 1);
-							if(!step.isBlank()) {
-								log(step, 0);
-							}
-						}
-						
-						// Return this game state
-						return curGame;
-					}
-				} else {
-					log("Not blocking because opponent has a skip-bo at the top of the stock.", 2);
-					return game; 
-				}
-				
-			// Base Case: Extra
-			} else if(type.matches("extra")) {
-				// THe base case for this happens after
 			}
 			
-			// More logging
-			log("ABOUT TO START LOOPING THROUGH ALL POSSIBLE PLAYS", 1);
-			waitForConfirmation();
+			if(pileIndex >= 0) {
+				// The stock play isn't applied to the state. It only needs to be in the node's moves.
+				return pool.obtain(curNode.getValue(), curState, curNode, 
+						Move.play(MoveSource.STOCK, 0, pileIndex).getCode());
+			}
 			
-			// Loop through all possible ways to play cards from Discard Piles and Hand to foundations
-			ArrayList<String> playsThatWorked = new ArrayList<String>(); // Used to keep track of plays for some BFS use cases.
-			for(String from : playFrom) {
-				for(String to : playTo) {
-					// Logging
-					waitForConfirmation();
-					log("Checking new node: from " + from + " to " + to, 1);	
-					log("Move sequence for parent node (" + curGame.getId() + "): ", 2);
-					for(String move : curNode.getStepsTaken()) {
-						log(move, 2);
-					}
-					
-					// Try to execute this combination of to and from.
-					try { 
-						// Copy the game so that we can create a new hypothetical game based on it.
-						SkipBoGameModel newGame = new SkipBoGameModel(curGame);
-						
-						// Get information about the "From" Card in case we need it for logging later.
-						Card fromCard = newGame.getCardAt(true, from);
-						
-						// We won't include any nodes that are using skip-bos if the goal is
-						// to use up the cards in the hand.
-						if(type.matches("extra") && fromCard == Card.SKIPBO_UNPLAYED) {
-							continue;
-						}
-						
-						// Actually try to play this.
-						newGame.play(from, to);
-						
-						// If we passed that line, the move was valid. 
-						playsThatWorked.add(from + to);
-						log("That worked! Heading into Seen Before loop. " + seenBefore.size(), 3);
-						
-						// Check if this game state has been seen before, and if so, skip it. 
-						boolean skip = false;
-						for(SkipBoGameModel model : seenBefore) {
-							log("checking if seen before", 3);
-							log("result of check: " + model.equals(newGame), 3);
-							if(model.equals(newGame)) {
-								log("not including previously seen node", 2);
-								skip = true;
-								break;
-							}
-						}
-						if(skip) {
-							continue;
-						}
-						
-						// If we passed that, this is a unique game state and we will keep it around.
-						seenBefore.add(newGame);
-						log("including never-before-seen node. Queue is now " + seenBefore.size() + 
-								" items long.", 1);
-						
-						// Transfer the list of turns to the next node, for later logging. 
-						ArrayList<String> addMoveSequence = new ArrayList<String>();
-						addMoveSequence.addAll(curNode.getStepsTaken());
-						log("The log has been copied.", 2);
-						
-						// Construct a string describing this latest move to add to the log
-						String fromString = from;
-						if(from.matches("h[0-4]")) {
-							fromString = "Hand";
-						} else if(from.matches("d[1-4]")) {
-							fromString = "Discard " + from.charAt(1);
-						}
-						String toString = to;
-						if(to.matches("f[1-4]")) {
-							toString = "Foundation " + to.charAt(1);
-						}
-						
-						String skipBo = "";
-						if(fromCard == Card.SKIPBO_UNPLAYED) {
-							if(newGame.getFoundationTop(to.charAt(1)) == null) {
-								skipBo = " That Stock is now empty.";
-							} else {
-								skipBo = " The Skip-Bo became a " + newGame.getFoundationTop(to.charAt(1)) + ".";
-							}
-						}
-						
-						// Actually add the description of this turn to the turn list, for future logging
-						addMoveSequence.add(0, "Played " + fromCard + " from " + fromString + " to " + toString 
-								+ ". " + skipBo);
-						
-						// Figure out how to score this node, for the priority queue. 
-						int score = 0;
-						switch(type) {
-							case "stock":
-								score = evaluateScoreOnStock(newGame);
-								break;
-							case "hand0":
-							case "extra":
-								score = evaluateScoreOnHand(newGame);
-								break;
-							case "block":
-								score = evaluateScoreOnBlock(newGame);
-								break;
-						};
-						
-						// Penalize any solution that used a skip bo to get there. 
-						// This will discourage using skip-bos up early in the turn.
-						if(fromCard == Card.SKIPBO_UNPLAYED) {
-							score++;
-						}
-						log("Score of this node: " + score, 2);
-						
-						// Add this node to the queue.
-						queue.add(new GameStateNode(score, newGame, addMoveSequence));
-						
-						// Logging
-						//waitForConfirmation();
-						log("Adding Children to Queue: Could play " + from + " to " + to, 2);
-						log("Move sequence for this node ("+ newGame.getId() +"): ", 2);
-						for(String move : addMoveSequence) {
-							log(move, 2);
-						}
-						
-						
-					} catch (Exception e) {
-						// Logging in the case that this went awry
-						waitForConfirmation();
-						log("Adding Children to Queue: Could not play " + from + " to " + to +
-								": " + e.getMessage() , 3);
-						
-						// This shouldn't be happening any more, but just in case it is, in a debugging context
-						if(e.getMessage() == null) {
-							e.printStackTrace();
-						}
-					}
-				} // Part of to/from looping
-			} // Part of to/from looping
+		// Base Case: Hand0 (Play out all cards in hand)	
+		} else if(type.equals("hand0")) {
+			if(curState.getHandSize() == 0) {
+				return curNode;
+			}
 			
-			// Base case: Extra
-			if(type.matches("extra")) {
-				// If we have reached a leaf node
-				if(playsThatWorked.size() == 0) {
-					// We'll start looking for piles that are too close.
-					boolean anyClose = false;
-					if(curGame.getStockTop(false) != Card.SKIPBO_UNPLAYED) {
-						int otherStock = curGame.getStockTop(false).getValue();
-						for (char c : tryAt) {
-							try {
-								// For piles with cards in them
-								if(curGame.getFoundationTop(c).getValue() + 1 == otherStock) {
-									anyClose = true;
-								}
-							} catch (NullPointerException e) {
-								// For piles without cards in them
-								if(otherStock == 1) {
-									anyClose = true;
-								}
-							}
-						}
-					} else {
-						anyClose = false;
-					}
-						
-					// If we found no close ones and everything has been successfully blocked, 
-					if(!anyClose) {
-						// Important logging actions!
-						// Add the steps to reach this node to the official list of actions that happened on this turn. 
-						// Reverse the order of the steps nodes as they are added
-						while(!curNode.getStepsTaken().isEmpty()) {
-							String step = curNode.getStepsTaken().remove(curNode.getStepsTaken().size() - 1);
-							if(!step.isBlank()) {
-								log(step, 0);
-							}
-						}
-							
-						// Return this game state
-						return curGame;
-					}
-				}
-			} // End of base case extra
-		}// End of while loop
-		
-		// If we didn't return at a goal state and have exited the priority queue, set the relevant flag
-		if(type.matches("stock")) {
-			lastStockAttemptWorked = false;
-		} else if (type.matches("hand0")) {
-			lastOutOfHandAttemptWorked = false;
+		// Base Case: Block
+		} else if(type.equals("block")) {
+			// If we found no close ones and everything has been successfully blocked, 
+			if(!opponentStockIsClose(curState)) {
+				return curNode;
+			}
 		}
-		
-		// Return the unchanged game state.
-		return testGame;
+		return null;
 	}
 	
 	
 	/**
-	 * Evaluates the worth of a particular game by comparing the stock height to the heights of 
-	 * the foundations. The closer a stock is to the foundation, the more valuable it is
-	 * @param testGame the game to score
-	 * @return the score of this game
+	 * Adds every child of a node that hasn't been seen before to a queue.
+	 * @param curNode the node to expand
+	 * @param type the goal or type of this search ["stock", "hand0", "block", "extra"]
+	 * @param evaluator scores each child
+	 * @param seenBefore game states that have already been queued, possibly shared with other searches
+	 * @param queue the queue to add children to
+	 * @param pool where the children and their states come from
+	 * @return the number of plays that could be made from this node, including ones already seen
 	 */
-	private int evaluateScoreOnStock(SkipBoGameModel testGame) {
-		char[] tryAt = {'1', '2', '3', '4'};
-		int currentLowest = 6;
-		Integer stockTop = testGame.getStockTop(true).getValue();
-		if(stockTop == null) {
-			return 0;
-		}
-		for(char cur : tryAt) {
-			int fndnTop;
-			try {
-				fndnTop = testGame.getFoundationTop(cur).getValue();
-				
-			} catch (Exception e){
-				fndnTop = 12;
+	private int expand(GameStateNode curNode, String type, SearchEvaluator evaluator, 
+			Set<PackedGameState> seenBefore, PriorityQueue<GameStateNode> queue, GameStateNodePool pool) {
+		PackedGameState curState = curNode.getState();
+		
+		// More logging
+		log("ABOUT TO START LOOPING THROUGH ALL POSSIBLE PLAYS", 1);
+		waitForConfirmation();
+		
+		// Loop through all the valid ways to play cards from Discard Piles and Hand to foundations
+		int playsThatWorked = 0; // Used to keep track of plays for some BFS use cases.
+		for(Move move : curState.legalMoves()) {
+			// The Stock is handled by the base cases above
+			if(move.getSource() == MoveSource.STOCK) {
+				continue;
 			}
-			int difference = (stockTop - fndnTop + 11) % 12;
-			if (difference < currentLowest) {
-				currentLowest = difference;
+			int sourceIndex = move.getIndex();
+			
+			// Logging
+			waitForConfirmation();
+			log(() -> "Checking new node: " + move, 1);
+			
+			// Get information about the "From" Card, since Skip-Bos are treated differently.
+			Card fromCard;
+			if(move.getSource() == MoveSource.HAND) {
+				fromCard = PackedGameState.toCard(curState.getHandAt(sourceIndex));
+			} else {
+				fromCard = PackedGameState.toCard(curState.getDiscardTop(true, sourceIndex));
 			}
-		}
-		return currentLowest;
+			
+			// We won't include any nodes that are using skip-bos if the goal is
+			// to use up the cards in the hand.
+			if(type.equals("extra") && fromCard == Card.SKIPBO_UNPLAYED) {
+				continue;
+			}
+			
+			// Copy the state so that we can create a new hypothetical game based on it,
+			// and play this. It's already known to be valid.
+			PackedGameState newState = pool.copyOf(curState);
+			newState.play(move);
+			playsThatWorked++;
+			log(() -> "That worked! Heading into Seen Before loop. " + seenBefore.size(), 3);
+			
+			// Check if this game state has been seen before, and if so, skip it. 
+			// If not, this is a unique game state and we will keep it around.
+			if(!seenBefore.add(newState)) {
+				log("not including previously seen node", 2);
+				pool.releaseLastState();
+				continue;
+			}
+			log(() -> "including never-before-seen node. Queue is now " + seenBefore.size() + 
+					" items long.", 1);
+			
+			// Figure out how to score this node, for the priority queue. 
+			int score = evaluator.evaluate(newState);
+			
+			// Penalize any solution that used a skip bo to get there. 
+			// This will discourage using skip-bos up early in the turn.
+			if(fromCard == Card.SKIPBO_UNPLAYED) {
+				score++;
+			}
+			int finalScore = score;
+			log(() -> "Score of this node: " + finalScore, 2);
+			
+			// Add this node to the queue.
+			// The node only keeps the move that reached it. The description is worked out 
+			// later, and only if this node ends up being picked.
+			queue.add(pool.obtain(score, newState, curNode, move.getCode()));
+			
+			// Logging
+			log(() -> "Adding Children to Queue: Could play " + move, 2);
+		} // Part of move looping
+		return playsThatWorked;
 	}
 	
 	
 	/**
-	 * Evaluates the worth of a particular game by comparing the number of cards that have been played.
-	 * Fewer cards is better.
-	 * @param testGame the game to score
-	 * @return the score of this game
+	 * Plays a sequence of moves found by a search on a copy of the game. 
+	 * The moves were already checked against the PackedGameState, so the model should accept all of them.
+	 * @param game the game the search started from
+	 * @param moves the moves to play
+	 * @return the resulting game state
 	 */
-	private int evaluateScoreOnHand(SkipBoGameModel testGame) {
-		return testGame.getHandCountAsInt(true);
+	private SkipBoGameModel replay(SkipBoGameModel game, ArrayList<Move> moves) {
+		SkipBoGameModel result = new SkipBoGameModel(game);
+		for(Move move : moves) {
+			result.play(move);
+		}
+		return result;
 	}
 	
 	
 	/**
-	 * Evaluates the worth of a particular game by comparing the stock height of the opponent to the heights of 
-	 * the foundations. The farther a stock is to the foundation, the more valuable it is
-	 * @param testGame the game to score
-	 * @return the score of this game
+	 * Checks if the opponent could play their Stock Card on any of the Foundations.
+	 * @param state the game state to check
+	 * @return true if any Foundation is one below the opponent's Stock Card
 	 */
-	private int evaluateScoreOnBlock(SkipBoGameModel testGame) {
-		char[] tryAt = {'1', '2', '3', '4'};
-		int currentLowest = 6;
-		Integer stockTop = testGame.getStockTop(false).getValue();
-		if(stockTop == null) {
-			return 12;
+	private boolean opponentStockIsClose(PackedGameState state) {
+		int otherStock = state.getStockTop(false);
+		if(otherStock == PackedGameState.SKIPBO || otherStock == PackedGameState.NO_CARD) {
+			return false;
 		}
-		for(char cur : tryAt) {
-			int fndnTop;
-			try {
-				fndnTop = testGame.getFoundationTop(cur).getValue();
-				
-			} catch (Exception e){
-				fndnTop = 12;
-			}
-			int difference = 12 - (stockTop - fndnTop + 11) % 12;
-			if (difference < currentLowest) {
-				currentLowest = difference;
+		
+		// We'll start looking for piles that are too close.
+		boolean anyClose = false;
+		for (int f = 0; f < 4; f++) {
+			if(state.getFoundationTop(f) + 1 == otherStock) {
+				String close = playTo[f];
+				log(() -> "Blocking: Close on " + close, 1);
+				anyClose = true;
 			}
 		}
-		return currentLowest;
+		return anyClose;
 	}
 	
+	
 	/**
-	 * Logs a message for this game
+	 * Logs a message for this game. Public so that AIStrategies can log what they do.
 	 * 0: need to know. user-level stuff. big actions.
 	 * 1: important but non-essential
 	 * 2: "the junk messages" if debugging needs to happen
@@ -776,21 +734,196 @@ public class PlayerAI extends Player {
 	 * @param level the level at which to log this.
 	 */
 	@SuppressWarnings("unused")
-	private void log(String message, int level) {
+	public void log(String message, int level) {
 		if(level <= logLevel) {
+			record(TurnLogEvent.text(message));
+		}
+	}
+	
+	
+	/**
+	 * Logs a message for this game, only working out its text if the level is being logged. 
+	 * Use this instead of building the message up front. 
+	 * The text is worked out right away, since what it describes may change or be reused afterwards.
+	 * @param message supplies the message to log
+	 * @param level the level at which to log this.
+	 */
+	@SuppressWarnings("unused")
+	public void log(Supplier<String> message, int level) {
+		if(level <= logLevel) {
+			record(TurnLogEvent.text(message.get()));
+		}
+	}
+	
+	
+	/**
+	 * Logs one of the need to know events of a turn, at level 0
+	 * @param event the event
+	 */
+	public void log(TurnLogEvent event) {
+		record(event);
+	}
+	
+	
+	/**
+	 * Adds an event to the turn log
+	 * @param event the event
+	 */
+	@SuppressWarnings("unused")
+	private void record(TurnLogEvent event) {
+		// Parallel searches log from several threads at once
+		synchronized(turnLog) {
 			if(1 <= logLevel) {
-				System.out.println(message);
+				System.out.println(event);
 			}
-			turnLog.add(message);
+			turnLog.add(event);
+		}
+	}
+	
+	
+	/**
+	 * Gets the evaluator a type of search uses
+	 * @param type the goal or type of the search ["stock", "hand0", "block", "extra"]
+	 * @return the evaluator
+	 */
+	private SearchEvaluator getEvaluator(String type) {
+		switch(type) {
+			case "stock":
+				return stockEvaluator;
+			case "block":
+				return blockEvaluator;
+			default:
+				return handEvaluator;
+		}
+	}
+	
+	
+	/**
+	 * Gets the evaluator the Stock search uses
+	 * @return the evaluator
+	 */
+	public SearchEvaluator getStockEvaluator() {
+		return stockEvaluator;
+	}
+	
+	
+	/**
+	 * Sets the evaluator the Stock search uses
+	 * @param stockEvaluator the evaluator
+	 */
+	public void setStockEvaluator(SearchEvaluator stockEvaluator) {
+		this.stockEvaluator = stockEvaluator;
+	}
+	
+	
+	/**
+	 * Gets the evaluator the Hand0 and Extra searches use
+	 * @return the evaluator
+	 */
+	public SearchEvaluator getHandEvaluator() {
+		return handEvaluator;
+	}
+	
+	
+	/**
+	 * Sets the evaluator the Hand0 and Extra searches use
+	 * @param handEvaluator the evaluator
+	 */
+	public void setHandEvaluator(SearchEvaluator handEvaluator) {
+		this.handEvaluator = handEvaluator;
+	}
+	
+	
+	/**
+	 * Gets the evaluator the Block search uses
+	 * @return the evaluator
+	 */
+	public SearchEvaluator getBlockEvaluator() {
+		return blockEvaluator;
+	}
+	
+	
+	/**
+	 * Sets the evaluator the Block search uses
+	 * @param blockEvaluator the evaluator
+	 */
+	public void setBlockEvaluator(SearchEvaluator blockEvaluator) {
+		this.blockEvaluator = blockEvaluator;
+	}
+	
+	
+	/**
+	 * Checks if this AI splits its searches across several threads
+	 * @return true if searches run in parallel
+	 */
+	public boolean isParallelSearch() {
+		return parallelSearch;
+	}
+	
+	
+	/**
+	 * Sets whether this AI splits its searches across several threads. 
+	 * Parallel searches use every core, which cuts the time a turn takes, 
+	 * 	but they aren't reproducible from the game's seed. 
+	 * Leave this off when many games are already being played at once.
+	 * @param parallelSearch true to search in parallel
+	 */
+	public void setParallelSearch(boolean parallelSearch) {
+		this.parallelSearch = parallelSearch;
+	}
+	
+	
+	/**
+	 * Gets how this AI plays its turns
+	 * @return the strategy
+	 */
+	public AIStrategy getStrategy() {
+		return strategy;
+	}
+	
+	
+	/**
+	 * Sets how this AI plays its turns, including how much work each of its searches may do
+	 * @param strategy the strategy
+	 */
+	public void setStrategy(AIStrategy strategy) {
+		this.strategy = strategy;
+	}
+	
+	
+	/**
+	 * Marks the current thread as an AIService worker, or stops marking it.
+	 * While marked, every search on the thread stops by the deadline, and none are split across other threads.
+	 * @param deadline when searches have to stop, as System.nanoTime(), or NO_DEADLINE. 
+	 * 	Null once the service's turn is over.
+	 */
+	static void setServiceDeadline(Long deadline) {
+		if(deadline == null) {
+			SERVICE_DEADLINES.remove();
+		} else {
+			SERVICE_DEADLINES.set(deadline);
 		}
 	}
 	
 	
 	/**
-	 * Gets the most recent turn log. It clears it and returns a copy.
+	 * Gets the most recent turn log, as text. This is where the events get turned into text.
 	 * @return ArrayList<String> describing all the turn actions for this AI player
 	 */
 	public ArrayList<String> getMostRecentLogs() {
+		ArrayList<String> lines = new ArrayList<String>(turnLog.size());
+		for(TurnLogEvent event : turnLog) {
+			lines.add(event.toString());
+		}
+		return lines;
+	}
+	
+	
+	/**
+	 * Gets the most recent turn log, as events
+	 * @return the events of this AI player's most recent turn
+	 */
+	public ArrayList<TurnLogEvent> getMostRecentLogEvents() {
 		return turnLog;
 	}
 
@@ -0,0 +1,101 @@
+package users;
+
+/**
+ * How much work one of PlayerAI's searches may do before it has to give back the best result it has.
+ * A budget can limit the number of nodes expanded, the wall-clock time, or both.
+ * Node limits are reproducible from a seed. Time limits depend on the machine, so they aren't.
+ *
+ * @author Anna Heebsh
+ */
+public final class SearchBudget {
+
+	/*A budget that never runs out*/
+	public static final SearchBudget UNLIMITED = new SearchBudget(Integer.MAX_VALUE, Long.MAX_VALUE);
+
+	/*Most nodes a search may expand*/
+	private final int maxNodes;
+	/*Most milliseconds a search may run for*/
+	private final long maxMillis;
+
+
+	/**
+	 * Constructor
+	 * @param maxNodes the most nodes a search may expand. Integer.MAX_VALUE for no limit.
+	 * @param maxMillis the most milliseconds a search may run for. Long.MAX_VALUE for no limit.
+	 * @throws RuntimeException if either limit is less than 1
+	 */
+	public SearchBudget(int maxNodes, long maxMillis) throws RuntimeException {
+		if(maxNodes < 1 || maxMillis < 1) {
+			throw new RuntimeException("A search budget must allow at least one node and one millisecond.");
+		}
+		this.maxNodes = maxNodes;
+		this.maxMillis = maxMillis;
+	}
+
+
+	/**
+	 * Makes a budget that only limits the number of nodes expanded
+	 * @param maxNodes the most nodes a search may expand
+	 * @return the budget
+	 */
+	public static SearchBudget nodes(int maxNodes) {
+		return new SearchBudget(maxNodes, Long.MAX_VALUE);
+	}
+
+
+	/**
+	 * Makes a budget that only limits the wall-clock time
+	 * @param maxMillis the most milliseconds a search may run for
+	 * @return the budget
+	 */
+	public static SearchBudget millis(long maxMillis) {
+		return new SearchBudget(Integer.MAX_VALUE, maxMillis);
+	}
+
+
+	/**
+	 * Gets the most nodes a search may expand
+	 * @return the node limit, or Integer.MAX_VALUE if there isn't one
+	 */
+	public int getMaxNodes() {
+		return maxNodes;
+	}
+
+
+	/**
+	 * Gets the most milliseconds a search may run for
+	 * @return the time limit, or Long.MAX_VALUE if there isn't one
+	 */
+	public long getMaxMillis() {
+		return maxMillis;
+	}
+
+
+	/**
+	 * Checks if this budget has a time limit
+	 * @return true if searches are stopped by the clock
+	 */
+	public boolean hasTimeLimit() {
+		return maxMillis != Long.MAX_VALUE;
+	}
+
+
+	/**
+	 * Makes a budget like this one, but that runs for no longer than the given time
+	 * @param maxMillis the most milliseconds a search may run for. Anything under 1 counts as 1.
+	 * @return this budget, if it was already that short, or else the shorter budget
+	 */
+	public SearchBudget capMillis(long maxMillis) {
+		if(maxMillis >= this.maxMillis) {
+			return this;
+		}
+		return new SearchBudget(maxNodes, Math.max(1, maxMillis));
+	}
+
+
+	@Override
+	public String toString() {
+		return "SearchBudget[nodes=" + (maxNodes == Integer.MAX_VALUE ? "unlimited" : maxNodes) +
+				", ms=" + (hasTimeLimit() ? maxMillis : "unlimited") + "]";
+	}
+}
@@ -0,0 +1,120 @@
+package users;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import components.GameStateNode;
+
+/**
+ * Everything one of PlayerAI's searches keeps track of besides its queue:
+ * the goal once one is found, the best node seen so far, and how much of the SearchBudget is used up.
+ * The tasks of a parallel search all share one of these.
+ *
+ * @author Anna Heebsh
+ */
+final class SearchControl {
+
+	/*How many nodes are expanded between looks at the clock. A power of 2.*/
+	private static final int CLOCK_INTERVAL = 64;
+
+	private final AtomicReference<GameStateNode> goal = new AtomicReference<GameStateNode>();
+	private final AtomicReference<GameStateNode> best = new AtomicReference<GameStateNode>();
+	private final AtomicInteger nodesExpanded = new AtomicInteger();
+
+	private final int maxNodes;
+	private final boolean timed;
+	/*System.nanoTime() when the search has to stop, if timed*/
+	private final long deadline;
+	private volatile boolean expired;
+
+
+	/**
+	 * Constructor. The clock starts now.
+	 * @param budget how much work the search may do
+	 */
+	SearchControl(SearchBudget budget) {
+		maxNodes = budget.getMaxNodes();
+		timed = budget.hasTimeLimit();
+		deadline = timed ? System.nanoTime() + budget.getMaxMillis() * 1_000_000L : 0;
+	}
+
+
+	/**
+	 * Checks if the search should stop, either because a goal was found or the budget ran out
+	 * @return true if the search should stop
+	 */
+	boolean isDone() {
+		return expired || goal.get() != null;
+	}
+
+
+	/**
+	 * Counts a node against the budget before it is expanded
+	 * @return true if the node may be expanded, false if the budget has run out
+	 */
+	boolean tryExpand() {
+		int count = nodesExpanded.incrementAndGet();
+		if(count > maxNodes ||
+				(timed && (count & (CLOCK_INTERVAL - 1)) == 0 && System.nanoTime() - deadline > 0)) {
+			expired = true;
+		}
+		return !expired;
+	}
+
+
+	/**
+	 * Records a goal. Only the first goal found is kept.
+	 * @param node the goal node
+	 */
+	void offerGoal(GameStateNode node) {
+		goal.compareAndSet(null, node);
+	}
+
+
+	/**
+	 * Records a node as the best so far if it scores lower than the current best
+	 * @param node the node
+	 */
+	void offerBest(GameStateNode node) {
+		GameStateNode current = best.get();
+		while((current == null || node.getValue() < current.getValue()) && !best.compareAndSet(current, node)) {
+			current = best.get();
+		}
+	}
+
+
+	/**
+	 * Gets the goal node
+	 * @return the first goal found, or null if there wasn't one
+	 */
+	GameStateNode getGoal() {
+		return goal.get();
+	}
+
+
+	/**
+	 * Gets the lowest scoring node offered so far
+	 * @return the node, or null if none were offered
+	 */
+	GameStateNode getBest() {
+		return best.get();
+	}
+
+
+	/**
+	 * Checks if the budget ran out
+	 * @return true if the search was stopped by its budget
+	 */
+	boolean isExpired() {
+		return expired;
+	}
+
+
+	/**
+	 * Gets the number of nodes counted against the budget
+	 * @return the count
+	 */
+	int getNodesExpanded() {
+		return Math.min(nodesExpanded.get(), maxNodes);
+	}
+}
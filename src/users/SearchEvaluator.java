@@ -0,0 +1,21 @@
+package users;
+
+import components.PackedGameState;
+
+/**
+ * Scores game states for PlayerAI's searches. Lower scores are searched first.
+ * The score is worked out for every state a search reaches, so it should be cheap. 
+ * PackedGameState keeps lookups such as the Foundation distances up to date for this.
+ * 
+ * @author Anna Heebsh
+ */
+@FunctionalInterface
+public interface SearchEvaluator {
+	
+	/**
+	 * Scores a game state
+	 * @param state the state to score
+	 * @return the score. Lower is better.
+	 */
+	int evaluate(PackedGameState state);
+}
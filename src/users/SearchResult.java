@@ -0,0 +1,70 @@
+package users;
+
+import driver.SkipBoGameModel;
+
+/**
+ * What one of PlayerAI's searches came back with.
+ * If the search reached its goal, the game is the goal state. If its budget ran out first,
+ * the game is the best state it had seen so far, and it's up to the AIStrategy whether to use it.
+ * Otherwise the game is unchanged.
+ *
+ * @author Anna Heebsh
+ */
+public final class SearchResult {
+
+	private final SkipBoGameModel game;
+	private final boolean goalReached;
+	private final boolean budgetExpired;
+	private final int nodesExpanded;
+
+
+	/**
+	 * Constructor
+	 * @param game the resulting game state
+	 * @param goalReached true if the search reached its goal
+	 * @param budgetExpired true if the search's budget ran out before it could finish
+	 * @param nodesExpanded the number of nodes the search expanded
+	 */
+	SearchResult(SkipBoGameModel game, boolean goalReached, boolean budgetExpired, int nodesExpanded) {
+		this.game = game;
+		this.goalReached = goalReached;
+		this.budgetExpired = budgetExpired;
+		this.nodesExpanded = nodesExpanded;
+	}
+
+
+	/**
+	 * Gets the resulting game state
+	 * @return the goal state, the best state seen if the budget ran out, or else the unchanged game
+	 */
+	public SkipBoGameModel getGame() {
+		return game;
+	}
+
+
+	/**
+	 * Checks if the search reached its goal
+	 * @return true if it did
+	 */
+	public boolean isGoalReached() {
+		return goalReached;
+	}
+
+
+	/**
+	 * Checks if the search ran out of budget before it could finish
+	 * @return true if getGame() is a best-so-far result
+	 */
+	public boolean isBudgetExpired() {
+		return budgetExpired;
+	}
+
+
+	/**
+	 * Gets the number of nodes the search expanded
+	 * @return the count
+	 */
+	public int getNodesExpanded() {
+		return nodesExpanded;
+	}
+}
@@ -0,0 +1,212 @@
+package users;
+
+import components.Card;
+import components.Move;
+import components.MoveSource;
+
+/**
+ * One entry in an AI Player's turn log. 
+ * Entries keep what happened as a type plus the Cards and Moves involved, 
+ * 	and are only turned into text when the log is actually shown. 
+ * Everything an entry keeps is immutable, so the log still says what happened after the game has moved on.
+ * 
+ * @author Anna Heebsh
+ */
+public final class TurnLogEvent {
+	
+	/**
+	 * The kinds of things a turn log records
+	 */
+	public enum Type {
+		/*Free text, for debugging messages*/
+		TEXT,
+		/*Cards drawn into the Hand*/
+		CARDS_DRAWN,
+		/*The last Stock Card was played*/
+		STOCK_EMPTY,
+		/*The Player won*/
+		WON,
+		/*A new Stock Card was turned up*/
+		STOCK_UNCOVERED,
+		/*A Card was played onto a Foundation*/
+		PLAYED,
+		/*A Card was discarded, ending the turn*/
+		DISCARDED
+	}
+	
+	private final Type type;
+	private final String text;
+	private final int count;
+	private final Card card;
+	private final Card result;
+	private final Move move;
+	
+	
+	/**
+	 * Constructor
+	 * @param type what kind of event this is
+	 * @param text the message, for TEXT events, or the Player's name, for WON events
+	 * @param count the number of Cards drawn, for CARDS_DRAWN events
+	 * @param card the Card moved or turned up
+	 * @param result the top of the Foundation after a play, or null if it was cleared
+	 * @param move the play or discard
+	 */
+	private TurnLogEvent(Type type, String text, int count, Card card, Card result, Move move) {
+		this.type = type;
+		this.text = text;
+		this.count = count;
+		this.card = card;
+		this.result = result;
+		this.move = move;
+	}
+	
+	
+	/**
+	 * Makes a free text event
+	 * @param text the message
+	 * @return the event
+	 */
+	public static TurnLogEvent text(String text) {
+		return new TurnLogEvent(Type.TEXT, text, 0, null, null, null);
+	}
+	
+	
+	/**
+	 * Makes an event for drawing Cards
+	 * @param count the number of Cards drawn
+	 * @return the event
+	 */
+	public static TurnLogEvent cardsDrawn(int count) {
+		return new TurnLogEvent(Type.CARDS_DRAWN, null, count, null, null, null);
+	}
+	
+	
+	/**
+	 * Makes an event for playing the last Stock Card
+	 * @return the event
+	 */
+	public static TurnLogEvent stockEmpty() {
+		return new TurnLogEvent(Type.STOCK_EMPTY, null, 0, null, null, null);
+	}
+	
+	
+	/**
+	 * Makes an event for winning the game
+	 * @param name the name of the Player who won
+	 * @return the event
+	 */
+	public static TurnLogEvent won(String name) {
+		return new TurnLogEvent(Type.WON, name, 0, null, null, null);
+	}
+	
+	
+	/**
+	 * Makes an event for turning up a new Stock Card
+	 * @param card the Card turned up
+	 * @return the event
+	 */
+	public static TurnLogEvent stockUncovered(Card card) {
+		return new TurnLogEvent(Type.STOCK_UNCOVERED, null, 0, card, null, null);
+	}
+	
+	
+	/**
+	 * Makes an event for playing a Card onto a Foundation
+	 * @param move the play
+	 * @param card the Card played
+	 * @param result the top of the Foundation afterward, or null if the Foundation was cleared
+	 * @return the event
+	 */
+	public static TurnLogEvent played(Move move, Card card, Card result) {
+		return new TurnLogEvent(Type.PLAYED, null, 0, card, result, move);
+	}
+	
+	
+	/**
+	 * Makes an event for discarding a Card
+	 * @param move the discard
+	 * @param card the Card discarded
+	 * @return the event
+	 */
+	public static TurnLogEvent discarded(Move move, Card card) {
+		return new TurnLogEvent(Type.DISCARDED, null, 0, card, null, move);
+	}
+	
+	
+	/**
+	 * Gets what kind of event this is
+	 * @return the type
+	 */
+	public Type getType() {
+		return type;
+	}
+	
+	
+	/**
+	 * Gets the Card moved or turned up
+	 * @return the Card, or null if this event doesn't involve one
+	 */
+	public Card getCard() {
+		return card;
+	}
+	
+	
+	/**
+	 * Gets the play or discard
+	 * @return the Move, or null if this event isn't one
+	 */
+	public Move getMove() {
+		return move;
+	}
+	
+	
+	/**
+	 * Renders this event as a line of the turn log
+	 */
+	@Override
+	public String toString() {
+		switch(type) {
+			case CARDS_DRAWN:
+				return count + " cards drawn.";
+			case STOCK_EMPTY:
+				return "The stock pile is now empty.";
+			case WON:
+				return text + " has won!";
+			case STOCK_UNCOVERED:
+				return "A " + card + " was uncovered on the Stock Pile.";
+			case PLAYED:
+				return playedString();
+			case DISCARDED:
+				return "Discarded " + card.name() + " from Hand to Discard " + (move.getDiscardPile() + 1) + ".";
+			default:
+				return text;
+		}
+	}
+	
+	
+	/**
+	 * Renders a PLAYED event
+	 * @return the line of the turn log
+	 */
+	private String playedString() {
+		int to = move.getFoundation() + 1;
+		if(move.getSource() == MoveSource.STOCK) {
+			String skipBo = "";
+			if(card == Card.SKIPBO_UNPLAYED) {
+				skipBo = "The Skip-Bo became a " + result + ".";
+			}
+			return "Played " + card + " from Stock to Foundation " + to + ". " + skipBo;
+		}
+		
+		String from = move.getSource() == MoveSource.HAND ? "Hand" : "Discard " + (move.getIndex() + 1);
+		String skipBo = "";
+		if(card == Card.SKIPBO_UNPLAYED) {
+			if(result == null) {
+				skipBo = " That Stock is now empty.";
+			} else {
+				skipBo = " The Skip-Bo became a " + result + ".";
+			}
+		}
+		return "Played " + card + " from " + from + " to Foundation " + to + ". " + skipBo;
+	}
+}